@@ -0,0 +1,18 @@
+package blockchain.block;
+
+/**
+ * {@code BlockArchive} interface is a cold store that receives the blocks pruned from a blockchain.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface BlockArchive {
+
+  /**
+   * Archives the block before it is dropped from the blockchain.
+   *
+   * @param block block to be archived.
+   */
+  void archive(Block block);
+}
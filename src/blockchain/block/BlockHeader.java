@@ -0,0 +1,267 @@
+package blockchain.block;
+
+import blockchain.util.HashAlgorithmUtil;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * {@code BlockHeader} class is the fixed size binary header of a block used for proof of work.
+ * <p>
+ * The header is serialized as version (4 bytes), block id (8), timestamp (8), previous block hash (32),
+ * merkle root hash (32), target (32), reserved zeros (12) and nonce (8), all big endian. Every field but the
+ * nonce is a fixed prefix padded to two whole 64-byte SHA-256 blocks, so a miner can hash the prefix once and
+ * every attempt only compresses one block holding the nonce and the padding.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class BlockHeader {
+
+  // Version of the header serialization.
+  public static final int VERSION = 2;
+
+  // Size of a hash in bytes.
+  public static final int HASH_SIZE = 32;
+
+  // Size of the SHA-256 message block in bytes.
+  private static final int DIGEST_BLOCK_SIZE = 64;
+
+  // Size of the serialized fields before the nonce in bytes.
+  private static final int FIELDS_SIZE = 4 + 8 + 8 + HASH_SIZE + HASH_SIZE + HASH_SIZE;
+
+  // Size of the serialized header without the nonce in bytes, rounded up to whole SHA-256 message blocks.
+  public static final int PREFIX_SIZE = (FIELDS_SIZE + DIGEST_BLOCK_SIZE - 1) / DIGEST_BLOCK_SIZE * DIGEST_BLOCK_SIZE;
+
+  // Size of the serialized header in bytes.
+  public static final int SIZE = PREFIX_SIZE + 8;
+
+  // Unique block id.
+  private final long blockId;
+
+  // Timestamp of block creation.
+  private final long timeStamp;
+
+  // Previous block hash (all zeros for no previous block).
+  private final byte[] preBlockHash;
+
+  // Merkle root hash (all zeros for no transactions).
+  private final byte[] merkleRootHash;
+
+  // Largest header hash (unsigned, big endian) accepted as proof of work.
+  private final byte[] target;
+
+  // Nonce of the proof of work.
+  private final long nonce;
+
+  /**
+   * Constructs this {@code BlockHeader}.
+   *
+   * @param blockId        unique block id.
+   * @param timeStamp      timestamp of block creation.
+   * @param preBlockHash   32-byte previous block hash.
+   * @param merkleRootHash 32-byte merkle root hash.
+   * @param target         32-byte target.
+   * @param nonce          nonce of the proof of work.
+   */
+  public BlockHeader(final long blockId,
+                     final long timeStamp,
+                     final byte[] preBlockHash,
+                     final byte[] merkleRootHash,
+                     final byte[] target,
+                     final long nonce) {
+    this.blockId = blockId;
+    this.timeStamp = timeStamp;
+    this.preBlockHash = checkHash(preBlockHash).clone();
+    this.merkleRootHash = checkHash(merkleRootHash).clone();
+    this.target = checkHash(target).clone();
+    this.nonce = nonce;
+  }
+
+  /**
+   * Creates the header of the block with a zero nonce.
+   *
+   * @param block  block.
+   * @param target 32-byte target.
+   *
+   * @return header of the block.
+   *
+   * @throws IllegalArgumentException if the previous block hash or the merkle root hash is not a 32-byte hex
+   *                                  hash.
+   */
+  public static BlockHeader of(final Block block, final byte[] target) {
+    return new BlockHeader(block.getBlockId(),
+        block.getTimeStamp(),
+        hashBytes(block.getPreBlockHash()),
+        hashBytes(block.getMerkleRoot() == null ? null : block.getMerkleRoot().getHash()),
+        target,
+        0);
+  }
+
+  /**
+   * Creates the target for the difficulty, i.e. a hash with {@code difficultyBits} leading zero bits.
+   *
+   * @param difficultyBits number of leading zero bits (0 to 256).
+   *
+   * @return 32-byte target.
+   */
+  public static byte[] targetOf(final int difficultyBits) {
+    if (difficultyBits < 0 || difficultyBits > HASH_SIZE * 8) {
+      throw new IllegalArgumentException("Difficulty bits must be between 0 and 256: " + difficultyBits);
+    }
+    final byte[] target = new byte[HASH_SIZE];
+    Arrays.fill(target, (byte) 0xFF);
+    for (int i = 0; i < difficultyBits; ++i) {
+      target[i >> 3] &= (byte) ~(0x80 >>> (i & 7));
+    }
+    return target;
+  }
+
+  /**
+   * Checks whether the hash meets the target (i.e., is less than or equal to it as an unsigned number).
+   *
+   * @param hash   32-byte hash.
+   * @param target 32-byte target.
+   *
+   * @return true if the hash meets the target otherwise false.
+   */
+  public static boolean meetsTarget(final byte[] hash, final byte[] target) {
+    for (int i = 0; i < HASH_SIZE; ++i) {
+      final int h = hash[i] & 0xFF;
+      final int t = target[i] & 0xFF;
+      if (h != t) {
+        return h < t;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets a copy of this header with another nonce.
+   *
+   * @param nonce nonce of the proof of work.
+   *
+   * @return header with the nonce.
+   */
+  public BlockHeader withNonce(final long nonce) {
+    return new BlockHeader(blockId, timeStamp, preBlockHash, merkleRootHash, target, nonce);
+  }
+
+  /**
+   * Serializes the fixed prefix of this header (every field but the nonce, followed by the reserved zeros).
+   *
+   * @return serialized prefix.
+   */
+  public byte[] toPrefixBytes() {
+    return ByteBuffer.allocate(PREFIX_SIZE)
+        .putInt(VERSION)
+        .putLong(blockId)
+        .putLong(timeStamp)
+        .put(preBlockHash)
+        .put(merkleRootHash)
+        .put(target)
+        .array();
+  }
+
+  /**
+   * Serializes this header.
+   *
+   * @return serialized header.
+   */
+  public byte[] toBytes() {
+    return ByteBuffer.allocate(SIZE).put(toPrefixBytes()).putLong(nonce).array();
+  }
+
+  /**
+   * Gets the SHA-256 hash of the serialized header.
+   *
+   * @return 32-byte hash of the header.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm is not available.
+   */
+  public byte[] hash() throws NoSuchAlgorithmException {
+    return HashAlgorithmUtil.getSHA256Digest(toBytes());
+  }
+
+  /**
+   * Gets the unique block id.
+   *
+   * @return unique block id.
+   */
+  public long getBlockId() {
+    return blockId;
+  }
+
+  /**
+   * Gets the timestamp of block creation.
+   *
+   * @return timestamp of block creation.
+   */
+  public long getTimeStamp() {
+    return timeStamp;
+  }
+
+  /**
+   * Gets the previous block hash.
+   *
+   * @return copy of the 32-byte previous block hash.
+   */
+  public byte[] getPreBlockHash() {
+    return preBlockHash.clone();
+  }
+
+  /**
+   * Gets the merkle root hash.
+   *
+   * @return copy of the 32-byte merkle root hash.
+   */
+  public byte[] getMerkleRootHash() {
+    return merkleRootHash.clone();
+  }
+
+  /**
+   * Gets the target.
+   *
+   * @return copy of the 32-byte target.
+   */
+  public byte[] getTarget() {
+    return target.clone();
+  }
+
+  /**
+   * Gets the nonce of the proof of work.
+   *
+   * @return nonce of the proof of work.
+   */
+  public long getNonce() {
+    return nonce;
+  }
+
+  /**
+   * Converts the hex hash into bytes.
+   *
+   * @param hash hex hash or null.
+   *
+   * @return 32-byte hash (all zeros for null).
+   */
+  private static byte[] hashBytes(final String hash) {
+    return (hash == null) ? new byte[HASH_SIZE] : HashAlgorithmUtil.hexToBytes(hash);
+  }
+
+  /**
+   * Checks that the hash is 32 bytes long.
+   *
+   * @param hash hash to be checked.
+   *
+   * @return the hash.
+   *
+   * @throws IllegalArgumentException if the hash is not 32 bytes long.
+   */
+  private static byte[] checkHash(final byte[] hash) {
+    if (hash.length != HASH_SIZE) {
+      throw new IllegalArgumentException("Hash must be " + HASH_SIZE + " bytes: " + hash.length);
+    }
+    return hash;
+  }
+}
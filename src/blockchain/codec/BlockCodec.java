@@ -0,0 +1,239 @@
+package blockchain.codec;
+
+import blockchain.block.Block;
+import blockchain.transaction.Transaction;
+import blockchain.util.HashAlgorithmUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code BlockCodec} class encodes blocks into the versioned binary wire format.
+ * <p>
+ * Wire format (version 2, big endian, offsets relative to the start of the block):
+ * <pre>
+ *   0  version             1 byte
+ *   1  flags               1 byte  (bit 0: has previous block hash, bit 1: has merkle root,
+ *                                   bit 2: has a transaction list)
+ *   2  reserved            2 bytes
+ *   4  encoded length      4 bytes (whole block)
+ *   8  block id            8 bytes
+ *  16  timestamp           8 bytes
+ *  24  block hash          32 bytes
+ *  56  previous block hash 32 bytes (zeros if absent)
+ *  88  merkle root hash    32 bytes (zeros if absent)
+ * 120  transaction count   4 bytes
+ * 124  transaction offsets 4 bytes per transaction
+ *      transactions        id (16 bytes), timestamp (8), hash (32), flags (1, bit 0: has content),
+ *                          content length (4), UTF-8 content
+ * </pre>
+ * Absent values (e.g., a null transaction list or a null transaction content) are marked by a flag, so a
+ * decoded block has exactly the fields of the encoded one.
+ * Every field is at a fixed or directly addressable offset, so {@link BlockFlyweight} and
+ * {@link TransactionFlyweight} read fields straight from the buffer without decoding the whole block.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class BlockCodec {
+
+  // Version of the wire format.
+  public static final byte VERSION = 2;
+
+  // Flag set when the previous block hash is present.
+  public static final int FLAG_PRE_BLOCK_HASH = 1;
+
+  // Flag set when the merkle root is present.
+  public static final int FLAG_MERKLE_ROOT = 1 << 1;
+
+  // Flag set when the transaction list is present.
+  public static final int FLAG_TRANSACTIONS = 1 << 2;
+
+  // Transaction flag set when the transaction content is present.
+  public static final int TRANSACTION_FLAG_CONTENT = 1;
+
+  // Size of a hash in bytes.
+  public static final int HASH_SIZE = 32;
+
+  static final int VERSION_OFFSET = 0;
+  static final int FLAGS_OFFSET = 1;
+  static final int LENGTH_OFFSET = 4;
+  static final int BLOCK_ID_OFFSET = 8;
+  static final int TIMESTAMP_OFFSET = 16;
+  static final int BLOCK_HASH_OFFSET = 24;
+  static final int PRE_BLOCK_HASH_OFFSET = BLOCK_HASH_OFFSET + HASH_SIZE;
+  static final int MERKLE_ROOT_OFFSET = PRE_BLOCK_HASH_OFFSET + HASH_SIZE;
+  static final int TRANSACTION_COUNT_OFFSET = MERKLE_ROOT_OFFSET + HASH_SIZE;
+  static final int TRANSACTION_OFFSETS_OFFSET = TRANSACTION_COUNT_OFFSET + 4;
+
+  static final int TRANSACTION_ID_OFFSET = 0;
+  static final int TRANSACTION_TIMESTAMP_OFFSET = 16;
+  static final int TRANSACTION_HASH_OFFSET = 24;
+  static final int TRANSACTION_FLAGS_OFFSET = TRANSACTION_HASH_OFFSET + HASH_SIZE;
+  static final int TRANSACTION_CONTENT_LENGTH_OFFSET = TRANSACTION_FLAGS_OFFSET + 1;
+  static final int TRANSACTION_CONTENT_OFFSET = TRANSACTION_CONTENT_LENGTH_OFFSET + 4;
+
+  /**
+   * Private constructor to prevent the instantiation of {@code BlockCodec} class.
+   */
+  private BlockCodec() {
+    // Required empty constructor.
+  }
+
+  /**
+   * Gets the encoded size of the block.
+   *
+   * @param block block to be encoded.
+   *
+   * @return encoded size of the block in bytes.
+   */
+  public static int encodedSize(final Block block) {
+    final List<Transaction> transactions = transactions(block);
+    int size = TRANSACTION_OFFSETS_OFFSET + 4 * transactions.size();
+    for (final Transaction t : transactions) {
+      size += TRANSACTION_CONTENT_OFFSET + contentBytes(t).length;
+    }
+    return size;
+  }
+
+  /**
+   * Encodes the block into a new buffer.
+   *
+   * @param block block to be encoded.
+   *
+   * @return buffer with the encoded block, positioned at its start.
+   *
+   * @throws IllegalArgumentException if a hash of the block or of its transactions is not a
+   *                                  {@value #HASH_SIZE}-byte hex hash.
+   */
+  public static ByteBuffer encode(final Block block) {
+    final ByteBuffer buffer = ByteBuffer.allocate(encodedSize(block));
+    encode(block, buffer);
+    return buffer.flip();
+  }
+
+  /**
+   * Encodes the block at the position of the buffer and advances the position past it.
+   * <p>
+   * All the hashes are decoded before anything is written, so a block with a malformed hash leaves the buffer
+   * unchanged.
+   *
+   * @param block  block to be encoded.
+   * @param buffer buffer with enough remaining space.
+   *
+   * @throws IllegalArgumentException if a hash of the block or of its transactions is not a
+   *                                  {@value #HASH_SIZE}-byte hex hash.
+   */
+  public static void encode(final Block block, final ByteBuffer buffer) {
+    final ByteBuffer out = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    final int start = out.position();
+    final List<Transaction> transactions = transactions(block);
+    final String merkleRootHash = (block.getMerkleRoot() == null) ? null : block.getMerkleRoot().getHash();
+    final byte[] blockHash = hashBytes(block.getBlockHash());
+    final byte[] preBlockHash = hashBytes(block.getPreBlockHash());
+    final byte[] merkleRoot = hashBytes(merkleRootHash);
+    final byte[][] transactionHashes = new byte[transactions.size()][];
+    for (int i = 0; i < transactions.size(); ++i) {
+      transactionHashes[i] = hashBytes(transactions.get(i).getTransactionHash());
+    }
+    int flags = 0;
+    if (block.getPreBlockHash() != null) {
+      flags |= FLAG_PRE_BLOCK_HASH;
+    }
+    if (merkleRootHash != null) {
+      flags |= FLAG_MERKLE_ROOT;
+    }
+    if (block.getTransactions() != null) {
+      flags |= FLAG_TRANSACTIONS;
+    }
+
+    out.put(VERSION).put((byte) flags).putShort((short) 0);
+    final int lengthPosition = out.position();
+    out.putInt(0);
+    out.putLong(block.getBlockId());
+    out.putLong(block.getTimeStamp());
+    putHash(out, blockHash);
+    putHash(out, preBlockHash);
+    putHash(out, merkleRoot);
+    out.putInt(transactions.size());
+
+    final int offsetsPosition = out.position();
+    out.position(offsetsPosition + 4 * transactions.size());
+    for (int i = 0; i < transactions.size(); ++i) {
+      final Transaction t = transactions.get(i);
+      out.putInt(offsetsPosition + 4 * i, out.position() - start);
+      final UUID transactionId = UUID.fromString(t.getTransactionID());
+      out.putLong(transactionId.getMostSignificantBits());
+      out.putLong(transactionId.getLeastSignificantBits());
+      out.putLong(t.getTimeStamp());
+      putHash(out, transactionHashes[i]);
+      out.put((byte) (t.getTransactionContent() == null ? 0 : TRANSACTION_FLAG_CONTENT));
+      final byte[] content = contentBytes(t);
+      out.putInt(content.length);
+      out.put(content);
+    }
+    out.putInt(lengthPosition, out.position() - start);
+    buffer.position(out.position());
+  }
+
+  /**
+   * Decodes the hex hash into its 32 bytes.
+   *
+   * @param hash hex hash or null.
+   *
+   * @return bytes of the hash or null for a null hash.
+   *
+   * @throws IllegalArgumentException if the hash is not a {@value #HASH_SIZE}-byte hex hash.
+   */
+  private static byte[] hashBytes(final String hash) {
+    if (hash == null) {
+      return null;
+    }
+    final byte[] bytes = HashAlgorithmUtil.hexToBytes(hash);
+    if (bytes.length != HASH_SIZE) {
+      throw new IllegalArgumentException("Hash must be " + HASH_SIZE + " bytes: " + hash);
+    }
+    return bytes;
+  }
+
+  /**
+   * Puts the 32-byte hash, or zeros for a null hash.
+   *
+   * @param out  output buffer.
+   * @param hash bytes of the hash or null.
+   */
+  private static void putHash(final ByteBuffer out, final byte[] hash) {
+    if (hash == null) {
+      for (int i = 0; i < HASH_SIZE; i += 8) {
+        out.putLong(0);
+      }
+    } else {
+      out.put(hash);
+    }
+  }
+
+  /**
+   * Gets the transactions of the block.
+   *
+   * @param block block.
+   *
+   * @return transactions of the block (empty if absent).
+   */
+  private static List<Transaction> transactions(final Block block) {
+    return (block.getTransactions() == null) ? List.of() : block.getTransactions();
+  }
+
+  /**
+   * Gets the UTF-8 content of the transaction.
+   *
+   * @param t transaction.
+   *
+   * @return UTF-8 content (empty if absent).
+   */
+  private static byte[] contentBytes(final Transaction t) {
+    return (t.getTransactionContent() == null) ? new byte[0] : t.getTransactionContent().getBytes(StandardCharsets.UTF_8);
+  }
+}
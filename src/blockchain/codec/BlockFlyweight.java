@@ -0,0 +1,236 @@
+package blockchain.codec;
+
+import blockchain.util.HashAlgorithmUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@code BlockFlyweight} class reads the fields of an encoded block directly from a buffer.
+ * <p>
+ * A flyweight does not copy or decode the block; it only remembers the buffer and the offset of the block,
+ * so one instance can be re-wrapped over every block of a stream without allocating. Only the methods that
+ * return a {@code String} allocate.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ * @see BlockCodec
+ */
+public final class BlockFlyweight {
+
+  // Buffer with the encoded block (big endian view).
+  private ByteBuffer buffer;
+
+  // Offset of the encoded block in the buffer.
+  private int offset;
+
+  /**
+   * Wraps the encoded block at the offset of the buffer.
+   *
+   * @param buffer buffer with the encoded block.
+   * @param offset offset of the encoded block in the buffer.
+   *
+   * @return this flyweight.
+   *
+   * @throws IllegalArgumentException if the version is not supported, the block does not fit in the buffer or
+   *                                  its transaction offset table does not fit in the block. This flyweight is
+   *                                  left unchanged.
+   */
+  public BlockFlyweight wrap(final ByteBuffer buffer, final int offset) {
+    if (buffer.get(offset + BlockCodec.VERSION_OFFSET) != BlockCodec.VERSION) {
+      throw new IllegalArgumentException("Unsupported block version: " + buffer.get(offset + BlockCodec.VERSION_OFFSET));
+    }
+    final ByteBuffer bigEndian = (buffer.order() == ByteOrder.BIG_ENDIAN)
+        ? buffer : buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    final int encodedLength = bigEndian.getInt(offset + BlockCodec.LENGTH_OFFSET);
+    if (encodedLength < BlockCodec.TRANSACTION_OFFSETS_OFFSET || (long) offset + encodedLength > buffer.limit()) {
+      throw new IllegalArgumentException("Encoded block does not fit in the buffer");
+    }
+    final int transactionCount = bigEndian.getInt(offset + BlockCodec.TRANSACTION_COUNT_OFFSET);
+    if (transactionCount < 0 || BlockCodec.TRANSACTION_OFFSETS_OFFSET + 4L * transactionCount > encodedLength) {
+      throw new IllegalArgumentException("Transaction offsets do not fit in the encoded block");
+    }
+    this.buffer = bigEndian;
+    this.offset = offset;
+    return this;
+  }
+
+  /**
+   * Gets the length of the encoded block, i.e. the offset of the next block in a stream.
+   *
+   * @return length of the encoded block in bytes.
+   */
+  public int getEncodedLength() {
+    return buffer.getInt(offset + BlockCodec.LENGTH_OFFSET);
+  }
+
+  /**
+   * Gets the unique id of the block.
+   *
+   * @return unique id of the block.
+   */
+  public long getBlockId() {
+    return buffer.getLong(offset + BlockCodec.BLOCK_ID_OFFSET);
+  }
+
+  /**
+   * Gets the timestamp of block creation.
+   *
+   * @return timestamp of block creation.
+   */
+  public long getTimeStamp() {
+    return buffer.getLong(offset + BlockCodec.TIMESTAMP_OFFSET);
+  }
+
+  /**
+   * Gets the first 64 bits of the block hash (e.g., to key an index).
+   *
+   * @return first 64 bits of the block hash.
+   */
+  public long getBlockHashPrefix() {
+    return buffer.getLong(offset + BlockCodec.BLOCK_HASH_OFFSET);
+  }
+
+  /**
+   * Copies the 32-byte block hash.
+   *
+   * @param destination destination array.
+   * @param index       index in the destination array.
+   */
+  public void getBlockHash(final byte[] destination, final int index) {
+    copy(offset + BlockCodec.BLOCK_HASH_OFFSET, destination, index, BlockCodec.HASH_SIZE);
+  }
+
+  /**
+   * Gets the block hash as a hex string.
+   *
+   * @return block hash.
+   */
+  public String getBlockHashHex() {
+    return hex(offset + BlockCodec.BLOCK_HASH_OFFSET);
+  }
+
+  /**
+   * Checks whether the block has a previous block hash.
+   *
+   * @return true if the block has a previous block hash otherwise false.
+   */
+  public boolean hasPreBlockHash() {
+    return (buffer.get(offset + BlockCodec.FLAGS_OFFSET) & BlockCodec.FLAG_PRE_BLOCK_HASH) != 0;
+  }
+
+  /**
+   * Copies the 32-byte previous block hash (zeros if absent).
+   *
+   * @param destination destination array.
+   * @param index       index in the destination array.
+   */
+  public void getPreBlockHash(final byte[] destination, final int index) {
+    copy(offset + BlockCodec.PRE_BLOCK_HASH_OFFSET, destination, index, BlockCodec.HASH_SIZE);
+  }
+
+  /**
+   * Gets the previous block hash as a hex string.
+   *
+   * @return previous block hash or null if absent.
+   */
+  public String getPreBlockHashHex() {
+    return hasPreBlockHash() ? hex(offset + BlockCodec.PRE_BLOCK_HASH_OFFSET) : null;
+  }
+
+  /**
+   * Checks whether the block has a merkle root.
+   *
+   * @return true if the block has a merkle root otherwise false.
+   */
+  public boolean hasMerkleRoot() {
+    return (buffer.get(offset + BlockCodec.FLAGS_OFFSET) & BlockCodec.FLAG_MERKLE_ROOT) != 0;
+  }
+
+  /**
+   * Copies the 32-byte merkle root hash (zeros if absent).
+   *
+   * @param destination destination array.
+   * @param index       index in the destination array.
+   */
+  public void getMerkleRootHash(final byte[] destination, final int index) {
+    copy(offset + BlockCodec.MERKLE_ROOT_OFFSET, destination, index, BlockCodec.HASH_SIZE);
+  }
+
+  /**
+   * Gets the merkle root hash as a hex string.
+   *
+   * @return merkle root hash or null if absent.
+   */
+  public String getMerkleRootHashHex() {
+    return hasMerkleRoot() ? hex(offset + BlockCodec.MERKLE_ROOT_OFFSET) : null;
+  }
+
+  /**
+   * Checks whether the block has a transaction list.
+   *
+   * @return true if the block has a transaction list otherwise false.
+   */
+  public boolean hasTransactions() {
+    return (buffer.get(offset + BlockCodec.FLAGS_OFFSET) & BlockCodec.FLAG_TRANSACTIONS) != 0;
+  }
+
+  /**
+   * Gets the number of transactions.
+   *
+   * @return number of transactions (0 if the block has no transaction list).
+   */
+  public int getTransactionCount() {
+    return buffer.getInt(offset + BlockCodec.TRANSACTION_COUNT_OFFSET);
+  }
+
+  /**
+   * Wraps the transaction flyweight over a transaction of this block.
+   *
+   * @param index       index of the transaction.
+   * @param transaction transaction flyweight to be wrapped.
+   *
+   * @return the wrapped transaction flyweight.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @throws IllegalArgumentException  if the transaction does not fit in the encoded block.
+   */
+  public TransactionFlyweight getTransaction(final int index, final TransactionFlyweight transaction) {
+    final int count = getTransactionCount();
+    if (index < 0 || index >= count) {
+      throw new IndexOutOfBoundsException("Transaction index " + index + " out of " + count);
+    }
+    final int transactionOffset = buffer.getInt(offset + BlockCodec.TRANSACTION_OFFSETS_OFFSET + 4 * index);
+    if (transactionOffset < BlockCodec.TRANSACTION_OFFSETS_OFFSET + 4 * count
+        || transactionOffset > getEncodedLength() - BlockCodec.TRANSACTION_CONTENT_OFFSET) {
+      throw new IllegalArgumentException("Transaction " + index + " at offset " + transactionOffset
+          + " does not fit in the encoded block");
+    }
+    return transaction.wrap(buffer, offset + transactionOffset, offset + getEncodedLength());
+  }
+
+  /**
+   * Copies bytes of the buffer without moving its position.
+   *
+   * @param from        absolute offset in the buffer.
+   * @param destination destination array.
+   * @param index       index in the destination array.
+   * @param length      number of bytes.
+   */
+  private void copy(final int from, final byte[] destination, final int index, final int length) {
+    buffer.get(from, destination, index, length);
+  }
+
+  /**
+   * Reads a 32-byte hash as a hex string.
+   *
+   * @param from absolute offset in the buffer.
+   *
+   * @return hex hash.
+   */
+  private String hex(final int from) {
+    final byte[] hash = new byte[BlockCodec.HASH_SIZE];
+    copy(from, hash, 0, hash.length);
+    return HashAlgorithmUtil.bytesToHex(hash);
+  }
+}
@@ -0,0 +1,151 @@
+package blockchain.codec;
+
+import blockchain.util.HashAlgorithmUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * {@code TransactionFlyweight} class reads the fields of an encoded transaction directly from a buffer.
+ * <p>
+ * Instances are wrapped by {@link BlockFlyweight#getTransaction(int, TransactionFlyweight)} and can be
+ * reused for every transaction. Only the methods that return a {@code String} allocate.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ * @see BlockCodec
+ */
+public final class TransactionFlyweight {
+
+  // Buffer with the encoded transaction (big endian).
+  private ByteBuffer buffer;
+
+  // Offset of the encoded transaction in the buffer.
+  private int offset;
+
+  /**
+   * Wraps the encoded transaction at the offset of the buffer.
+   *
+   * @param buffer big endian buffer with the encoded transaction.
+   * @param offset offset of the encoded transaction in the buffer.
+   * @param end    offset of the end of the encoded block in the buffer.
+   *
+   * @return this flyweight.
+   *
+   * @throws IllegalArgumentException if the content does not fit in the encoded block. This flyweight is left
+   *                                  unchanged.
+   */
+  TransactionFlyweight wrap(final ByteBuffer buffer, final int offset, final int end) {
+    final int contentLength = buffer.getInt(offset + BlockCodec.TRANSACTION_CONTENT_LENGTH_OFFSET);
+    if (contentLength < 0 || contentLength > end - offset - BlockCodec.TRANSACTION_CONTENT_OFFSET) {
+      throw new IllegalArgumentException("Transaction content of " + contentLength
+          + " bytes does not fit in the encoded block");
+    }
+    this.buffer = buffer;
+    this.offset = offset;
+    return this;
+  }
+
+  /**
+   * Gets the most significant 64 bits of the transaction id.
+   *
+   * @return most significant bits of the transaction id.
+   */
+  public long getTransactionIdMostSignificantBits() {
+    return buffer.getLong(offset + BlockCodec.TRANSACTION_ID_OFFSET);
+  }
+
+  /**
+   * Gets the least significant 64 bits of the transaction id.
+   *
+   * @return least significant bits of the transaction id.
+   */
+  public long getTransactionIdLeastSignificantBits() {
+    return buffer.getLong(offset + BlockCodec.TRANSACTION_ID_OFFSET + 8);
+  }
+
+  /**
+   * Gets the transaction id as a string.
+   *
+   * @return transaction id.
+   */
+  public String getTransactionID() {
+    return new UUID(getTransactionIdMostSignificantBits(), getTransactionIdLeastSignificantBits()).toString();
+  }
+
+  /**
+   * Gets the timestamp of transaction creation.
+   *
+   * @return timestamp of transaction creation.
+   */
+  public long getTimeStamp() {
+    return buffer.getLong(offset + BlockCodec.TRANSACTION_TIMESTAMP_OFFSET);
+  }
+
+  /**
+   * Copies the 32-byte transaction hash.
+   *
+   * @param destination destination array.
+   * @param index       index in the destination array.
+   */
+  public void getTransactionHash(final byte[] destination, final int index) {
+    buffer.get(offset + BlockCodec.TRANSACTION_HASH_OFFSET, destination, index, BlockCodec.HASH_SIZE);
+  }
+
+  /**
+   * Gets the transaction hash as a hex string.
+   *
+   * @return transaction hash or null if the transaction has no content.
+   */
+  public String getTransactionHashHex() {
+    if (!hasContent()) {
+      return null;
+    }
+    final byte[] hash = new byte[BlockCodec.HASH_SIZE];
+    getTransactionHash(hash, 0);
+    return HashAlgorithmUtil.bytesToHex(hash);
+  }
+
+  /**
+   * Checks whether the transaction has a content.
+   *
+   * @return true if the transaction has a content otherwise false.
+   */
+  public boolean hasContent() {
+    return (buffer.get(offset + BlockCodec.TRANSACTION_FLAGS_OFFSET) & BlockCodec.TRANSACTION_FLAG_CONTENT) != 0;
+  }
+
+  /**
+   * Gets the length of the UTF-8 transaction content.
+   *
+   * @return length of the transaction content in bytes.
+   */
+  public int getContentLength() {
+    return buffer.getInt(offset + BlockCodec.TRANSACTION_CONTENT_LENGTH_OFFSET);
+  }
+
+  /**
+   * Copies the UTF-8 transaction content.
+   *
+   * @param destination destination array with at least {@link #getContentLength()} bytes from the index.
+   * @param index       index in the destination array.
+   */
+  public void getContent(final byte[] destination, final int index) {
+    buffer.get(offset + BlockCodec.TRANSACTION_CONTENT_OFFSET, destination, index, getContentLength());
+  }
+
+  /**
+   * Gets the transaction content as a string.
+   *
+   * @return transaction content or null if absent.
+   */
+  public String getTransactionContent() {
+    if (!hasContent()) {
+      return null;
+    }
+    final byte[] content = new byte[getContentLength()];
+    getContent(content, 0);
+    return new String(content, StandardCharsets.UTF_8);
+  }
+}
@@ -33,14 +33,45 @@ public final class MerkleTree {
       return null;
     }
     final List<MerkleNode> merkleLeafNodes = new ArrayList<>();
-    for (final Transaction t : transactions) {
-      final MerkleNode m = new MerkleNode(null, null, HashAlgorithmUtil.getSHA256Hash(t.getTransactionContent()));
+    for (int i = 0; i < transactions.size(); ++i) {
+      // A leaf hash is the hash of the transaction content, which the transaction arena already holds.
+      final MerkleNode m = new MerkleNode(null, null, transactions.get(i).getTransactionHash());
       merkleLeafNodes.add(m);
-      t.setMerkleNode(m);
+      transactions.get(i).setMerkleNode(m);
     }
     return buildTree(merkleLeafNodes);
   }
 
+  /**
+   * Computes the merkle root hash for a list of transactions without building the tree.
+   * <p>
+   * Unlike {@link #createMerkleTree(List)}, this does not allocate merkle nodes nor does it
+   * update the merkle node pointers of the transactions, and it hashes the transaction contents again
+   * instead of trusting the stored transaction hashes, so it is safe to use to verify a block.
+   *
+   * @param transactions list of transactions.
+   *
+   * @return merkle root hash or null if there are no transactions.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm is not available.
+   */
+  public String computeMerkleRootHash(final List<Transaction> transactions) throws NoSuchAlgorithmException {
+    if (transactions == null || transactions.isEmpty()) {
+      return null;
+    }
+    List<String> hashes = HashAlgorithmUtil.getSHA256Hashes(transactionContents(transactions));
+    while (hashes.size() != 1) {
+      final List<String> parentContents = new ArrayList<>((hashes.size() + 1) / 2);
+      for (int i = 0; i < hashes.size(); i += 2) {
+        final String leftHash = hashes.get(i);
+        final String rightHash = (i + 1) < hashes.size() ? hashes.get(i + 1) : leftHash;
+        parentContents.add(leftHash + rightHash);
+      }
+      hashes = HashAlgorithmUtil.getSHA256Hashes(parentContents);
+    }
+    return hashes.get(0);
+  }
+
   /**
    * Builds a merkle tree from merkel leaf nodes.
    *
@@ -51,10 +82,11 @@ public final class MerkleTree {
    * @throws NoSuchAlgorithmException if hashing algorithm is not available.
    */
   private MerkleNode buildTree(List<MerkleNode> children) throws NoSuchAlgorithmException {
-    ArrayList<MerkleNode> parents = new ArrayList<>();
     while (children.size() != 1) {
       int currentIndex = 0;
       int totalChildren = children.size();
+      final List<MerkleNode> rightMerkleNodes = new ArrayList<>((totalChildren + 1) / 2);
+      final List<String> parentContents = new ArrayList<>((totalChildren + 1) / 2);
       while (currentIndex < totalChildren) {
         final MerkleNode leftMerkleNode = children.get(currentIndex);
         MerkleNode rightMerkleNode;
@@ -65,16 +97,37 @@ public final class MerkleTree {
           rightMerkleNode = new MerkleNode(null, null, leftMerkleNode.getHash());
         }
 
-        String parentHash = HashAlgorithmUtil.getSHA256Hash(leftMerkleNode.getHash() + rightMerkleNode.getHash());
-        parents.add(new MerkleNode(leftMerkleNode, rightMerkleNode, parentHash));
+        rightMerkleNodes.add(rightMerkleNode);
+        parentContents.add(leftMerkleNode.getHash() + rightMerkleNode.getHash());
         currentIndex += 2;
       }
+
+      // Every parent of a level is independent, so the whole level is hashed as one batch.
+      final List<String> parentHashes = HashAlgorithmUtil.getSHA256Hashes(parentContents);
+      final List<MerkleNode> parents = new ArrayList<>(parentHashes.size());
+      for (int i = 0; i < parentHashes.size(); ++i) {
+        parents.add(new MerkleNode(children.get(i << 1), rightMerkleNodes.get(i), parentHashes.get(i)));
+      }
       children = parents;
-      parents = new ArrayList<>();
     }
     return children.get(0); // Root node of the merkle tree.
   }
 
+  /**
+   * Gets the contents of the transactions.
+   *
+   * @param transactions list of transactions.
+   *
+   * @return contents of the transactions in the same order.
+   */
+  private static List<String> transactionContents(final List<Transaction> transactions) {
+    final List<String> contents = new ArrayList<>(transactions.size());
+    for (final Transaction t : transactions) {
+      contents.add(t.getTransactionContent());
+    }
+    return contents;
+  }
+
   /**
    * Print the leaves of merkle tree.
    *
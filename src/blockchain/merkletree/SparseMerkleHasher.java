@@ -0,0 +1,112 @@
+package blockchain.merkletree;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * {@code SparseMerkleHasher} class computes the hashes of a {@link SparseMerkleTree}.
+ * <p>
+ * A subtree holding a single key is not expanded down to depth 256: it hashes as the shortcut leaf
+ * {@code SHA-256(0x00 | key hash | value hash | depth)} at the depth where the subtree starts, so inserting or
+ * moving a leaf costs one hash. An inner node hashes as {@code SHA-256(0x01 | left hash | right hash)} and an
+ * empty subtree of height 0 as 32 zero bytes, so leaves and inner nodes can never be confused. The hashes of
+ * the empty subtrees of every height are computed once.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+final class SparseMerkleHasher {
+
+  // Depth of the tree (number of bits of a key hash).
+  static final int DEPTH = 256;
+
+  // Size of a hash in bytes.
+  static final int HASH_SIZE = 32;
+
+  // Domain separation prefix of a leaf.
+  private static final byte[] LEAF_PREFIX = {0x00};
+
+  // Domain separation prefix of an inner node.
+  private static final byte[] NODE_PREFIX = {0x01};
+
+  // Hash of the empty subtree of every height (0 to DEPTH), computed on first use.
+  private static byte[][] emptyHashes;
+
+  // Digest of this hasher.
+  private final MessageDigest digest;
+
+  /**
+   * Constructs this {@code SparseMerkleHasher}.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm is not available.
+   */
+  SparseMerkleHasher() throws NoSuchAlgorithmException {
+    this.digest = MessageDigest.getInstance("SHA-256");
+    synchronized (SparseMerkleHasher.class) {
+      if (emptyHashes == null) {
+        final byte[][] hashes = new byte[DEPTH + 1][];
+        hashes[0] = new byte[HASH_SIZE];
+        for (int height = 1; height <= DEPTH; ++height) {
+          hashes[height] = node(hashes[height - 1], hashes[height - 1]);
+        }
+        emptyHashes = hashes;
+      }
+    }
+  }
+
+  /**
+   * Gets the hash of the empty subtree of the height.
+   *
+   * @param height height of the subtree (0 for a leaf).
+   *
+   * @return hash of the empty subtree.
+   */
+  static byte[] empty(final int height) {
+    return emptyHashes[height];
+  }
+
+  /**
+   * Hashes the shortcut leaf of a subtree holding a single key.
+   *
+   * @param keyHash   SHA-256 of the key.
+   * @param valueHash SHA-256 of the value.
+   * @param depth     depth of the subtree root (0 for the root of the tree).
+   *
+   * @return leaf hash.
+   */
+  byte[] leaf(final byte[] keyHash, final byte[] valueHash, final int depth) {
+    digest.update(LEAF_PREFIX);
+    digest.update(keyHash);
+    digest.update(valueHash);
+    digest.update((byte) (depth >>> 8));
+    digest.update((byte) depth);
+    return digest.digest();
+  }
+
+  /**
+   * Hashes an inner node.
+   *
+   * @param left  hash of the left subtree.
+   * @param right hash of the right subtree.
+   *
+   * @return node hash.
+   */
+  byte[] node(final byte[] left, final byte[] right) {
+    digest.update(NODE_PREFIX);
+    digest.update(left);
+    digest.update(right);
+    return digest.digest();
+  }
+
+  /**
+   * Gets the bit of the key hash that chooses the child at the depth.
+   *
+   * @param keyHash SHA-256 of the key.
+   * @param depth   depth (0 for the root).
+   *
+   * @return 0 for the left child or 1 for the right child.
+   */
+  static int bit(final byte[] keyHash, final int depth) {
+    return (keyHash[depth >>> 3] >>> (7 - (depth & 7))) & 1;
+  }
+}
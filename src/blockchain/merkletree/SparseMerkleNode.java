@@ -0,0 +1,147 @@
+package blockchain.merkletree;
+
+/**
+ * {@code SparseMerkleNode} class is an immutable node of a {@link SparseMerkleTree}, shared by every version
+ * of the tree that contains it.
+ * <p>
+ * A subtree with a single key is stored as one leaf node wherever the subtree starts instead of a path of
+ * inner nodes down to depth 256; its hash is the shortcut leaf hash at that depth. Empty subtrees are null.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+final class SparseMerkleNode {
+
+  // Hash of the subtree rooted at this node.
+  private final byte[] hash;
+
+  // Left child of an inner node (null if empty).
+  private final SparseMerkleNode left;
+
+  // Right child of an inner node (null if empty).
+  private final SparseMerkleNode right;
+
+  // SHA-256 of the key of a leaf (null for an inner node).
+  private final byte[] keyHash;
+
+  // SHA-256 of the value of a leaf.
+  private final byte[] valueHash;
+
+  // Key of a leaf.
+  private final String key;
+
+  // Value of a leaf.
+  private final String value;
+
+  /**
+   * Constructs an inner {@code SparseMerkleNode}.
+   *
+   * @param hash  hash of the subtree.
+   * @param left  left child (null if empty).
+   * @param right right child (null if empty).
+   */
+  SparseMerkleNode(final byte[] hash, final SparseMerkleNode left, final SparseMerkleNode right) {
+    this.hash = hash;
+    this.left = left;
+    this.right = right;
+    this.keyHash = null;
+    this.valueHash = null;
+    this.key = null;
+    this.value = null;
+  }
+
+  /**
+   * Constructs a leaf {@code SparseMerkleNode}.
+   *
+   * @param hash      hash of the subtree.
+   * @param keyHash   SHA-256 of the key.
+   * @param valueHash SHA-256 of the value.
+   * @param key       key.
+   * @param value     value.
+   */
+  SparseMerkleNode(final byte[] hash,
+                   final byte[] keyHash,
+                   final byte[] valueHash,
+                   final String key,
+                   final String value) {
+    this.hash = hash;
+    this.left = null;
+    this.right = null;
+    this.keyHash = keyHash;
+    this.valueHash = valueHash;
+    this.key = key;
+    this.value = value;
+  }
+
+  /**
+   * Checks whether this node is a leaf.
+   *
+   * @return true if this node is a leaf otherwise false.
+   */
+  boolean isLeaf() {
+    return keyHash != null;
+  }
+
+  /**
+   * Gets the hash of the subtree rooted at this node.
+   *
+   * @return hash of the subtree.
+   */
+  byte[] getHash() {
+    return hash;
+  }
+
+  /**
+   * Gets the left child of an inner node.
+   *
+   * @return left child (null if empty).
+   */
+  SparseMerkleNode getLeft() {
+    return left;
+  }
+
+  /**
+   * Gets the right child of an inner node.
+   *
+   * @return right child (null if empty).
+   */
+  SparseMerkleNode getRight() {
+    return right;
+  }
+
+  /**
+   * Gets the SHA-256 of the key of a leaf.
+   *
+   * @return SHA-256 of the key.
+   */
+  byte[] getKeyHash() {
+    return keyHash;
+  }
+
+  /**
+   * Gets the SHA-256 of the value of a leaf.
+   *
+   * @return SHA-256 of the value.
+   */
+  byte[] getValueHash() {
+    return valueHash;
+  }
+
+  /**
+   * Gets the key of a leaf.
+   *
+   * @return key.
+   */
+  String getKey() {
+    return key;
+  }
+
+  /**
+   * Gets the value of a leaf.
+   *
+   * @return value.
+   */
+  String getValue() {
+    return value;
+  }
+}
@@ -0,0 +1,167 @@
+package blockchain.merkletree;
+
+import blockchain.util.HashAlgorithmUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * {@code SparseMerkleProof} class proves that a key is present in a {@link SparseMerkleTree} with a given value
+ * (membership) or that it is absent (non-membership).
+ * <p>
+ * The proof walks from the root along the path of the key hash down to the depth where the path ends, either at
+ * an empty subtree or at the only leaf of its subtree. Only the non-empty siblings along the path are stored; a
+ * bitmap marks their depths and the empty ones are filled in from the cached empty subtree hashes.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class SparseMerkleProof {
+
+  // SHA-256 of the proven key.
+  private final byte[] keyHash;
+
+  // Depth where the path of the key ends.
+  private final int depth;
+
+  // Depths (0 to depth - 1) whose sibling is not empty.
+  private final BitSet nonEmptySiblings;
+
+  // Hashes of the non-empty siblings from the root downwards.
+  private final byte[][] siblings;
+
+  // SHA-256 of the key of the leaf where the path ends (null if it ends at an empty subtree).
+  private final byte[] leafKeyHash;
+
+  // SHA-256 of the value of the leaf where the path ends (null if it ends at an empty subtree).
+  private final byte[] leafValueHash;
+
+  /**
+   * Constructs this {@code SparseMerkleProof}.
+   *
+   * @param keyHash          SHA-256 of the proven key.
+   * @param depth            depth where the path of the key ends.
+   * @param nonEmptySiblings depths whose sibling is not empty.
+   * @param siblings         hashes of the non-empty siblings from the root downwards.
+   * @param leaf             leaf where the path ends (null if it ends at an empty subtree).
+   */
+  SparseMerkleProof(final byte[] keyHash,
+                    final int depth,
+                    final BitSet nonEmptySiblings,
+                    final List<byte[]> siblings,
+                    final SparseMerkleNode leaf) {
+    this.keyHash = keyHash;
+    this.depth = depth;
+    this.nonEmptySiblings = nonEmptySiblings;
+    this.siblings = siblings.toArray(new byte[0][]);
+    this.leafKeyHash = leaf == null ? null : leaf.getKeyHash();
+    this.leafValueHash = leaf == null ? null : leaf.getValueHash();
+  }
+
+  /**
+   * Verifies this proof against the root hash.
+   *
+   * @param rootHash root hash of the tree.
+   * @param key      proven key.
+   * @param value    value of the key for a membership proof or null for a non-membership proof.
+   *
+   * @return true if the tree with the root hash maps the key to the value (or does not contain the key when the
+   * value is null) otherwise false.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public boolean verify(final String rootHash, final String key, final String value)
+      throws NoSuchAlgorithmException {
+    final byte[] expectedKeyHash = HashAlgorithmUtil.getSHA256Digest(key.getBytes(StandardCharsets.UTF_8));
+    if (!Arrays.equals(expectedKeyHash, keyHash)) {
+      return false;
+    }
+    final SparseMerkleHasher hasher = new SparseMerkleHasher();
+    byte[] hash;
+    if (value != null) {
+      if (leafKeyHash == null || !Arrays.equals(leafKeyHash, keyHash)) {
+        return false;
+      }
+      final byte[] valueHash = HashAlgorithmUtil.getSHA256Digest(value.getBytes(StandardCharsets.UTF_8));
+      if (!Arrays.equals(valueHash, leafValueHash)) {
+        return false;
+      }
+      hash = hasher.leaf(keyHash, valueHash, depth);
+    } else if (leafKeyHash == null) {
+      hash = SparseMerkleHasher.empty(SparseMerkleHasher.DEPTH - depth);
+    } else {
+      // The other leaf must be the only one in the subtree of the key, i.e., share its path down to the depth.
+      if (Arrays.equals(leafKeyHash, keyHash) || !samePath(leafKeyHash, keyHash, depth)) {
+        return false;
+      }
+      hash = hasher.leaf(leafKeyHash, leafValueHash, depth);
+    }
+    int next = siblings.length;
+    for (int d = depth - 1; d >= 0; --d) {
+      final byte[] sibling = nonEmptySiblings.get(d)
+          ? siblings[--next]
+          : SparseMerkleHasher.empty(SparseMerkleHasher.DEPTH - d - 1);
+      hash = SparseMerkleHasher.bit(keyHash, d) == 0 ? hasher.node(hash, sibling) : hasher.node(sibling, hash);
+    }
+    return next == 0 && HashAlgorithmUtil.bytesToHex(hash).equals(rootHash);
+  }
+
+  /**
+   * Checks whether two key hashes share the path from the root down to the depth.
+   *
+   * @param a     first key hash.
+   * @param b     second key hash.
+   * @param depth depth.
+   *
+   * @return true if the first depth bits are equal otherwise false.
+   */
+  private static boolean samePath(final byte[] a, final byte[] b, final int depth) {
+    for (int d = 0; d < depth; ++d) {
+      if (SparseMerkleHasher.bit(a, d) != SparseMerkleHasher.bit(b, d)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether this proof ends at the leaf of the proven key.
+   *
+   * @return true if this is a membership proof otherwise false.
+   */
+  public boolean isMembership() {
+    return leafKeyHash != null && Arrays.equals(leafKeyHash, keyHash);
+  }
+
+  /**
+   * Gets the depth where the path of the key ends.
+   *
+   * @return depth.
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Gets the number of non-empty siblings in this proof.
+   *
+   * @return number of siblings.
+   */
+  public int getSiblingCount() {
+    return siblings.length;
+  }
+
+  /**
+   * Gets the serialized size of this proof: key hash, depth, sibling bitmap, siblings and the ending leaf.
+   *
+   * @return size in bytes.
+   */
+  public int getSize() {
+    return SparseMerkleHasher.HASH_SIZE + Short.BYTES + (depth + 7) / 8
+        + siblings.length * SparseMerkleHasher.HASH_SIZE
+        + 1 + (leafKeyHash == null ? 0 : 2 * SparseMerkleHasher.HASH_SIZE);
+  }
+}
@@ -0,0 +1,519 @@
+package blockchain.merkletree;
+
+import blockchain.block.Block;
+import blockchain.util.HashAlgorithmUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code SparseMerkleTree} class commits to a key value state (e.g., account balances) with a 256-level binary
+ * Merkle tree indexed by the SHA-256 of the key.
+ * <p>
+ * Empty subtrees are never stored; their hashes come from a cache of one hash per height. A subtree holding a
+ * single key is stored and hashed as one shortcut leaf, so an update costs O(log n) hashes. Nodes are immutable and shared, so the root committed with every block
+ * stays readable and provable after later updates. A batch of updates is sorted by key hash and applied in one
+ * pass, so the path shared by several updated keys is rehashed only once.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class SparseMerkleTree {
+
+  // Hasher of this tree.
+  private final SparseMerkleHasher hasher;
+
+  // Roots committed with the blocks (null for an empty tree), ordered by block id.
+  private final TreeMap<Long, SparseMerkleNode> versions;
+
+  // Current root of this tree (null for an empty tree).
+  private SparseMerkleNode root;
+
+  // Number of keys in this tree.
+  private int size;
+
+  // Sorted key hashes of the batch being applied.
+  private byte[][] keyHashes;
+
+  // Keys of the batch being applied.
+  private String[] keys;
+
+  // Values of the batch being applied (null to remove the key).
+  private String[] values;
+
+  // Value hashes of the batch being applied (null to remove the key).
+  private byte[][] valueHashes;
+
+  // Number of values that are not null before every index of the batch being applied.
+  private int[] liveBefore;
+
+  /**
+   * Constructs an empty {@code SparseMerkleTree}.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public SparseMerkleTree() throws NoSuchAlgorithmException {
+    this.hasher = new SparseMerkleHasher();
+    this.versions = new TreeMap<>();
+    this.root = null;
+    this.size = 0;
+  }
+
+  /**
+   * Sets the value of the key.
+   *
+   * @param key   key.
+   * @param value value.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public void put(final String key, final String value) throws NoSuchAlgorithmException {
+    if (value == null) {
+      throw new IllegalArgumentException("Value cannot be null.");
+    }
+    update(Collections.singletonMap(key, value));
+  }
+
+  /**
+   * Removes the key.
+   *
+   * @param key key.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public void remove(final String key) throws NoSuchAlgorithmException {
+    update(Collections.singletonMap(key, null));
+  }
+
+  /**
+   * Applies a batch of updates in one pass. A null value removes its key.
+   *
+   * @param updates new values of the keys.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public void update(final Map<String, String> updates) throws NoSuchAlgorithmException {
+    if (updates.isEmpty()) {
+      return;
+    }
+    final int n = updates.size();
+    final String[] batchKeys = new String[n];
+    final String[] batchValues = new String[n];
+    final byte[][] keyBytes = new byte[n][];
+    int live = 0;
+    int i = 0;
+    for (final Map.Entry<String, String> entry : updates.entrySet()) {
+      if (entry.getKey() == null) {
+        throw new IllegalArgumentException("Key cannot be null.");
+      }
+      batchKeys[i] = entry.getKey();
+      batchValues[i] = entry.getValue();
+      keyBytes[i] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      live += entry.getValue() == null ? 0 : 1;
+      ++i;
+    }
+    final byte[][] batchKeyHashes = HashAlgorithmUtil.getSHA256Digests(keyBytes);
+    final byte[][] valueBytes = new byte[live][];
+    for (int j = 0, k = 0; j < n; ++j) {
+      if (batchValues[j] != null) {
+        valueBytes[k++] = batchValues[j].getBytes(StandardCharsets.UTF_8);
+      }
+    }
+    final byte[][] batchValueHashes = HashAlgorithmUtil.getSHA256Digests(valueBytes);
+
+    final Integer[] order = new Integer[n];
+    for (int j = 0; j < n; ++j) {
+      order[j] = j;
+    }
+    Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(batchKeyHashes[a], batchKeyHashes[b]));
+    final int[] valueIndex = new int[n];
+    for (int j = 0, k = 0; j < n; ++j) {
+      valueIndex[j] = batchValues[j] == null ? -1 : k++;
+    }
+    keyHashes = new byte[n][];
+    keys = new String[n];
+    values = new String[n];
+    valueHashes = new byte[n][];
+    liveBefore = new int[n + 1];
+    for (int j = 0; j < n; ++j) {
+      final int o = order[j];
+      keyHashes[j] = batchKeyHashes[o];
+      keys[j] = batchKeys[o];
+      values[j] = batchValues[o];
+      valueHashes[j] = valueIndex[o] < 0 ? null : batchValueHashes[valueIndex[o]];
+      liveBefore[j + 1] = liveBefore[j] + (values[j] == null ? 0 : 1);
+    }
+    try {
+      root = apply(root, 0, 0, n);
+    } finally {
+      keyHashes = null;
+      keys = null;
+      values = null;
+      valueHashes = null;
+      liveBefore = null;
+    }
+  }
+
+  /**
+   * Applies the updates between two indexes to the subtree.
+   *
+   * @param node  root of the subtree (null if empty).
+   * @param depth depth of the subtree.
+   * @param lo    index of the first update (inclusive).
+   * @param hi    index of the last update (exclusive).
+   *
+   * @return new root of the subtree (null if empty).
+   */
+  private SparseMerkleNode apply(final SparseMerkleNode node, final int depth, final int lo, final int hi) {
+    if (lo == hi) {
+      return node;
+    }
+    if (node == null || node.isLeaf()) {
+      SparseMerkleNode leaf = node;
+      if (leaf != null) {
+        final int match = find(leaf.getKeyHash(), lo, hi);
+        if (match >= 0) {
+          // The update replaces the leaf; it is counted again below unless it removes the key.
+          --size;
+          leaf = null;
+        }
+      }
+      size += liveBefore[hi] - liveBefore[lo];
+      return build(depth, lo, hi, leaf, false);
+    }
+    final int mid = split(depth, lo, hi);
+    final SparseMerkleNode left = apply(node.getLeft(), depth + 1, lo, mid);
+    final SparseMerkleNode right = apply(node.getRight(), depth + 1, mid, hi);
+    if (left == node.getLeft() && right == node.getRight()) {
+      return node;
+    }
+    return join(depth, left, right);
+  }
+
+  /**
+   * Builds the subtree holding the values between two indexes and a leaf that none of them overwrites.
+   *
+   * @param depth depth of the subtree.
+   * @param lo    index of the first update (inclusive).
+   * @param hi    index of the last update (exclusive).
+   * @param leaf  existing leaf of the subtree (null if none).
+   * @param moved whether the leaf was pushed below the depth it was hashed for.
+   *
+   * @return root of the subtree (null if empty).
+   */
+  private SparseMerkleNode build(final int depth,
+                                 final int lo,
+                                 final int hi,
+                                 final SparseMerkleNode leaf,
+                                 final boolean moved) {
+    final int live = liveBefore[hi] - liveBefore[lo] + (leaf == null ? 0 : 1);
+    if (live == 0) {
+      return null;
+    }
+    if (live == 1) {
+      if (leaf != null) {
+        return moved ? relocate(leaf, depth) : leaf;
+      }
+      int i = lo;
+      while (values[i] == null) {
+        ++i;
+      }
+      return new SparseMerkleNode(hasher.leaf(keyHashes[i], valueHashes[i], depth),
+          keyHashes[i], valueHashes[i], keys[i], values[i]);
+    }
+    final int mid = split(depth, lo, hi);
+    final boolean leafRight = leaf != null && SparseMerkleHasher.bit(leaf.getKeyHash(), depth) == 1;
+    final SparseMerkleNode left = build(depth + 1, lo, mid, leafRight ? null : leaf, true);
+    final SparseMerkleNode right = build(depth + 1, mid, hi, leafRight ? leaf : null, true);
+    return join(depth, left, right);
+  }
+
+  /**
+   * Joins two subtrees under a node, lifting a leaf whose sibling is empty.
+   *
+   * @param depth depth of the node.
+   * @param left  left subtree (null if empty).
+   * @param right right subtree (null if empty).
+   *
+   * @return node (null if both subtrees are empty).
+   */
+  private SparseMerkleNode join(final int depth, final SparseMerkleNode left, final SparseMerkleNode right) {
+    final byte[] empty = SparseMerkleHasher.empty(SparseMerkleHasher.DEPTH - depth - 1);
+    if (left == null && right == null) {
+      return null;
+    } else if (left == null && right.isLeaf()) {
+      return relocate(right, depth);
+    } else if (right == null && left.isLeaf()) {
+      return relocate(left, depth);
+    }
+    return new SparseMerkleNode(hasher.node(left == null ? empty : left.getHash(),
+        right == null ? empty : right.getHash()), left, right);
+  }
+
+  /**
+   * Rehashes a leaf for another depth.
+   *
+   * @param leaf  leaf.
+   * @param depth new depth of the leaf.
+   *
+   * @return rehashed leaf.
+   */
+  private SparseMerkleNode relocate(final SparseMerkleNode leaf, final int depth) {
+    return new SparseMerkleNode(hasher.leaf(leaf.getKeyHash(), leaf.getValueHash(), depth),
+        leaf.getKeyHash(), leaf.getValueHash(), leaf.getKey(), leaf.getValue());
+  }
+
+  /**
+   * Finds the first update between two indexes whose key hash goes right at the depth. The updates share the
+   * path down to the depth and are sorted, so the ones going left come first.
+   *
+   * @param depth depth.
+   * @param lo    index of the first update (inclusive).
+   * @param hi    index of the last update (exclusive).
+   *
+   * @return index of the first update going right (hi if none).
+   */
+  private int split(final int depth, final int lo, final int hi) {
+    int low = lo;
+    int high = hi;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (SparseMerkleHasher.bit(keyHashes[mid], depth) == 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Finds the update of the key hash between two indexes.
+   *
+   * @param keyHash key hash.
+   * @param lo      index of the first update (inclusive).
+   * @param hi      index of the last update (exclusive).
+   *
+   * @return index of the update or -1 if none.
+   */
+  private int find(final byte[] keyHash, final int lo, final int hi) {
+    int low = lo;
+    int high = hi - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int cmp = Arrays.compareUnsigned(keyHashes[mid], keyHash);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the value of the key.
+   *
+   * @param key key.
+   *
+   * @return value or null if the key is absent.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public String get(final String key) throws NoSuchAlgorithmException {
+    return get(root, key);
+  }
+
+  /**
+   * Gets the value of the key in the state committed with the block id or the latest block before it.
+   *
+   * @param key     key.
+   * @param blockId block id.
+   *
+   * @return value or null if the key is absent.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public String get(final String key, final long blockId) throws NoSuchAlgorithmException {
+    return get(version(blockId), key);
+  }
+
+  /**
+   * Gets the value of the key in the tree.
+   *
+   * @param node root of the tree.
+   * @param key  key.
+   *
+   * @return value or null if the key is absent.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  private static String get(final SparseMerkleNode node, final String key) throws NoSuchAlgorithmException {
+    final byte[] keyHash = HashAlgorithmUtil.getSHA256Digest(key.getBytes(StandardCharsets.UTF_8));
+    SparseMerkleNode current = node;
+    int depth = 0;
+    while (current != null && !current.isLeaf()) {
+      current = SparseMerkleHasher.bit(keyHash, depth++) == 0 ? current.getLeft() : current.getRight();
+    }
+    return current != null && Arrays.equals(current.getKeyHash(), keyHash) ? current.getValue() : null;
+  }
+
+  /**
+   * Proves the presence or the absence of the key.
+   *
+   * @param key key.
+   *
+   * @return proof.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public SparseMerkleProof prove(final String key) throws NoSuchAlgorithmException {
+    return prove(root, key);
+  }
+
+  /**
+   * Proves the presence or the absence of the key in the state committed with the block id or the latest block
+   * before it.
+   *
+   * @param key     key.
+   * @param blockId block id.
+   *
+   * @return proof.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public SparseMerkleProof prove(final String key, final long blockId) throws NoSuchAlgorithmException {
+    return prove(version(blockId), key);
+  }
+
+  /**
+   * Proves the presence or the absence of the key in the tree.
+   *
+   * @param node root of the tree.
+   * @param key  key.
+   *
+   * @return proof.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  private static SparseMerkleProof prove(final SparseMerkleNode node, final String key)
+      throws NoSuchAlgorithmException {
+    final byte[] keyHash = HashAlgorithmUtil.getSHA256Digest(key.getBytes(StandardCharsets.UTF_8));
+    final BitSet nonEmptySiblings = new BitSet();
+    final List<byte[]> siblings = new ArrayList<>();
+    SparseMerkleNode current = node;
+    int depth = 0;
+    while (current != null && !current.isLeaf()) {
+      final boolean right = SparseMerkleHasher.bit(keyHash, depth) == 1;
+      final SparseMerkleNode sibling = right ? current.getLeft() : current.getRight();
+      if (sibling != null) {
+        nonEmptySiblings.set(depth);
+        siblings.add(sibling.getHash());
+      }
+      current = right ? current.getRight() : current.getLeft();
+      ++depth;
+    }
+    return new SparseMerkleProof(keyHash, depth, nonEmptySiblings, siblings, current);
+  }
+
+  /**
+   * Gets the root hash of this tree.
+   *
+   * @return root hash.
+   */
+  public String getRootHash() {
+    return rootHash(root);
+  }
+
+  /**
+   * Gets the root hash committed with the block id or the latest block before it.
+   *
+   * @param blockId block id.
+   *
+   * @return root hash.
+   */
+  public String getRootHash(final long blockId) {
+    return rootHash(version(blockId));
+  }
+
+  /**
+   * Gets the root hash of the tree.
+   *
+   * @param node root of the tree (null if empty).
+   *
+   * @return root hash.
+   */
+  private static String rootHash(final SparseMerkleNode node) {
+    return HashAlgorithmUtil.bytesToHex(node == null ? SparseMerkleHasher.empty(SparseMerkleHasher.DEPTH)
+        : node.getHash());
+  }
+
+  /**
+   * Commits the current state with the block.
+   *
+   * @param block block.
+   *
+   * @return committed root hash.
+   */
+  public String commit(final Block block) {
+    return commit(block.getBlockId());
+  }
+
+  /**
+   * Commits the current state with the block id.
+   *
+   * @param blockId block id, greater than the block id of the last commit.
+   *
+   * @return committed root hash.
+   */
+  public String commit(final long blockId) {
+    if (!versions.isEmpty() && blockId <= versions.lastKey()) {
+      throw new IllegalArgumentException("Block id " + blockId + " is not after the last committed block id "
+          + versions.lastKey() + ".");
+    }
+    versions.put(blockId, root);
+    return getRootHash();
+  }
+
+  /**
+   * Gets the root committed with the block id or the latest block before it.
+   *
+   * @param blockId block id.
+   *
+   * @return root (null if empty).
+   */
+  private SparseMerkleNode version(final long blockId) {
+    final Map.Entry<Long, SparseMerkleNode> entry = versions.floorEntry(blockId);
+    if (entry == null) {
+      throw new IllegalArgumentException("No state is committed at or before block id " + blockId + ".");
+    }
+    return entry.getValue();
+  }
+
+  /**
+   * Gets the number of keys in this tree.
+   *
+   * @return number of keys.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the number of committed versions.
+   *
+   * @return number of versions.
+   */
+  public int getVersionCount() {
+    return versions.size();
+  }
+}
@@ -0,0 +1,165 @@
+package blockchain.mining;
+
+import blockchain.block.BlockHeader;
+import blockchain.util.HashAlgorithmUtil;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@code MiningJob} class is a handle of a running proof of work search.
+ * <p>
+ * The job can be cancelled at any time (e.g., when a new tip arrives) and reports the number of hashes
+ * computed by every worker so far.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class MiningJob {
+
+  // Header being mined.
+  private final BlockHeader header;
+
+  // Whether the job is done (solved, cancelled or exhausted).
+  private final AtomicBoolean done;
+
+  // Number of workers still running.
+  private final AtomicInteger runningWorkers;
+
+  // Signalled when all the workers have stopped.
+  private final CountDownLatch workersStopped;
+
+  // Number of hashes computed by every worker.
+  private final AtomicLongArray hashCounts;
+
+  // Start time of the job in nanoseconds.
+  private final long startTime;
+
+  // End time of the job in nanoseconds (0 while running).
+  private volatile long endTime;
+
+  // Result of the job (null unless solved).
+  private volatile MiningResult result;
+
+  /**
+   * Constructs this {@code MiningJob}.
+   *
+   * @param header  header being mined.
+   * @param workers number of workers.
+   */
+  MiningJob(final BlockHeader header, final int workers) {
+    this.header = header;
+    this.done = new AtomicBoolean(false);
+    this.runningWorkers = new AtomicInteger(workers);
+    this.workersStopped = new CountDownLatch(1);
+    this.hashCounts = new AtomicLongArray(workers);
+    this.startTime = System.nanoTime();
+    this.endTime = 0;
+    this.result = null;
+  }
+
+  /**
+   * Cancels the job. Workers stop after their current batch of nonces.
+   */
+  public void cancel() {
+    done.set(true);
+  }
+
+  /**
+   * Checks whether the job is done (solved, cancelled or exhausted).
+   *
+   * @return true if the job is done otherwise false.
+   */
+  public boolean isDone() {
+    return done.get();
+  }
+
+  /**
+   * Waits until all the workers have stopped.
+   *
+   * @return result of the job or null if the job was cancelled or the nonce space was exhausted.
+   *
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public MiningResult await() throws InterruptedException {
+    workersStopped.await();
+    return result;
+  }
+
+  /**
+   * Gets the number of hashes computed by every worker so far.
+   *
+   * @return number of hashes per worker.
+   */
+  public long[] getHashCounts() {
+    final long[] counts = new long[hashCounts.length()];
+    for (int i = 0; i < counts.length; ++i) {
+      counts[i] = hashCounts.get(i);
+    }
+    return counts;
+  }
+
+  /**
+   * Gets the hash rate of every worker so far.
+   *
+   * @return hashes per second per worker.
+   */
+  public double[] getHashRates() {
+    final long end = (endTime == 0) ? System.nanoTime() : endTime;
+    final double seconds = Math.max(1, end - startTime) / 1e9;
+    final long[] counts = getHashCounts();
+    final double[] rates = new double[counts.length];
+    for (int i = 0; i < counts.length; ++i) {
+      rates[i] = counts[i] / seconds;
+    }
+    return rates;
+  }
+
+  /**
+   * Gets the elapsed time of the job.
+   *
+   * @return elapsed time in nanoseconds.
+   */
+  public long getElapsedTime() {
+    return ((endTime == 0) ? System.nanoTime() : endTime) - startTime;
+  }
+
+  /**
+   * Records a solution found by a worker. Only the first solution is kept.
+   *
+   * @param nonce nonce of the solution.
+   * @param hash  32-byte hash of the solution.
+   */
+  void solve(final long nonce, final byte[] hash) {
+    if (done.compareAndSet(false, true)) {
+      result = new MiningResult(header.withNonce(nonce), HashAlgorithmUtil.bytesToHex(hash));
+    }
+  }
+
+  /**
+   * Records the number of hashes computed by a worker so far.
+   *
+   * @param worker worker index.
+   * @param hashes number of hashes computed by the worker.
+   */
+  void reportHashes(final int worker, final long hashes) {
+    hashCounts.lazySet(worker, hashes);
+  }
+
+  /**
+   * Records that a worker has stopped.
+   *
+   * @param worker worker index.
+   * @param hashes number of hashes computed by the worker.
+   */
+  void stopWorker(final int worker, final long hashes) {
+    hashCounts.set(worker, hashes);
+    if (runningWorkers.decrementAndGet() == 0) {
+      endTime = System.nanoTime();
+      done.set(true);
+      workersStopped.countDown();
+    }
+  }
+}
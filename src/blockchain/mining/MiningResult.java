@@ -0,0 +1,47 @@
+package blockchain.mining;
+
+import blockchain.block.BlockHeader;
+
+/**
+ * {@code MiningResult} class holds a block header whose hash meets its target.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class MiningResult {
+
+  // Header with the nonce that solves the proof of work.
+  private final BlockHeader header;
+
+  // Hash of the header.
+  private final String headerHash;
+
+  /**
+   * Constructs this {@code MiningResult}.
+   *
+   * @param header     header with the nonce that solves the proof of work.
+   * @param headerHash hash of the header.
+   */
+  public MiningResult(final BlockHeader header, final String headerHash) {
+    this.header = header;
+    this.headerHash = headerHash;
+  }
+
+  /**
+   * Gets the header with the nonce that solves the proof of work.
+   *
+   * @return solved header.
+   */
+  public BlockHeader getHeader() {
+    return header;
+  }
+
+  /**
+   * Gets the hash of the solved header.
+   *
+   * @return hash of the solved header.
+   */
+  public String getHeaderHash() {
+    return headerHash;
+  }
+}
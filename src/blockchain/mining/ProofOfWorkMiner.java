@@ -0,0 +1,137 @@
+package blockchain.mining;
+
+import blockchain.block.BlockHeader;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * {@code ProofOfWorkMiner} class searches a nonce whose block header hash meets the target on multiple cores.
+ * <p>
+ * The nonce space is split into one contiguous range per worker thread. The SHA-256 state after the fixed
+ * header prefix, which ends on a 64-byte block boundary, is computed once and cloned for every attempt, so
+ * each attempt only compresses a single block holding the 8-byte nonce and the padding.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class ProofOfWorkMiner {
+
+  // Number of nonces tried between two checks for cancellation.
+  private static final int BATCH_SIZE = 4096;
+
+  // Number of worker threads.
+  private final int workers;
+
+  /**
+   * Constructs this {@code ProofOfWorkMiner} with one worker per available core.
+   */
+  public ProofOfWorkMiner() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs this {@code ProofOfWorkMiner}.
+   *
+   * @param workers number of worker threads.
+   */
+  public ProofOfWorkMiner(final int workers) {
+    if (workers < 1) {
+      throw new IllegalArgumentException("Workers must be positive: " + workers);
+    }
+    this.workers = workers;
+  }
+
+  /**
+   * Starts mining the header in the background.
+   *
+   * @param header header to be mined (its nonce is ignored).
+   *
+   * @return handle of the running job.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm is not available.
+   */
+  public MiningJob mine(final BlockHeader header) throws NoSuchAlgorithmException {
+    final MessageDigest prefixDigest = MessageDigest.getInstance("SHA-256");
+    prefixDigest.update(header.toPrefixBytes());
+    final byte[] target = header.getTarget();
+    final MiningJob job = new MiningJob(header, workers);
+
+    final long rangeSize = Long.divideUnsigned(-1L, workers);
+    for (int w = 0; w < workers; ++w) {
+      final int worker = w;
+      final long firstNonce = rangeSize * w;
+      final long lastNonce = (w == workers - 1) ? -1L : firstNonce + rangeSize - 1;
+      final MessageDigest workerDigest = cloneDigest(prefixDigest);
+      final Thread thread = new Thread(() -> search(job, worker, workerDigest, target, firstNonce, lastNonce),
+          "pow-miner-" + w);
+      thread.setDaemon(true);
+      thread.start();
+    }
+    return job;
+  }
+
+  /**
+   * Searches the nonce range of a worker until a solution is found, the job is done or the range is exhausted.
+   *
+   * @param job          mining job.
+   * @param worker       worker index.
+   * @param prefixDigest SHA-256 state after the header prefix.
+   * @param target       32-byte target.
+   * @param firstNonce   first nonce of the range.
+   * @param lastNonce    last nonce of the range (inclusive).
+   */
+  private static void search(final MiningJob job,
+                             final int worker,
+                             final MessageDigest prefixDigest,
+                             final byte[] target,
+                             final long firstNonce,
+                             final long lastNonce) {
+    final byte[] nonceBytes = new byte[8];
+    final byte[] hash = new byte[BlockHeader.HASH_SIZE];
+    long hashes = 0;
+    long nonce = firstNonce;
+    try {
+      while (!job.isDone()) {
+        for (int i = 0; i < BATCH_SIZE; ++i) {
+          final MessageDigest digest = cloneDigest(prefixDigest);
+          for (int b = 7; b >= 0; --b) {
+            nonceBytes[7 - b] = (byte) (nonce >>> (b << 3));
+          }
+          digest.update(nonceBytes);
+          digest.digest(hash, 0, hash.length);
+          ++hashes;
+          if (BlockHeader.meetsTarget(hash, target)) {
+            job.solve(nonce, hash);
+            return;
+          }
+          if (nonce == lastNonce) {
+            return;
+          }
+          ++nonce;
+        }
+        job.reportHashes(worker, hashes);
+      }
+    } catch (final DigestException e) {
+      throw new IllegalStateException(e);
+    } finally {
+      job.stopWorker(worker, hashes);
+    }
+  }
+
+  /**
+   * Clones the SHA-256 state.
+   *
+   * @param digest SHA-256 state.
+   *
+   * @return copy of the SHA-256 state.
+   */
+  private static MessageDigest cloneDigest(final MessageDigest digest) {
+    try {
+      return (MessageDigest) digest.clone();
+    } catch (final CloneNotSupportedException e) {
+      throw new IllegalStateException("SHA-256 provider does not support cloning", e);
+    }
+  }
+}
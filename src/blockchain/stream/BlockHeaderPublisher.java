@@ -0,0 +1,164 @@
+package blockchain.stream;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code BlockHeaderPublisher} class publishes the headers of newly inserted blocks to subscribers.
+ * <p>
+ * Every subscriber has its own bounded buffer and receives headers only as it requests them. Publishing never
+ * waits for a subscriber: when a buffer is full the {@link OverflowPolicy} of the subscription either drops
+ * the subscriber or conflates its buffer to the latest headers. Headers are created on the delivering thread,
+ * so publishing only costs a buffer append per subscriber.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class BlockHeaderPublisher implements Flow.Publisher<BlockHeader>, AutoCloseable {
+
+  // Default maximum number of buffered headers per subscriber.
+  public static final int DEFAULT_CAPACITY = Flow.defaultBufferSize();
+
+  // Target of the published headers (blocks in the chain are not mined, so any hash meets it).
+  private static final byte[] ANY_TARGET = BlockHeader.targetOf(0);
+
+  // Executor delivering the headers to the subscribers.
+  private final Executor executor;
+
+  // Active subscriptions.
+  private final List<BlockSubscription> subscriptions;
+
+  // Number of subscribers dropped for overflowing their buffers.
+  private final AtomicLong droppedCount;
+
+  // Whether the publisher is closed.
+  private volatile boolean closed;
+
+  /**
+   * Constructs this {@code BlockHeaderPublisher} delivering on the common pool.
+   */
+  public BlockHeaderPublisher() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs this {@code BlockHeaderPublisher}.
+   *
+   * @param executor executor delivering the headers to the subscribers.
+   */
+  public BlockHeaderPublisher(final Executor executor) {
+    this.executor = executor;
+    this.subscriptions = new CopyOnWriteArrayList<>();
+    this.droppedCount = new AtomicLong();
+    this.closed = false;
+  }
+
+  /**
+   * Subscribes the subscriber with the default capacity, conflating its buffer when it is full.
+   *
+   * @param subscriber subscriber to be subscribed.
+   */
+  @Override
+  public void subscribe(final Flow.Subscriber<? super BlockHeader> subscriber) {
+    subscribe(subscriber, DEFAULT_CAPACITY, OverflowPolicy.CONFLATE);
+  }
+
+  /**
+   * Subscribes the subscriber.
+   *
+   * @param subscriber subscriber to be subscribed.
+   * @param capacity   maximum number of buffered headers.
+   * @param policy     what to do when the buffer is full.
+   *
+   * @throws IllegalArgumentException if the capacity is not positive.
+   */
+  public void subscribe(final Flow.Subscriber<? super BlockHeader> subscriber,
+                        final int capacity,
+                        final OverflowPolicy policy) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    final BlockSubscription subscription = new BlockSubscription(this, subscriber, executor, ANY_TARGET, capacity, policy);
+    if (closed) {
+      subscription.complete();
+      return;
+    }
+    subscriptions.add(subscription);
+    subscription.start();
+  }
+
+  /**
+   * Publishes the header of the block to every subscriber.
+   *
+   * @param block inserted block.
+   */
+  public void publish(final Block block) {
+    if (closed || subscriptions.isEmpty()) {
+      return;
+    }
+    for (final BlockSubscription subscription : subscriptions) {
+      subscription.offer(block);
+    }
+  }
+
+  /**
+   * Checks whether there are subscribers.
+   *
+   * @return true if there are subscribers otherwise false.
+   */
+  public boolean hasSubscribers() {
+    return !subscriptions.isEmpty();
+  }
+
+  /**
+   * Gets the metrics of the active subscriptions.
+   *
+   * @return metrics per subscriber.
+   */
+  public List<SubscriptionMetrics> getSubscriptionMetrics() {
+    final List<SubscriptionMetrics> metrics = new ArrayList<>(subscriptions.size());
+    for (final BlockSubscription subscription : subscriptions) {
+      metrics.add(subscription.getMetrics());
+    }
+    return metrics;
+  }
+
+  /**
+   * Gets the number of subscribers dropped for overflowing their buffers.
+   *
+   * @return number of dropped subscribers.
+   */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Completes every subscription once its buffered headers are delivered.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    for (final BlockSubscription subscription : subscriptions) {
+      subscription.complete();
+    }
+  }
+
+  /**
+   * Removes the ended subscription.
+   *
+   * @param subscription ended subscription.
+   */
+  void remove(final BlockSubscription subscription) {
+    if (subscriptions.remove(subscription) && subscription.isDropped()) {
+      droppedCount.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,317 @@
+package blockchain.stream;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+
+import java.nio.BufferOverflowException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code BlockSubscription} class is the subscription of one subscriber to a {@link BlockHeaderPublisher}.
+ * <p>
+ * Publishing only appends to a bounded lock-free buffer and schedules a drain on the executor, so a slow
+ * subscriber never blocks the publisher. All signals to the subscriber are sent by the drain, which runs on
+ * at most one thread at a time, so they are serialized as {@link Flow} requires.
+ * <p>
+ * A block whose header cannot be built (e.g., a previous block hash that is not a 32-byte hex hash) is skipped
+ * and counted without consuming demand, so one malformed block does not end the subscription.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+final class BlockSubscription implements Flow.Subscription {
+
+  // Publisher of the subscription.
+  private final BlockHeaderPublisher publisher;
+
+  // Subscriber of the subscription.
+  private final Flow.Subscriber<? super BlockHeader> subscriber;
+
+  // Executor running the drain.
+  private final Executor executor;
+
+  // Target of the delivered headers.
+  private final byte[] target;
+
+  // Maximum number of buffered blocks.
+  private final int capacity;
+
+  // Overflow policy of the subscription.
+  private final OverflowPolicy policy;
+
+  // Buffered blocks whose headers are not yet delivered.
+  private final Queue<Block> buffer;
+
+  // Number of buffered blocks (the queue size is not constant time).
+  private final AtomicInteger bufferedCount;
+
+  // Outstanding demand requested by the subscriber.
+  private final AtomicLong demand;
+
+  // Number of drain requests since the running drain started (0 if no drain is running).
+  private final AtomicInteger drainRequests;
+
+  // Number of headers published to the subscription.
+  private final AtomicLong publishedCount;
+
+  // Number of headers delivered to the subscriber.
+  private final AtomicLong deliveredCount;
+
+  // Number of blocks skipped because their header could not be built.
+  private final AtomicLong skippedCount;
+
+  // Number of headers discarded by conflation.
+  private final AtomicLong conflatedCount;
+
+  // Whether onSubscribe was signalled (only accessed by the drain).
+  private boolean subscribed;
+
+  // Whether the subscriber has cancelled or the subscription has ended.
+  private volatile boolean cancelled;
+
+  // Whether the subscriber was dropped for overflowing its buffer.
+  private volatile boolean dropped;
+
+  // Whether the publisher has completed.
+  private volatile boolean completed;
+
+  // Error to be signalled to the subscriber.
+  private volatile Throwable error;
+
+  /**
+   * Constructs this {@code BlockSubscription}.
+   *
+   * @param publisher  publisher of the subscription.
+   * @param subscriber subscriber of the subscription.
+   * @param executor   executor running the drain.
+   * @param target     target of the delivered headers.
+   * @param capacity   maximum number of buffered blocks.
+   * @param policy     overflow policy of the subscription.
+   */
+  BlockSubscription(final BlockHeaderPublisher publisher,
+                    final Flow.Subscriber<? super BlockHeader> subscriber,
+                    final Executor executor,
+                    final byte[] target,
+                    final int capacity,
+                    final OverflowPolicy policy) {
+    this.publisher = publisher;
+    this.subscriber = subscriber;
+    this.executor = executor;
+    this.target = target;
+    this.capacity = capacity;
+    this.policy = policy;
+    this.buffer = new ConcurrentLinkedQueue<>();
+    this.bufferedCount = new AtomicInteger();
+    this.demand = new AtomicLong();
+    this.drainRequests = new AtomicInteger();
+    this.publishedCount = new AtomicLong();
+    this.deliveredCount = new AtomicLong();
+    this.skippedCount = new AtomicLong();
+    this.conflatedCount = new AtomicLong();
+    this.subscribed = false;
+    this.cancelled = false;
+    this.dropped = false;
+    this.completed = false;
+    this.error = null;
+  }
+
+  /**
+   * Starts the subscription by signalling onSubscribe.
+   */
+  void start() {
+    signal();
+  }
+
+  /**
+   * Buffers the block for delivery of its header without blocking. The header is created by the drain, off
+   * the inserting thread.
+   *
+   * @param block inserted block.
+   */
+  void offer(final Block block) {
+    if (cancelled || error != null) {
+      return;
+    }
+    publishedCount.incrementAndGet();
+    if (bufferedCount.incrementAndGet() > capacity) {
+      if (policy == OverflowPolicy.DROP) {
+        bufferedCount.decrementAndGet();
+        dropped = true;
+        fail(new BufferOverflowException());
+        return;
+      }
+      // Conflate: the oldest block makes room (unless the drain has just delivered it).
+      if (buffer.poll() != null) {
+        bufferedCount.decrementAndGet();
+        conflatedCount.incrementAndGet();
+      }
+    }
+    buffer.offer(block);
+    signal();
+  }
+
+  /**
+   * Completes the subscription after the buffered headers are delivered.
+   */
+  void complete() {
+    completed = true;
+    signal();
+  }
+
+  /**
+   * Ends the subscription with an error, discarding the buffered headers.
+   *
+   * @param throwable error to be signalled.
+   */
+  void fail(final Throwable throwable) {
+    if (error == null) {
+      error = throwable;
+    }
+    signal();
+  }
+
+  /**
+   * Checks whether the subscriber was dropped for overflowing its buffer.
+   *
+   * @return true if the subscriber was dropped otherwise false.
+   */
+  boolean isDropped() {
+    return dropped;
+  }
+
+  /**
+   * Gets a snapshot of the metrics of this subscription.
+   *
+   * @return metrics of this subscription.
+   */
+  SubscriptionMetrics getMetrics() {
+    return new SubscriptionMetrics(subscriber.toString(),
+        policy,
+        publishedCount.get(),
+        deliveredCount.get(),
+        skippedCount.get(),
+        conflatedCount.get(),
+        Math.max(0, bufferedCount.get()),
+        demand.get(),
+        dropped,
+        cancelled);
+  }
+
+  @Override
+  public void request(final long n) {
+    if (n <= 0) {
+      fail(new IllegalArgumentException("Non-positive request: " + n));
+      return;
+    }
+    demand.getAndAccumulate(n, (current, requested) -> {
+      final long sum = current + requested;
+      return sum < 0 ? Long.MAX_VALUE : sum;
+    });
+    signal();
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    signal();
+  }
+
+  /**
+   * Schedules a drain unless one is already running, in which case the running drain loops again.
+   */
+  private void signal() {
+    if (drainRequests.getAndIncrement() == 0) {
+      try {
+        executor.execute(this::drain);
+      } catch (final RejectedExecutionException e) {
+        cancelled = true;
+        buffer.clear();
+        publisher.remove(this);
+      }
+    }
+  }
+
+  /**
+   * Delivers the buffered headers up to the demand and then any terminal signal.
+   */
+  private void drain() {
+    int requests = drainRequests.get();
+    while (true) {
+      if (!subscribed) {
+        subscribed = true;
+        try {
+          subscriber.onSubscribe(this);
+        } catch (final Throwable t) {
+          terminate(t);
+        }
+      }
+      while (!cancelled && error == null && demand.get() > 0) {
+        final Block block = buffer.poll();
+        if (block == null) {
+          break;
+        }
+        bufferedCount.decrementAndGet();
+        final BlockHeader header;
+        try {
+          header = BlockHeader.of(block, target);
+        } catch (final IllegalArgumentException e) {
+          skippedCount.incrementAndGet();
+          continue;
+        }
+        demand.decrementAndGet();
+        deliveredCount.incrementAndGet();
+        try {
+          subscriber.onNext(header);
+        } catch (final Throwable t) {
+          terminate(t);
+        }
+      }
+      if (!cancelled) {
+        if (error != null) {
+          terminate(error);
+        } else if (completed && buffer.isEmpty()) {
+          cancelled = true;
+          publisher.remove(this);
+          try {
+            subscriber.onComplete();
+          } catch (final Throwable ignored) {
+            // The subscription has ended, so there is no one left to tell.
+          }
+        }
+      } else {
+        buffer.clear();
+        publisher.remove(this);
+      }
+      requests = drainRequests.addAndGet(-requests);
+      if (requests == 0) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Ends the subscription and signals the error to the subscriber.
+   *
+   * @param throwable error to be signalled.
+   */
+  private void terminate(final Throwable throwable) {
+    if (cancelled) {
+      return;
+    }
+    cancelled = true;
+    buffer.clear();
+    bufferedCount.set(0);
+    publisher.remove(this);
+    try {
+      subscriber.onError(throwable);
+    } catch (final Throwable ignored) {
+      // The subscription has ended, so there is no one left to tell.
+    }
+  }
+}
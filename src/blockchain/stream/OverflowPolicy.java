@@ -0,0 +1,17 @@
+package blockchain.stream;
+
+/**
+ * {@code OverflowPolicy} enum is what a {@link BlockHeaderPublisher} does when the buffer of a subscriber that
+ * does not keep up is full.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public enum OverflowPolicy {
+
+  // Cancels the subscription and signals a BufferOverflowException to the subscriber.
+  DROP,
+
+  // Discards the oldest buffered header so the subscriber skips to the latest headers.
+  CONFLATE
+}
@@ -0,0 +1,168 @@
+package blockchain.stream;
+
+/**
+ * {@code SubscriptionMetrics} class is a snapshot of the metrics of a subscription to a
+ * {@link BlockHeaderPublisher}.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class SubscriptionMetrics {
+
+  // Name of the subscriber.
+  private final String subscriberName;
+
+  // Overflow policy of the subscription.
+  private final OverflowPolicy policy;
+
+  // Number of headers published to the subscription.
+  private final long publishedCount;
+
+  // Number of headers delivered to the subscriber.
+  private final long deliveredCount;
+
+  // Number of blocks skipped because their header could not be built.
+  private final long skippedCount;
+
+  // Number of headers discarded by conflation.
+  private final long conflatedCount;
+
+  // Number of headers buffered but not yet delivered.
+  private final int bufferedCount;
+
+  // Outstanding demand requested by the subscriber.
+  private final long demand;
+
+  // Whether the subscriber was dropped for overflowing its buffer.
+  private final boolean dropped;
+
+  // Whether the subscription has ended (cancelled, dropped, failed or completed).
+  private final boolean terminated;
+
+  /**
+   * Constructs this {@code SubscriptionMetrics}.
+   *
+   * @param subscriberName name of the subscriber.
+   * @param policy         overflow policy of the subscription.
+   * @param publishedCount number of headers published to the subscription.
+   * @param deliveredCount number of headers delivered to the subscriber.
+   * @param skippedCount   number of blocks skipped because their header could not be built.
+   * @param conflatedCount number of headers discarded by conflation.
+   * @param bufferedCount  number of headers buffered but not yet delivered.
+   * @param demand         outstanding demand requested by the subscriber.
+   * @param dropped        whether the subscriber was dropped for overflowing its buffer.
+   * @param terminated     whether the subscription has ended.
+   */
+  SubscriptionMetrics(final String subscriberName,
+                      final OverflowPolicy policy,
+                      final long publishedCount,
+                      final long deliveredCount,
+                      final long skippedCount,
+                      final long conflatedCount,
+                      final int bufferedCount,
+                      final long demand,
+                      final boolean dropped,
+                      final boolean terminated) {
+    this.subscriberName = subscriberName;
+    this.policy = policy;
+    this.publishedCount = publishedCount;
+    this.deliveredCount = deliveredCount;
+    this.skippedCount = skippedCount;
+    this.conflatedCount = conflatedCount;
+    this.bufferedCount = bufferedCount;
+    this.demand = demand;
+    this.dropped = dropped;
+    this.terminated = terminated;
+  }
+
+  /**
+   * Gets the name of the subscriber.
+   *
+   * @return name of the subscriber.
+   */
+  public String getSubscriberName() {
+    return subscriberName;
+  }
+
+  /**
+   * Gets the overflow policy of the subscription.
+   *
+   * @return overflow policy.
+   */
+  public OverflowPolicy getPolicy() {
+    return policy;
+  }
+
+  /**
+   * Gets the number of headers published to the subscription.
+   *
+   * @return number of headers published.
+   */
+  public long getPublishedCount() {
+    return publishedCount;
+  }
+
+  /**
+   * Gets the number of headers delivered to the subscriber.
+   *
+   * @return number of headers delivered.
+   */
+  public long getDeliveredCount() {
+    return deliveredCount;
+  }
+
+  /**
+   * Gets the number of blocks skipped because their header could not be built (e.g., a malformed previous
+   * block hash).
+   *
+   * @return number of blocks skipped.
+   */
+  public long getSkippedCount() {
+    return skippedCount;
+  }
+
+  /**
+   * Gets the number of headers discarded by conflation.
+   *
+   * @return number of headers conflated.
+   */
+  public long getConflatedCount() {
+    return conflatedCount;
+  }
+
+  /**
+   * Gets the number of headers buffered but not yet delivered.
+   *
+   * @return number of headers buffered.
+   */
+  public int getBufferedCount() {
+    return bufferedCount;
+  }
+
+  /**
+   * Gets the outstanding demand requested by the subscriber.
+   *
+   * @return outstanding demand.
+   */
+  public long getDemand() {
+    return demand;
+  }
+
+  /**
+   * Checks whether the subscriber was dropped for overflowing its buffer.
+   *
+   * @return true if the subscriber was dropped otherwise false.
+   */
+  public boolean isDropped() {
+    return dropped;
+  }
+
+  /**
+   * Checks whether the subscription has ended (cancelled, dropped, failed or completed).
+   *
+   * @return true if the subscription has ended otherwise false.
+   */
+  public boolean isTerminated() {
+    return terminated;
+  }
+}
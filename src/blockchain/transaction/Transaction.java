@@ -1,44 +1,48 @@
 package blockchain.transaction;
 
 import blockchain.merkletree.MerkleNode;
-import blockchain.util.HashAlgorithmUtil;
 
 import java.security.NoSuchAlgorithmException;
-import java.util.UUID;
 
 /**
  * {@code Transaction} class is a model class that holds a transaction.
+ * <p>
+ * A transaction is a view of an index in a {@link TransactionArena}, which holds the id, timestamp, content
+ * and hash of the transactions of a block in a few primitive arrays.
  *
  * @author Dhrumil Amish Shah
  * @version 1.0.0
  */
 public final class Transaction {
 
-  // Unique transaction id.
-  private final String transactionID;
+  // Arena holding the transaction.
+  private final TransactionArena arena;
 
-  // Timestamp of transaction creation.
-  private final long timeStamp;
-
-  // Transaction content.
-  private final String transactionContent;
-
-  // Transaction hash.
-  private final String transactionHash;
+  // Index of the transaction in the arena.
+  private final int index;
 
   // Pointer to the merkle node.
   private MerkleNode merkleNode;
 
   /**
-   * Constructs this {@code Transaction}.
+   * Constructs this {@code Transaction} in an arena of its own. Transactions of a block are better created
+   * together with {@link TransactionArena#of(java.util.List)}.
    *
    * @param transactionContent Transaction content.
    */
   public Transaction(final String transactionContent) throws NoSuchAlgorithmException {
-    this.transactionID = UUID.randomUUID().toString();
-    this.timeStamp = System.nanoTime();
-    this.transactionContent = transactionContent;
-    this.transactionHash = HashAlgorithmUtil.getSHA256Hash(this.transactionContent);
+    this(TransactionArena.single(transactionContent), 0);
+  }
+
+  /**
+   * Constructs this {@code Transaction} as a view of the arena.
+   *
+   * @param arena arena holding the transaction.
+   * @param index index of the transaction in the arena.
+   */
+  Transaction(final TransactionArena arena, final int index) {
+    this.arena = arena;
+    this.index = index;
     this.merkleNode = null;
   }
 
@@ -48,7 +52,7 @@ public final class Transaction {
    * @return blockchain.transaction id.
    */
   public String getTransactionID() {
-    return transactionID;
+    return arena.getTransactionID(index);
   }
 
   /**
@@ -57,7 +61,7 @@ public final class Transaction {
    * @return timestamp of blockchain.transaction creation.
    */
   public long getTimeStamp() {
-    return timeStamp;
+    return arena.getTimeStamp(index);
   }
 
   /**
@@ -66,7 +70,7 @@ public final class Transaction {
    * @return blockchain.transaction content.
    */
   public String getTransactionContent() {
-    return transactionContent;
+    return arena.getTransactionContent(index);
   }
 
   /**
@@ -75,7 +79,7 @@ public final class Transaction {
    * @return blockchain.transaction hash.
    */
   public String getTransactionHash() {
-    return transactionHash;
+    return arena.getTransactionHash(index);
   }
 
   /**
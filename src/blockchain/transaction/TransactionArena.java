@@ -0,0 +1,264 @@
+package blockchain.transaction;
+
+import blockchain.util.HashAlgorithmUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+/**
+ * {@code TransactionArena} class packs the transactions of a block into a few primitive arrays.
+ * <p>
+ * The contents are stored back to back as UTF-8 with an offset table, the ids as 16-byte UUIDs and the hashes
+ * as 32-byte SHA-256 digests, so a block with n transactions holds five arrays instead of 3n strings (each a
+ * string object and a byte array). {@link Transaction} objects are views of an index in the arena; strings
+ * are only created when a getter asks for one.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class TransactionArena {
+
+  // Size of a transaction id in bytes.
+  private static final int ID_SIZE = 16;
+
+  // Size of a transaction hash in bytes.
+  private static final int HASH_SIZE = 32;
+
+  // Number of transactions.
+  private final int size;
+
+  // Transaction ids (UUID most then least significant bits, big endian).
+  private final byte[] ids;
+
+  // Timestamps of transaction creation.
+  private final long[] timeStamps;
+
+  // SHA-256 digests of the contents.
+  private final byte[] hashes;
+
+  // UTF-8 contents back to back.
+  private final byte[] contents;
+
+  // Start offset of every content in the contents, followed by the end offset of the last one.
+  private final int[] contentOffsets;
+
+  // Indexes of the null contents (null if there are none).
+  private final BitSet nullContents;
+
+  // Views of the transactions (null for the arena of a single transaction constructed on its own).
+  private final Transaction[] transactions;
+
+  /**
+   * Constructs this {@code TransactionArena}.
+   *
+   * @param encodedContents UTF-8 contents (null for a null content).
+   * @param withViews       whether the views of the transactions are created.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm is not available.
+   */
+  private TransactionArena(final byte[][] encodedContents, final boolean withViews) throws NoSuchAlgorithmException {
+    this.size = encodedContents.length;
+    this.ids = new byte[size * ID_SIZE];
+    this.timeStamps = new long[size];
+    this.hashes = new byte[size * HASH_SIZE];
+    this.contentOffsets = new int[size + 1];
+    int totalLength = 0;
+    BitSet nulls = null;
+    for (int i = 0; i < size; ++i) {
+      if (encodedContents[i] == null) {
+        if (nulls == null) {
+          nulls = new BitSet(size);
+        }
+        nulls.set(i);
+      } else {
+        totalLength += encodedContents[i].length;
+      }
+    }
+    this.nullContents = nulls;
+    this.contents = new byte[totalLength];
+
+    final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    int offset = 0;
+    for (int i = 0; i < size; ++i) {
+      final UUID id = UUID.randomUUID();
+      putLong(ids, i * ID_SIZE, id.getMostSignificantBits());
+      putLong(ids, i * ID_SIZE + 8, id.getLeastSignificantBits());
+      timeStamps[i] = System.nanoTime();
+      contentOffsets[i] = offset;
+      if (encodedContents[i] != null) {
+        System.arraycopy(encodedContents[i], 0, contents, offset, encodedContents[i].length);
+        // The hash is digested straight from the arena into the arena.
+        digest.update(contents, offset, encodedContents[i].length);
+        try {
+          digest.digest(hashes, i * HASH_SIZE, HASH_SIZE);
+        } catch (final DigestException e) {
+          throw new IllegalStateException("SHA-256 digest does not fit in " + HASH_SIZE + " bytes", e);
+        }
+        offset += encodedContents[i].length;
+      }
+    }
+    contentOffsets[size] = offset;
+
+    if (withViews) {
+      this.transactions = new Transaction[size];
+      for (int i = 0; i < size; ++i) {
+        transactions[i] = new Transaction(this, i);
+      }
+    } else {
+      this.transactions = null;
+    }
+  }
+
+  /**
+   * Creates the arena of new transactions with the contents provided.
+   *
+   * @param transactionContents transaction contents.
+   *
+   * @return arena of the transactions.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm is not available.
+   */
+  public static TransactionArena of(final List<String> transactionContents) throws NoSuchAlgorithmException {
+    final byte[][] encodedContents = new byte[transactionContents.size()][];
+    for (int i = 0; i < encodedContents.length; ++i) {
+      final String content = transactionContents.get(i);
+      encodedContents[i] = content == null ? null : content.getBytes(StandardCharsets.UTF_8);
+    }
+    return new TransactionArena(encodedContents, true);
+  }
+
+  /**
+   * Creates the arena of a single transaction whose view is constructed by the caller.
+   *
+   * @param transactionContent transaction content.
+   *
+   * @return arena of the transaction.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm is not available.
+   */
+  static TransactionArena single(final String transactionContent) throws NoSuchAlgorithmException {
+    return new TransactionArena(new byte[][]{
+        transactionContent == null ? null : transactionContent.getBytes(StandardCharsets.UTF_8)}, false);
+  }
+
+  /**
+   * Gets the number of transactions.
+   *
+   * @return number of transactions.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the transactions as views of this arena.
+   *
+   * @return unmodifiable list of the transactions.
+   */
+  public List<Transaction> getTransactions() {
+    return new TransactionList();
+  }
+
+  /**
+   * Gets the transaction id.
+   *
+   * @param index index of the transaction.
+   *
+   * @return transaction id.
+   */
+  String getTransactionID(final int index) {
+    return new UUID(getLong(ids, index * ID_SIZE), getLong(ids, index * ID_SIZE + 8)).toString();
+  }
+
+  /**
+   * Gets the timestamp of transaction creation.
+   *
+   * @param index index of the transaction.
+   *
+   * @return timestamp of transaction creation.
+   */
+  long getTimeStamp(final int index) {
+    return timeStamps[index];
+  }
+
+  /**
+   * Gets the transaction content.
+   *
+   * @param index index of the transaction.
+   *
+   * @return transaction content.
+   */
+  String getTransactionContent(final int index) {
+    if (nullContents != null && nullContents.get(index)) {
+      return null;
+    }
+    return new String(contents, contentOffsets[index], contentOffsets[index + 1] - contentOffsets[index],
+        StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Gets the transaction hash.
+   *
+   * @param index index of the transaction.
+   *
+   * @return lower case hex SHA-256 hash of the content.
+   */
+  String getTransactionHash(final int index) {
+    if (nullContents != null && nullContents.get(index)) {
+      return null;
+    }
+    return HashAlgorithmUtil.bytesToHex(hashes, index * HASH_SIZE, HASH_SIZE);
+  }
+
+  /**
+   * Writes the long in big endian order.
+   *
+   * @param bytes  destination.
+   * @param offset offset of the long.
+   * @param value  long to be written.
+   */
+  private static void putLong(final byte[] bytes, final int offset, final long value) {
+    for (int i = 0; i < 8; ++i) {
+      bytes[offset + i] = (byte) (value >>> (56 - 8 * i));
+    }
+  }
+
+  /**
+   * Reads a long in big endian order.
+   *
+   * @param bytes  source.
+   * @param offset offset of the long.
+   *
+   * @return long read.
+   */
+  private static long getLong(final byte[] bytes, final int offset) {
+    long value = 0;
+    for (int i = 0; i < 8; ++i) {
+      value = (value << 8) | (bytes[offset + i] & 0xFF);
+    }
+    return value;
+  }
+
+  /**
+   * {@code TransactionList} class is the unmodifiable list of the transaction views of the arena.
+   */
+  private final class TransactionList extends AbstractList<Transaction> implements RandomAccess {
+
+    @Override
+    public Transaction get(final int index) {
+      return transactions[index];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
@@ -4,6 +4,10 @@ import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * {@code HashAlgorithmUtil} class provides utility to generate hash from the content provided.
@@ -13,6 +17,23 @@ import java.security.NoSuchAlgorithmException;
  */
 public final class HashAlgorithmUtil {
 
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  // Batches with at least this many contents are hashed in parallel.
+  private static final int PARALLEL_BATCH_THRESHOLD = 1024;
+
+  // SHA-256 digest reused by every batch hashed on a thread.
+  private static final ThreadLocal<MessageDigest> BATCH_DIGEST = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  });
+
+  // Whether SHA-256 is available in this environment, checked once so the batch methods can report it.
+  private static final boolean SHA256_AVAILABLE = isAvailable("SHA-256");
+
   /**
    * Private constructor to prevent the instantiation of {@code HashAlgorithmUtil} class.
    */
@@ -36,4 +57,171 @@ public final class HashAlgorithmUtil {
     final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
     return String.format("%064x", new BigInteger(1, messageDigest.digest(content.getBytes(StandardCharsets.UTF_8))));
   }
-}
\ No newline at end of file
+
+  /**
+   * Gets the SHA-256 of every content of the batch provided.
+   * <p>
+   * Returns exactly the same hashes as {@link #getSHA256Hash(String)} for every content, but reuses one digest
+   * per thread, encodes the hex with a lookup table and splits large batches (e.g., a level of a big merkle
+   * tree) across all the available cores.
+   *
+   * @param contents contents to be hashed using SHA-256 algorithm.
+   *
+   * @return SHA-256 hashes of the contents in the same order (null for a null content).
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public static List<String> getSHA256Hashes(final List<String> contents) throws NoSuchAlgorithmException {
+    checkSHA256Available();
+    final String[] hashes = new String[contents.size()];
+    hashBatch(hashes.length, (from, to) -> {
+      final MessageDigest messageDigest = BATCH_DIGEST.get();
+      for (int i = from; i < to; ++i) {
+        final String content = contents.get(i);
+        hashes[i] = (content == null) ? null : bytesToHex(messageDigest.digest(content.getBytes(StandardCharsets.UTF_8)));
+      }
+    });
+    return new ArrayList<>(Arrays.asList(hashes));
+  }
+
+  /**
+   * Gets the SHA-256 digest of every content of the batch provided.
+   *
+   * @param contents contents to be hashed using SHA-256 algorithm.
+   *
+   * @return 32-byte SHA-256 digests of the contents in the same order.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public static byte[][] getSHA256Digests(final byte[][] contents) throws NoSuchAlgorithmException {
+    checkSHA256Available();
+    final byte[][] digests = new byte[contents.length][];
+    hashBatch(digests.length, (from, to) -> {
+      final MessageDigest messageDigest = BATCH_DIGEST.get();
+      for (int i = from; i < to; ++i) {
+        digests[i] = messageDigest.digest(contents[i]);
+      }
+    });
+    return digests;
+  }
+
+  /**
+   * Checks whether the hashing algorithm is available in this environment.
+   *
+   * @param algorithm hashing algorithm.
+   *
+   * @return true if the algorithm is available otherwise false.
+   */
+  private static boolean isAvailable(final String algorithm) {
+    try {
+      MessageDigest.getInstance(algorithm);
+      return true;
+    } catch (final NoSuchAlgorithmException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Checks that SHA-256 is available in this environment.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  private static void checkSHA256Available() throws NoSuchAlgorithmException {
+    if (!SHA256_AVAILABLE) {
+      throw new NoSuchAlgorithmException("SHA-256 is not available in this environment.");
+    }
+  }
+
+  /**
+   * Hashes a batch, splitting it into one chunk per available core when it is large enough.
+   *
+   * @param size   number of contents in the batch.
+   * @param hasher hasher of a chunk of the batch.
+   */
+  private static void hashBatch(final int size, final ChunkHasher hasher) {
+    final int cores = Runtime.getRuntime().availableProcessors();
+    if (size < PARALLEL_BATCH_THRESHOLD || cores == 1) {
+      hasher.hash(0, size);
+      return;
+    }
+    final int chunkSize = (size + cores - 1) / cores;
+    IntStream.range(0, cores).parallel().forEach(chunk ->
+        hasher.hash(chunk * chunkSize, Math.min(size, (chunk + 1) * chunkSize)));
+  }
+
+  /**
+   * {@code ChunkHasher} hashes the contents of a batch between two indexes.
+   */
+  @FunctionalInterface
+  private interface ChunkHasher {
+    void hash(int from, int to);
+  }
+
+  /**
+   * Gets the SHA-256 digest of the {@code content} provided.
+   *
+   * @param content content to be hashed using SHA-256 algorithm.
+   *
+   * @return 32-byte SHA-256 digest of the {@code content} provided.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm (i.e., SHA-256) is not available in this environment.
+   */
+  public static byte[] getSHA256Digest(final byte[] content) throws NoSuchAlgorithmException {
+    return MessageDigest.getInstance("SHA-256").digest(content);
+  }
+
+  /**
+   * Converts the hex string into bytes.
+   *
+   * @param hex hex string with an even number of characters.
+   *
+   * @return bytes of the hex string.
+   *
+   * @throws IllegalArgumentException if the string is not a valid hex string.
+   */
+  public static byte[] hexToBytes(final String hex) {
+    if ((hex.length() & 1) != 0) {
+      throw new IllegalArgumentException("Hex string must have an even length: " + hex);
+    }
+    final byte[] bytes = new byte[hex.length() >> 1];
+    for (int i = 0; i < bytes.length; ++i) {
+      final int high = Character.digit(hex.charAt(i << 1), 16);
+      final int low = Character.digit(hex.charAt((i << 1) + 1), 16);
+      if (high < 0 || low < 0) {
+        throw new IllegalArgumentException("Invalid hex string: " + hex);
+      }
+      bytes[i] = (byte) ((high << 4) | low);
+    }
+    return bytes;
+  }
+
+  /**
+   * Converts the bytes into a lower case hex string.
+   *
+   * @param bytes bytes to be converted.
+   *
+   * @return lower case hex string of the bytes.
+   */
+  public static String bytesToHex(final byte[] bytes) {
+    return bytesToHex(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Converts a range of the bytes into a lower case hex string.
+   *
+   * @param bytes  bytes to be converted.
+   * @param offset index of the first byte to be converted.
+   * @param length number of bytes to be converted.
+   *
+   * @return lower case hex string of the range.
+   */
+  public static String bytesToHex(final byte[] bytes, final int offset, final int length) {
+    final char[] hex = new char[length << 1];
+    for (int i = 0; i < length; ++i) {
+      final byte b = bytes[offset + i];
+      hex[i << 1] = HEX_DIGITS[(b >> 4) & 0xF];
+      hex[(i << 1) + 1] = HEX_DIGITS[b & 0xF];
+    }
+    return new String(hex);
+  }
+}
@@ -0,0 +1,100 @@
+package blockchain.validation;
+
+/**
+ * {@code BlockValidationResult} class holds the outcome of validating a single block of the blockchain.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class BlockValidationResult {
+
+  // Id of the validated block.
+  private final long blockId;
+
+  // Height (position) of the validated block in the chain.
+  private final long height;
+
+  // Whether the previous block hash matches the hash of the previous block.
+  private final boolean hashLinkValid;
+
+  // Whether the merkle root matches the recomputed merkle root of the transactions.
+  private final boolean merkleRootValid;
+
+  // Time taken to validate the block in nanoseconds.
+  private final long validationTime;
+
+  /**
+   * Constructs this {@code BlockValidationResult}.
+   *
+   * @param blockId         id of the validated block.
+   * @param height          height of the validated block in the chain.
+   * @param hashLinkValid   whether the previous block hash link is valid.
+   * @param merkleRootValid whether the merkle root is valid.
+   * @param validationTime  time taken to validate the block in nanoseconds.
+   */
+  public BlockValidationResult(final long blockId,
+                               final long height,
+                               final boolean hashLinkValid,
+                               final boolean merkleRootValid,
+                               final long validationTime) {
+    this.blockId = blockId;
+    this.height = height;
+    this.hashLinkValid = hashLinkValid;
+    this.merkleRootValid = merkleRootValid;
+    this.validationTime = validationTime;
+  }
+
+  /**
+   * Gets the id of the validated block.
+   *
+   * @return id of the validated block.
+   */
+  public long getBlockId() {
+    return blockId;
+  }
+
+  /**
+   * Gets the height of the validated block in the chain.
+   *
+   * @return height of the validated block in the chain.
+   */
+  public long getHeight() {
+    return height;
+  }
+
+  /**
+   * Checks whether the previous block hash link is valid.
+   *
+   * @return true if the previous block hash link is valid otherwise false.
+   */
+  public boolean isHashLinkValid() {
+    return hashLinkValid;
+  }
+
+  /**
+   * Checks whether the merkle root is valid.
+   *
+   * @return true if the merkle root is valid otherwise false.
+   */
+  public boolean isMerkleRootValid() {
+    return merkleRootValid;
+  }
+
+  /**
+   * Checks whether the block is valid.
+   *
+   * @return true if both the hash link and the merkle root are valid otherwise false.
+   */
+  public boolean isValid() {
+    return hashLinkValid && merkleRootValid;
+  }
+
+  /**
+   * Gets the time taken to validate the block.
+   *
+   * @return time taken to validate the block in nanoseconds.
+   */
+  public long getValidationTime() {
+    return validationTime;
+  }
+}
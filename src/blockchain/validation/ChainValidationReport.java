@@ -0,0 +1,73 @@
+package blockchain.validation;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code ChainValidationReport} class holds the outcome of validating a sequence of blocks of the blockchain.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class ChainValidationReport {
+
+  // Per block validation results in chain order.
+  private final List<BlockValidationResult> results;
+
+  // Index of the first invalid block in results or -1 if all blocks are valid.
+  private final int firstInvalidIndex;
+
+  // Wall clock time taken to validate all the blocks in nanoseconds.
+  private final long elapsedTime;
+
+  /**
+   * Constructs this {@code ChainValidationReport}.
+   *
+   * @param results           per block validation results in chain order.
+   * @param firstInvalidIndex index of the first invalid block or -1 if all blocks are valid.
+   * @param elapsedTime       wall clock time taken to validate all the blocks in nanoseconds.
+   */
+  public ChainValidationReport(final List<BlockValidationResult> results,
+                               final int firstInvalidIndex,
+                               final long elapsedTime) {
+    this.results = Collections.unmodifiableList(results);
+    this.firstInvalidIndex = firstInvalidIndex;
+    this.elapsedTime = elapsedTime;
+  }
+
+  /**
+   * Gets the per block validation results in chain order.
+   *
+   * @return per block validation results.
+   */
+  public List<BlockValidationResult> getResults() {
+    return results;
+  }
+
+  /**
+   * Checks whether all the validated blocks are valid.
+   *
+   * @return true if all the validated blocks are valid otherwise false.
+   */
+  public boolean isValid() {
+    return firstInvalidIndex == -1;
+  }
+
+  /**
+   * Gets the index of the first invalid block.
+   *
+   * @return index of the first invalid block or -1 if all blocks are valid.
+   */
+  public int getFirstInvalidIndex() {
+    return firstInvalidIndex;
+  }
+
+  /**
+   * Gets the wall clock time taken to validate all the blocks.
+   *
+   * @return wall clock time in nanoseconds.
+   */
+  public long getElapsedTime() {
+    return elapsedTime;
+  }
+}
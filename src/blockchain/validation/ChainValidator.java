@@ -0,0 +1,154 @@
+package blockchain.validation;
+
+import blockchain.block.Block;
+import blockchain.merkletree.MerkleTree;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * {@code ChainValidator} class verifies the integrity of the blocks in the blockchain.
+ * <p>
+ * A block is valid when its previous block hash matches the hash of the block before it and its merkle root
+ * matches the merkle root recomputed from its transactions. Blocks are validated in parallel on all the
+ * available cores since each check only depends on the block and its predecessor.
+ * <p>
+ * The validator remembers a trusted checkpoint (hash and height of the last valid block). Every call to
+ * {@link #validate(List)} only validates the blocks appended after the checkpoint, so the cost of validating
+ * newly appended blocks is proportional to the number of new blocks and not to the length of the chain.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class ChainValidator {
+
+  // Hash of the last trusted block or null if no block is trusted yet.
+  private String checkpointHash;
+
+  // Number of trusted blocks (i.e., height of the next block to be validated).
+  private long checkpointHeight;
+
+  /**
+   * Constructs this {@code ChainValidator} starting from the genesis block.
+   */
+  public ChainValidator() {
+    this(null, 0);
+  }
+
+  /**
+   * Constructs this {@code ChainValidator} starting from a trusted checkpoint.
+   *
+   * @param checkpointHash   hash of the last trusted block.
+   * @param checkpointHeight number of trusted blocks.
+   */
+  public ChainValidator(final String checkpointHash, final long checkpointHeight) {
+    this.checkpointHash = checkpointHash;
+    this.checkpointHeight = checkpointHeight;
+  }
+
+  /**
+   * Validates the blocks appended after the checkpoint and advances the checkpoint past the valid prefix.
+   *
+   * @param appendedBlocks blocks appended after the checkpoint in chain order.
+   *
+   * @return validation report of the appended blocks.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm is not available.
+   */
+  public synchronized ChainValidationReport validate(final List<Block> appendedBlocks) throws NoSuchAlgorithmException {
+    final Block[] blocks = appendedBlocks.toArray(new Block[0]);
+    final BlockValidationResult[] results = new BlockValidationResult[blocks.length];
+    final String previousHash = checkpointHash;
+    final long startHeight = checkpointHeight;
+
+    final long startTime = System.nanoTime();
+    try {
+      IntStream.range(0, blocks.length).parallel().forEach(i -> {
+        final String expectedPreBlockHash = (i == 0) ? previousHash : blocks[i - 1].getBlockHash();
+        results[i] = validateBlock(blocks[i], expectedPreBlockHash, startHeight + i);
+      });
+    } catch (final HashingUnavailableException e) {
+      throw e.getCause();
+    }
+    final long endTime = System.nanoTime();
+
+    int firstInvalidIndex = -1;
+    for (int i = 0; i < results.length; ++i) {
+      if (!results[i].isValid()) {
+        firstInvalidIndex = i;
+        break;
+      }
+    }
+
+    final int validBlocks = (firstInvalidIndex == -1) ? blocks.length : firstInvalidIndex;
+    if (validBlocks > 0) {
+      checkpointHash = blocks[validBlocks - 1].getBlockHash();
+      checkpointHeight += validBlocks;
+    }
+    return new ChainValidationReport(new ArrayList<>(Arrays.asList(results)), firstInvalidIndex, endTime - startTime);
+  }
+
+  /**
+   * Validates a single block against the expected previous block hash.
+   *
+   * @param block                block to be validated.
+   * @param expectedPreBlockHash expected previous block hash.
+   * @param height               height of the block in the chain.
+   *
+   * @return validation result of the block.
+   */
+  private static BlockValidationResult validateBlock(final Block block,
+                                                     final String expectedPreBlockHash,
+                                                     final long height) {
+    final long startTime = System.nanoTime();
+    final boolean hashLinkValid = Objects.equals(block.getPreBlockHash(), expectedPreBlockHash);
+    final String merkleRootHash = (block.getMerkleRoot() == null) ? null : block.getMerkleRoot().getHash();
+    final String recomputedMerkleRootHash;
+    try {
+      recomputedMerkleRootHash = new MerkleTree().computeMerkleRootHash(block.getTransactions());
+    } catch (final NoSuchAlgorithmException e) {
+      throw new HashingUnavailableException(e);
+    }
+    final boolean merkleRootValid = Objects.equals(merkleRootHash, recomputedMerkleRootHash);
+    final long endTime = System.nanoTime();
+    return new BlockValidationResult(block.getBlockId(), height, hashLinkValid, merkleRootValid, endTime - startTime);
+  }
+
+  /**
+   * Gets the hash of the last trusted block.
+   *
+   * @return hash of the last trusted block or null if no block is trusted yet.
+   */
+  public synchronized String getCheckpointHash() {
+    return checkpointHash;
+  }
+
+  /**
+   * Gets the number of trusted blocks.
+   *
+   * @return number of trusted blocks.
+   */
+  public synchronized long getCheckpointHeight() {
+    return checkpointHeight;
+  }
+
+  /**
+   * {@code HashingUnavailableException} carries a {@link NoSuchAlgorithmException} out of the parallel workers.
+   */
+  private static final class HashingUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private HashingUnavailableException(final NoSuchAlgorithmException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized NoSuchAlgorithmException getCause() {
+      return (NoSuchAlgorithmException) super.getCause();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package driver;
+
+import blockchain.block.Block;
+import implementation.adaptive.AdaptiveBlockChain;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+/**
+ * {@code AdaptiveDriver} class performs search time analysis of the splay tree and the adaptive chain under
+ * uniform, skewed and changing search distributions.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class AdaptiveDriver {
+
+  // Number of searches per workload phase.
+  private static final int SEARCHES = 2_000_000;
+
+  // Number of hot blocks of the skewed distribution.
+  private static final int HOT_BLOCKS = 32;
+
+  // Share of the skewed searches that hit the hot blocks.
+  private static final double HOT_SHARE = 0.9;
+
+  /**
+   * Creates the searched block ids of a workload phase.
+   *
+   * @param blockIds block ids in the chain.
+   * @param skewed   whether searches are skewed towards the hot blocks.
+   * @param seed     seed of the random searches.
+   *
+   * @return searched block ids.
+   */
+  private static long[] searches(final long[] blockIds, final boolean skewed, final long seed) {
+    final Random random = new Random(seed);
+    final long[] searches = new long[SEARCHES];
+    for (int i = 0; i < SEARCHES; ++i) {
+      if (skewed && random.nextDouble() < HOT_SHARE) {
+        // Hot blocks are spread over the whole id range.
+        searches[i] = blockIds[(int) ((long) random.nextInt(HOT_BLOCKS) * blockIds.length / HOT_BLOCKS)];
+      } else {
+        searches[i] = blockIds[random.nextInt(blockIds.length)];
+      }
+    }
+    return searches;
+  }
+
+  /**
+   * Measures the average search time.
+   *
+   * @param search   search function.
+   * @param searches searched block ids.
+   *
+   * @return average search time in ns.
+   */
+  private static long measure(final LongFunction<Block> search, final long[] searches) {
+    final long startTime = System.nanoTime();
+    for (final long blockId : searches) {
+      search.apply(blockId);
+    }
+    return (System.nanoTime() - startTime) / searches.length;
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+    final SplayTreeBlockChain st = new SplayTreeBlockChain();
+    final AdaptiveBlockChain ac = new AdaptiveBlockChain();
+    final long[] blockIds = new long[totalBlocks];
+    for (int i = 0; i < totalBlocks; ++i) {
+      blockIds[i] = System.nanoTime();
+      st.insert(new Block(blockIds[i], null, null));
+      ac.insert(new Block(blockIds[i], null, null));
+    }
+    // Spread the initial path the ascending inserts leave behind.
+    measure(st::search, searches(blockIds, false, 0));
+    measure(ac::search, searches(blockIds, false, 0));
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Average search time with ").append(totalBlocks).append(" blocks").append("\n");
+    sb.append(String.format("%-15s%-25s%-25s%-10s%-60s", "Phase", "Splay Tree (ns)", "Adaptive Chain (ns)", "Mode",
+        "Reason")).append("\n");
+    final boolean[] phases = {false, true, false, true};
+    for (int phase = 0; phase < phases.length; ++phase) {
+      final long[] searches = searches(blockIds, phases[phase], phase + 1);
+      final long splay = measure(st::search, searches);
+      final long adaptive = measure(ac::search, searches);
+      sb.append(String.format("%-15s%-25s%-25s%-10s%-60s", phases[phase] ? "Skewed" : "Uniform", splay, adaptive,
+          ac.getMode(), ac.getModeReason())).append("\n");
+    }
+    sb.append("Mode switches: ").append(ac.getSwitchCount()).append("\n");
+    sb.append("\n");
+    System.out.println(sb.toString());
+  }
+}
@@ -0,0 +1,67 @@
+package driver;
+
+import blockchain.util.HashAlgorithmUtil;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code BatchHashDriver} class performs hash rate analysis of hashing merkle parent inputs one at a time
+ * against hashing them as one batch.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class BatchHashDriver {
+
+  /**
+   * Creates merkle parent inputs, i.e. the concatenation of two 64-character hex hashes.
+   *
+   * @param totalInputs number of inputs.
+   *
+   * @return merkle parent inputs.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static List<String> parentInputs(final int totalInputs) throws NoSuchAlgorithmException {
+    final List<String> inputs = new ArrayList<>(totalInputs);
+    for (int i = 0; i < totalInputs; ++i) {
+      inputs.add(HashAlgorithmUtil.getSHA256Hash("left " + i) + HashAlgorithmUtil.getSHA256Hash("right " + i));
+    }
+    return inputs;
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Merkle parent hashing (128-character inputs)").append("\n");
+    sb.append(String.format("%-20s%-35s%-35s%-20s", "Inputs", "Scalar (hashes/s)", "Batch (hashes/s)", "Speedup")).append("\n");
+    for (final int totalInputs : new int[]{1000, 10000, 100000, 1000000}) {
+      final List<String> inputs = parentInputs(totalInputs);
+      // Warm up both paths.
+      for (int i = 0; i < Math.min(totalInputs, 10000); ++i) {
+        HashAlgorithmUtil.getSHA256Hash(inputs.get(i));
+      }
+      HashAlgorithmUtil.getSHA256Hashes(inputs.subList(0, Math.min(totalInputs, 10000)));
+
+      // Scalar
+      final long startTimeScalar = System.nanoTime();
+      for (final String input : inputs) {
+        HashAlgorithmUtil.getSHA256Hash(input);
+      }
+      final long endTimeScalar = System.nanoTime();
+      final double scalarRate = totalInputs / ((endTimeScalar - startTimeScalar) / 1e9);
+
+      // Batch
+      final long startTimeBatch = System.nanoTime();
+      HashAlgorithmUtil.getSHA256Hashes(inputs);
+      final long endTimeBatch = System.nanoTime();
+      final double batchRate = totalInputs / ((endTimeBatch - startTimeBatch) / 1e9);
+
+      sb.append(String.format("%-20s%-35.0f%-35.0f%-20s", totalInputs, scalarRate, batchRate,
+          String.format("%.2fx", batchRate / scalarRate))).append("\n");
+    }
+    sb.append("\n");
+    System.out.println(sb.toString());
+  }
+}
@@ -0,0 +1,187 @@
+package driver;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.stream.BlockHeaderPublisher;
+import blockchain.stream.OverflowPolicy;
+import blockchain.stream.SubscriptionMetrics;
+import blockchain.transaction.Transaction;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BlockStreamDriver} class performs insert latency analysis of the splay tree with fast and slow
+ * subscribers to the headers of inserted blocks.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class BlockStreamDriver {
+
+  /**
+   * {@code PacedSubscriber} class requests one header every {@code periodMicros} microseconds (0 for
+   * unbounded demand).
+   */
+  private static final class PacedSubscriber implements Flow.Subscriber<BlockHeader> {
+
+    // Name of the subscriber.
+    private final String name;
+
+    // Period between requests in microseconds (0 for unbounded demand).
+    private final long periodMicros;
+
+    // Scheduler of the requests.
+    private final ScheduledExecutorService scheduler;
+
+    // Number of headers received.
+    private volatile long receivedCount;
+
+    // Id of the last header received.
+    private volatile long lastBlockId;
+
+    // Whether the subscription has ended.
+    private volatile String termination;
+
+    private PacedSubscriber(final String name, final long periodMicros, final ScheduledExecutorService scheduler) {
+      this.name = name;
+      this.periodMicros = periodMicros;
+      this.scheduler = scheduler;
+      this.termination = "active";
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      if (periodMicros == 0) {
+        subscription.request(Long.MAX_VALUE);
+      } else {
+        scheduler.scheduleAtFixedRate(() -> subscription.request(1), 0, periodMicros, TimeUnit.MICROSECONDS);
+      }
+    }
+
+    @Override
+    public void onNext(final BlockHeader header) {
+      ++receivedCount;
+      lastBlockId = header.getBlockId();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      termination = "error: " + throwable.getClass().getSimpleName();
+    }
+
+    @Override
+    public void onComplete() {
+      termination = "complete";
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+  /**
+   * Inserts the blocks and measures the insert latency.
+   *
+   * @param st     splay tree.
+   * @param blocks blocks to be inserted.
+   *
+   * @return insert latencies in ns.
+   */
+  private static long[] insert(final SplayTreeBlockChain st, final List<Block> blocks) {
+    final long[] latencies = new long[blocks.size()];
+    for (int i = 0; i < blocks.size(); ++i) {
+      final long startTime = System.nanoTime();
+      st.insert(blocks.get(i));
+      latencies[i] = System.nanoTime() - startTime;
+    }
+    Arrays.sort(latencies);
+    return latencies;
+  }
+
+  /**
+   * Creates the blocks.
+   *
+   * @param totalBlocks number of blocks.
+   *
+   * @return blocks in chain order.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static List<Block> blocks(final int totalBlocks) throws NoSuchAlgorithmException {
+    final List<Block> blocks = new ArrayList<>(totalBlocks);
+    String preBlockHash = null;
+    for (int i = 0; i < totalBlocks; ++i) {
+      final List<Transaction> transactions = new ArrayList<>();
+      transactions.add(new Transaction("Transaction of block " + i));
+      final Block block = new Block(System.nanoTime(), preBlockHash, transactions);
+      blocks.add(block);
+      preBlockHash = block.getBlockHash();
+    }
+    return blocks;
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException, InterruptedException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      final Thread thread = new Thread(r, "request-scheduler");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    // Without subscribers
+    insert(new SplayTreeBlockChain(), blocks(totalBlocks)); // Warm up.
+    final long[] baseline = insert(new SplayTreeBlockChain(), blocks(totalBlocks));
+
+    // With a fast subscriber and slow subscribers that are conflated or dropped
+    final SplayTreeBlockChain st = new SplayTreeBlockChain();
+    final BlockHeaderPublisher publisher = st.getPublisher();
+    final PacedSubscriber[] subscribers = {
+        new PacedSubscriber("Fast (unbounded demand)", 0, scheduler),
+        new PacedSubscriber("Slow, conflated", 100, scheduler),
+        new PacedSubscriber("Slow, dropped", 100, scheduler)
+    };
+    publisher.subscribe(subscribers[0], BlockHeaderPublisher.DEFAULT_CAPACITY, OverflowPolicy.CONFLATE);
+    publisher.subscribe(subscribers[1], 16, OverflowPolicy.CONFLATE);
+    publisher.subscribe(subscribers[2], 16, OverflowPolicy.DROP);
+    final List<Block> blocks = blocks(totalBlocks);
+    final long[] subscribed = insert(st, blocks);
+    final List<SubscriptionMetrics> metrics = publisher.getSubscriptionMetrics();
+    publisher.close();
+    Thread.sleep(100);
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Insert latency of ").append(totalBlocks).append(" blocks").append("\n");
+    sb.append(String.format("%-40s%-20s%-20s%-20s", "Subscribers", "p50", "p99", "p999")).append("\n");
+    for (final Object[] row : new Object[][]{{"None", baseline}, {"Fast, conflated and dropped", subscribed}}) {
+      final long[] latencies = (long[]) row[1];
+      sb.append(String.format("%-40s%-20s%-20s%-20s", row[0],
+          latencies[latencies.length / 2] + " ns",
+          latencies[(int) (latencies.length * 0.99)] + " ns",
+          latencies[(int) (latencies.length * 0.999)] + " ns")).append("\n");
+    }
+    sb.append("\n");
+    sb.append(String.format("%-30s%-15s%-15s%-15s%-15s%-20s", "Subscriber", "Published", "Delivered", "Conflated",
+        "Buffered", "State")).append("\n");
+    for (final SubscriptionMetrics m : metrics) {
+      sb.append(String.format("%-30s%-15d%-15d%-15d%-15d%-20s", m.getSubscriberName(), m.getPublishedCount(),
+          m.getDeliveredCount(), m.getConflatedCount(), m.getBufferedCount(),
+          m.isTerminated() ? "terminated" : "active")).append("\n");
+    }
+    sb.append("Dropped subscribers: ").append(publisher.getDroppedCount()).append("\n");
+    for (final PacedSubscriber subscriber : subscribers) {
+      sb.append(String.format("%-30s%-15s%-30s", subscriber, subscriber.receivedCount + " received",
+          subscriber.termination + ", last block id " + subscriber.lastBlockId)).append("\n");
+    }
+    sb.append("Last inserted block id: ").append(blocks.get(blocks.size() - 1).getBlockId()).append("\n");
+    System.out.println(sb.toString());
+  }
+}
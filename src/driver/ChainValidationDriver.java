@@ -0,0 +1,92 @@
+package driver;
+
+import blockchain.block.Block;
+import blockchain.transaction.Transaction;
+import blockchain.validation.BlockValidationResult;
+import blockchain.validation.ChainValidationReport;
+import blockchain.validation.ChainValidator;
+import implementation.linkedlist.LinkedListBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code ChainValidationDriver} class performs time analysis of full and incremental chain validation.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class ChainValidationDriver {
+
+  // Number of transactions per block.
+  private static final int TRANSACTIONS_PER_BLOCK = 16;
+
+  /**
+   * Appends blocks to the chain, linking each block to the hash of the previous block.
+   *
+   * @param ll            linked list block chain.
+   * @param previousBlock last block of the chain or null if the chain is empty.
+   * @param totalBlocks   number of blocks to be appended.
+   *
+   * @return appended blocks in chain order.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static List<Block> appendBlocks(final LinkedListBlockChain ll,
+                                          Block previousBlock,
+                                          final int totalBlocks) throws NoSuchAlgorithmException {
+    final List<Block> blocks = new ArrayList<>(totalBlocks);
+    for (int i = 0; i < totalBlocks; ++i) {
+      final List<Transaction> transactions = new ArrayList<>(TRANSACTIONS_PER_BLOCK);
+      for (int j = 0; j < TRANSACTIONS_PER_BLOCK; ++j) {
+        transactions.add(new Transaction("Transaction " + j + " of block " + i));
+      }
+      final Block block = new Block(System.nanoTime(), previousBlock == null ? null : previousBlock.getBlockHash(), transactions);
+      ll.insert(block);
+      blocks.add(block);
+      previousBlock = block;
+    }
+    return blocks;
+  }
+
+  /**
+   * Formats the validation report.
+   *
+   * @param title  title of the report.
+   * @param report validation report.
+   *
+   * @return formatted validation report.
+   */
+  private static String formatReport(final String title, final ChainValidationReport report) {
+    final StringBuilder sb = new StringBuilder();
+    sb.append(title).append("\n");
+    sb.append(String.format("%-40s%-20s%-20s%-35s", "Block ID", "Height", "Valid", "Validation Time (ns)")).append("\n");
+    final List<BlockValidationResult> results = report.getResults();
+    for (int i = 0; i < Math.min(10, results.size()); ++i) {
+      final BlockValidationResult r = results.get(i);
+      sb.append(String.format("%-40s%-20s%-20s%-35s", r.getBlockId(), r.getHeight(), r.isValid(), r.getValidationTime() + " ns")).append("\n");
+    }
+    if (results.size() > 10) {
+      sb.append("... ").append(results.size() - 10).append(" more blocks").append("\n");
+    }
+    sb.append(String.format("%-40s%-35s", "Blocks validated", results.size())).append("\n");
+    sb.append(String.format("%-40s%-35s", "Chain valid", report.isValid())).append("\n");
+    sb.append(String.format("%-40s%-35s", "Total Validation Time (ns)", report.getElapsedTime() + " ns")).append("\n");
+    sb.append("\n");
+    return sb.toString();
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException {
+    final LinkedListBlockChain ll = new LinkedListBlockChain();
+    final ChainValidator validator = new ChainValidator();
+
+    final List<Block> initialBlocks = appendBlocks(ll, null, 10000);
+    final List<Block> chain = new ArrayList<>();
+    ll.forEach(chain::add);
+    System.out.println(formatReport("Full validation of block chain with 10000 blocks", validator.validate(chain)));
+
+    final List<Block> appendedBlocks = appendBlocks(ll, initialBlocks.get(initialBlocks.size() - 1), 100);
+    System.out.println(formatReport("Incremental validation of 100 appended blocks", validator.validate(appendedBlocks)));
+  }
+}
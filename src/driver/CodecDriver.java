@@ -0,0 +1,181 @@
+package driver;
+
+import blockchain.block.Block;
+import blockchain.codec.BlockCodec;
+import blockchain.codec.BlockFlyweight;
+import blockchain.codec.TransactionFlyweight;
+import blockchain.transaction.Transaction;
+import blockchain.transaction.TransactionArena;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@code CodecDriver} class encodes a stream of blocks with the binary wire format, reads every field back with
+ * the flyweights, checks that each decoded field equals the original one (including absent values) and
+ * measures the encoding and reading throughput.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class CodecDriver {
+
+  /**
+   * Creates the blocks, mixing absent and present optional fields.
+   *
+   * @param totalBlocks          number of blocks.
+   * @param transactionsPerBlock number of transactions per block.
+   *
+   * @return blocks.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static List<Block> blocks(final int totalBlocks, final int transactionsPerBlock)
+      throws NoSuchAlgorithmException {
+    final List<Block> blocks = new ArrayList<>(totalBlocks);
+    String preBlockHash = null;
+    long blockId = 0;
+    for (int i = 0; i < totalBlocks; ++i) {
+      final List<Transaction> transactions;
+      if (i % 10 == 1) {
+        transactions = null;
+      } else {
+        final List<String> contents = new ArrayList<>(transactionsPerBlock);
+        for (int j = 0; j < transactionsPerBlock; ++j) {
+          if (j % 7 == 3) {
+            contents.add(null);
+          } else if (j % 7 == 4) {
+            contents.add("");
+          } else {
+            contents.add("Transfer " + j + " coins to \u00e9t\u00e9-" + i);
+          }
+        }
+        transactions = TransactionArena.of(contents).getTransactions();
+      }
+      blockId = Math.max(System.nanoTime(), blockId + 1);
+      final Block block = new Block(blockId, preBlockHash, transactions);
+      blocks.add(block);
+      preBlockHash = block.getBlockHash();
+    }
+    return blocks;
+  }
+
+  /**
+   * Checks that the flyweight reads exactly the fields of the block.
+   *
+   * @param block       original block.
+   * @param flyweight   flyweight wrapped over the encoded block.
+   * @param transaction transaction flyweight to be reused.
+   *
+   * @throws IllegalStateException if a field differs.
+   */
+  private static void check(final Block block, final BlockFlyweight flyweight, final TransactionFlyweight transaction) {
+    check(block.getBlockId() == flyweight.getBlockId(), block, "block id");
+    check(block.getTimeStamp() == flyweight.getTimeStamp(), block, "timestamp");
+    check(block.getBlockHash().equals(flyweight.getBlockHashHex()), block, "block hash");
+    check(Objects.equals(block.getPreBlockHash(), flyweight.getPreBlockHashHex()), block, "previous block hash");
+    check(Objects.equals(block.getMerkleRoot() == null ? null : block.getMerkleRoot().getHash(),
+        flyweight.getMerkleRootHashHex()), block, "merkle root hash");
+    final List<Transaction> transactions = block.getTransactions();
+    check((transactions != null) == flyweight.hasTransactions(), block, "transaction list presence");
+    check((transactions == null ? 0 : transactions.size()) == flyweight.getTransactionCount(), block,
+        "transaction count");
+    for (int i = 0; i < flyweight.getTransactionCount(); ++i) {
+      final Transaction t = transactions.get(i);
+      flyweight.getTransaction(i, transaction);
+      check(t.getTransactionID().equals(transaction.getTransactionID()), block, "transaction id " + i);
+      check(t.getTimeStamp() == transaction.getTimeStamp(), block, "transaction timestamp " + i);
+      check(Objects.equals(t.getTransactionHash(), transaction.getTransactionHashHex()), block,
+          "transaction hash " + i);
+      check(Objects.equals(t.getTransactionContent(), transaction.getTransactionContent()), block,
+          "transaction content " + i);
+    }
+  }
+
+  /**
+   * Checks a field of the round trip.
+   *
+   * @param equal whether the decoded field equals the original one.
+   * @param block original block.
+   * @param field name of the field.
+   *
+   * @throws IllegalStateException if the field differs.
+   */
+  private static void check(final boolean equal, final Block block, final String field) {
+    if (!equal) {
+      throw new IllegalStateException("Block " + block.getBlockId() + " does not round trip: " + field);
+    }
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+    final int transactionsPerBlock = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+    final List<Block> blocks = blocks(totalBlocks, transactionsPerBlock);
+
+    long startTime = System.nanoTime();
+    int size = 0;
+    for (final Block block : blocks) {
+      size += BlockCodec.encodedSize(block);
+    }
+    final ByteBuffer stream = ByteBuffer.allocateDirect(size);
+    for (final Block block : blocks) {
+      BlockCodec.encode(block, stream);
+    }
+    stream.flip();
+    final long encodeTime = System.nanoTime() - startTime;
+
+    final BlockFlyweight flyweight = new BlockFlyweight();
+    final TransactionFlyweight transaction = new TransactionFlyweight();
+    int offset = 0;
+    for (final Block block : blocks) {
+      flyweight.wrap(stream, offset);
+      check(block, flyweight, transaction);
+      offset += flyweight.getEncodedLength();
+    }
+    if (offset != stream.limit()) {
+      throw new IllegalStateException("Stream has " + (stream.limit() - offset) + " trailing bytes");
+    }
+
+    startTime = System.nanoTime();
+    long checksum = 0;
+    offset = 0;
+    while (offset < stream.limit()) {
+      flyweight.wrap(stream, offset);
+      checksum += flyweight.getBlockId() ^ flyweight.getBlockHashPrefix();
+      for (int i = 0; i < flyweight.getTransactionCount(); ++i) {
+        checksum += flyweight.getTransaction(i, transaction).getTimeStamp();
+      }
+      offset += flyweight.getEncodedLength();
+    }
+    final long readTime = System.nanoTime() - startTime;
+
+    // A corrupted transaction offset must be rejected instead of reading outside the block.
+    final ByteBuffer corrupted = BlockCodec.encode(blocks.get(0));
+    final byte[] bytes = new byte[corrupted.remaining()];
+    corrupted.get(bytes);
+    final ByteBuffer copy = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length));
+    // The first transaction offset follows the fixed 124-byte block header.
+    copy.putInt(124, bytes.length);
+    boolean rejected = false;
+    try {
+      new BlockFlyweight().wrap(copy, 0).getTransaction(0, transaction);
+    } catch (final IllegalArgumentException e) {
+      rejected = true;
+    }
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Round trip of ").append(totalBlocks).append(" blocks with ").append(transactionsPerBlock)
+        .append(" transactions per block: all fields equal").append("\n");
+    sb.append(String.format("%-40s%-20s", "Encoded size (bytes)", size)).append("\n");
+    sb.append(String.format("%-40s%-20s", "Encode time per block (ns)", encodeTime / totalBlocks)).append("\n");
+    sb.append(String.format("%-40s%-20s", "Flyweight scan time per block (ns)", readTime / totalBlocks))
+        .append("\n");
+    sb.append(String.format("%-40s%-20s", "Corrupted offset rejected", rejected)).append("\n");
+    sb.append(String.format("%-40s%-20s", "Checksum", checksum)).append("\n");
+    System.out.println(sb.toString());
+  }
+}
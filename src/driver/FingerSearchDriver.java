@@ -0,0 +1,112 @@
+package driver;
+
+import blockchain.block.Block;
+import implementation.linkedlist.LinkedListBlockChain;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+/**
+ * {@code FingerSearchDriver} class compares the search time of the splay tree and the linked list searched from
+ * the root (oldest block) with their finger search under recent-biased, sequential and uniform searches.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class FingerSearchDriver {
+
+  // Number of searches per workload on the splay tree.
+  private static final int SEARCHES = 200000;
+
+  // Number of searches per workload on the linked list (a search from the oldest block costs O(n)).
+  private static final int LIST_SEARCHES = 2000;
+
+  // Mean distance from the newest block of the recent-biased searches.
+  private static final double MEAN_RECENT_DISTANCE = 64;
+
+  /**
+   * Creates the searched block ids of a workload.
+   *
+   * @param blockIds block ids in the chain (ascending).
+   * @param workload workload name.
+   * @param random   random number generator.
+   *
+   * @return searched block ids.
+   */
+  private static long[] searches(final long[] blockIds, final String workload, final Random random) {
+    final int n = blockIds.length;
+    final long[] searches = new long[SEARCHES];
+    for (int i = 0; i < SEARCHES; ++i) {
+      switch (workload) {
+        case "Recent-biased" -> {
+          // Exponentially distributed distance from the newest block.
+          final int distance = (int) (-MEAN_RECENT_DISTANCE * Math.log(1 - random.nextDouble()));
+          searches[i] = blockIds[n - 1 - Math.min(n - 1, distance)];
+        }
+        case "Sequential (oldest first)" -> searches[i] = blockIds[i % n];
+        case "Sequential (newest first)" -> searches[i] = blockIds[n - 1 - i % n];
+        default -> searches[i] = blockIds[random.nextInt(n)];
+      }
+    }
+    return searches;
+  }
+
+  /**
+   * Measures the average search time.
+   *
+   * @param search   search function.
+   * @param searches searched block ids.
+   * @param count    number of searches to be performed.
+   *
+   * @return average search time in ns.
+   */
+  private static long measure(final LongFunction<Block> search, final long[] searches, final int count) {
+    final long startTime = System.nanoTime();
+    for (int i = 0; i < count; ++i) {
+      if (search.apply(searches[i]) == null) {
+        throw new IllegalStateException("Block " + searches[i] + " not found.");
+      }
+    }
+    return (System.nanoTime() - startTime) / count;
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+    final long[] blockIds = new long[totalBlocks];
+    long previous = 0;
+    for (int i = 0; i < totalBlocks; ++i) {
+      previous = Math.max(System.nanoTime(), previous + 1);
+      blockIds[i] = previous;
+    }
+    final Random random = new Random(6057);
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Average search time (ns) on ").append(totalBlocks).append(" blocks").append("\n");
+    sb.append(String.format("%-30s%-20s%-20s%-20s%-20s", "Workload", "Splay search", "Splay finger",
+        "List search", "List finger")).append("\n");
+    for (final String workload : new String[]{"Recent-biased", "Sequential (oldest first)",
+        "Sequential (newest first)", "Uniform"}) {
+      final long[] searches = searches(blockIds, workload, random);
+      final SplayTreeBlockChain st = new SplayTreeBlockChain();
+      final SplayTreeBlockChain fst = new SplayTreeBlockChain();
+      final LinkedListBlockChain ll = new LinkedListBlockChain();
+      final LinkedListBlockChain fll = new LinkedListBlockChain();
+      for (final long blockId : blockIds) {
+        st.insert(new Block(blockId, null, null));
+        fst.insert(new Block(blockId, null, null));
+        ll.insert(new Block(blockId, null, null));
+        fll.insert(new Block(blockId, null, null));
+      }
+      final int listSearches = Math.min(LIST_SEARCHES, searches.length);
+      sb.append(String.format("%-30s%-20s%-20s%-20s%-20s", workload,
+          measure(st::search, searches, searches.length),
+          measure(fst::fingerSearch, searches, searches.length),
+          measure(ll::search, searches, listSearches),
+          measure(fll::fingerSearch, searches, "Uniform".equals(workload) ? listSearches : searches.length)))
+          .append("\n");
+    }
+    System.out.println(sb.toString());
+  }
+}
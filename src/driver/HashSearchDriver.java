@@ -0,0 +1,96 @@
+package driver;
+
+import blockchain.block.Block;
+import implementation.linkedlist.LinkedListBlockChain;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * {@code HashSearchDriver} class performs time analysis of searching blocks by block hash using the block hash
+ * index against a full traversal comparing block hash strings.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class HashSearchDriver {
+
+  // Number of block hashes searched per chain.
+  private static final int TOTAL_SEARCHES = 5;
+
+  /**
+   * Searches the block by block hash with a full traversal of the chain.
+   *
+   * @param ll        linked list block chain.
+   * @param blockHash block hash to be searched.
+   *
+   * @return block found.
+   */
+  private static Block traverse(final LinkedListBlockChain ll, final String blockHash) {
+    for (final Block block : ll) {
+      if (block.getBlockHash().equals(blockHash)) {
+        return block;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Block chain with the given number of blocks.
+   *
+   * @param totalBlocks number of blocks.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static void blockChain(final int totalBlocks) throws NoSuchAlgorithmException {
+    final LinkedListBlockChain ll = new LinkedListBlockChain();
+    final SplayTreeBlockChain st = new SplayTreeBlockChain();
+    final List<String> blockHashes = new ArrayList<>(totalBlocks);
+    for (int i = 0; i < totalBlocks; ++i) {
+      final long blockID = System.nanoTime();
+      final Block llBlock = new Block(blockID, null, null);
+      ll.insert(llBlock);
+      st.insert(new Block(blockID, null, null));
+      blockHashes.add(llBlock.getBlockHash());
+    }
+
+    final Random random = new Random(totalBlocks);
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Block chain with ").append(totalBlocks).append(" blocks").append("\n");
+    sb.append(String.format("%-70s%-35s%-35s%-35s", "Block Hash", "Traversal Search Time (ns)", "Linked List Index Time (ns)", "Splay Tree Index Time (ns)")).append("\n");
+    for (int i = 0; i < TOTAL_SEARCHES; ++i) {
+      final String blockHash = blockHashes.get(random.nextInt(totalBlocks));
+
+      // Full traversal
+      final long startTimeTR = System.nanoTime();
+      traverse(ll, blockHash);
+      final long endTimeTR = System.nanoTime();
+      final String searchTimeTR = (endTimeTR - startTimeTR) + " ns";
+
+      // Linked List index
+      final long startTimeLL = System.nanoTime();
+      ll.searchByHash(blockHash);
+      final long endTimeLL = System.nanoTime();
+      final String searchTimeLL = (endTimeLL - startTimeLL) + " ns";
+
+      // Splay Tree index
+      final long startTimeST = System.nanoTime();
+      st.searchByHash(blockHash);
+      final long endTimeST = System.nanoTime();
+      final String searchTimeST = (endTimeST - startTimeST) + " ns";
+      sb.append(String.format("%-70s%-35s%-35s%-35s", blockHash, searchTimeTR, searchTimeLL, searchTimeST)).append("\n");
+    }
+    sb.append("\n");
+    System.out.println(sb.toString());
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException {
+    blockChain(100);
+    blockChain(1000);
+    blockChain(10000);
+    blockChain(100000);
+  }
+}
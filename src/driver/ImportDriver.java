@@ -0,0 +1,83 @@
+package driver;
+
+import blockchain.block.Block;
+import blockchain.transaction.Transaction;
+import blockchain.transaction.TransactionArena;
+import blockchain.util.HashAlgorithmUtil;
+import implementation.importer.BlockImportPipeline;
+import implementation.importer.BlockImportRecord;
+import implementation.importer.ImportStatistics;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code ImportDriver} class performs throughput analysis of importing a historical chain one block at a time
+ * against the parallel bulk import pipeline.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class ImportDriver {
+
+  // Number of transactions per block.
+  private static final int TRANSACTIONS_PER_BLOCK = 8;
+
+  /**
+   * Creates the records of a historical chain.
+   *
+   * @param totalBlocks number of blocks.
+   *
+   * @return records in chain order.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static List<BlockImportRecord> historicalChain(final int totalBlocks) throws NoSuchAlgorithmException {
+    final List<BlockImportRecord> records = new ArrayList<>(totalBlocks);
+    String preBlockHash = null;
+    for (int i = 0; i < totalBlocks; ++i) {
+      final long blockId = System.nanoTime();
+      final List<String> contents = new ArrayList<>(TRANSACTIONS_PER_BLOCK);
+      for (int j = 0; j < TRANSACTIONS_PER_BLOCK; ++j) {
+        contents.add("Transaction " + j + " of block " + i);
+      }
+      records.add(new BlockImportRecord(blockId, preBlockHash, contents));
+      preBlockHash = HashAlgorithmUtil.getSHA256Hash(String.valueOf(blockId));
+    }
+    return records;
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException, InterruptedException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+    final List<BlockImportRecord> records = historicalChain(totalBlocks);
+
+    // One block at a time
+    final SplayTreeBlockChain sequential = new SplayTreeBlockChain();
+    final long startTime = System.nanoTime();
+    for (final BlockImportRecord record : records) {
+      final List<Transaction> transactions = TransactionArena.of(record.getTransactionContents()).getTransactions();
+      sequential.insert(new Block(record.getBlockId(), record.getPreBlockHash(), transactions));
+    }
+    final long endTime = System.nanoTime();
+    final double sequentialThroughput = totalBlocks / ((endTime - startTime) / 1e9);
+
+    // Pipeline
+    final SplayTreeBlockChain st = new SplayTreeBlockChain();
+    final ImportStatistics stats = new BlockImportPipeline().run(records.iterator(), st::insert);
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Import of ").append(totalBlocks).append(" blocks with ").append(TRANSACTIONS_PER_BLOCK)
+        .append(" transactions each").append("\n");
+    sb.append(String.format("%-40s%-35.0f", "Sequential (blocks/s)", sequentialThroughput)).append("\n");
+    sb.append(String.format("%-40s%-35.0f", "Pipeline (blocks/s)", stats.getThroughput())).append("\n");
+    sb.append(String.format("%-40s%-35.0f", "Read stage (blocks/s)", stats.getReadThroughput())).append("\n");
+    sb.append(String.format("%-40s%-35.0f", "Construct stage (blocks/s)", stats.getConstructThroughput())).append("\n");
+    sb.append(String.format("%-40s%-35.0f", "Insert stage (blocks/s)", stats.getInsertThroughput())).append("\n");
+    sb.append(String.format("%-40s%-35s", "Read stall (backpressure) (ns)", stats.getReadStallTime() + " ns")).append("\n");
+    sb.append(String.format("%-40s%-35s", "Insert stall (reorder) (ns)", stats.getInsertStallTime() + " ns")).append("\n");
+    sb.append("\n");
+    System.out.println(sb.toString());
+  }
+}
@@ -0,0 +1,180 @@
+package driver;
+
+import blockchain.block.Block;
+import blockchain.merkletree.MerkleNode;
+import blockchain.transaction.Transaction;
+import blockchain.transaction.TransactionArena;
+import driver.util.AllocationMeter;
+import driver.util.ObjectSizeEstimator;
+import implementation.linkedlist.LinkedListBlockChain;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * {@code MemoryProfileDriver} class profiles the memory footprint and the allocations of the chains.
+ * <p>
+ * Every result is printed as one JSON object per line so that runs of different versions can be compared with
+ * standard tools. Retained sizes are estimated from the object layout (see {@link ObjectSizeEstimator}); run
+ * with {@code --add-opens java.base/java.lang=ALL-UNNAMED --add-opens java.base/java.util=ALL-UNNAMED} to
+ * measure JDK classes exactly.
+ * <p>
+ * Usage: {@code MemoryProfileDriver [blocks] [transactionsPerBlock] [searches]}
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class MemoryProfileDriver {
+
+  // Version of the output format.
+  private static final int FORMAT_VERSION = 1;
+
+  /**
+   * Creates the blocks.
+   *
+   * @param totalBlocks          number of blocks.
+   * @param transactionsPerBlock number of transactions per block.
+   *
+   * @return blocks in chain order.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static List<Block> blocks(final int totalBlocks,
+                                    final int transactionsPerBlock) throws NoSuchAlgorithmException {
+    final List<Block> blocks = new ArrayList<>(totalBlocks);
+    String preBlockHash = null;
+    for (int i = 0; i < totalBlocks; ++i) {
+      final List<String> contents = new ArrayList<>(transactionsPerBlock);
+      for (int j = 0; j < transactionsPerBlock; ++j) {
+        contents.add("Transaction " + j + " of block " + i);
+      }
+      final Block block = new Block(System.nanoTime(), preBlockHash, TransactionArena.of(contents).getTransactions());
+      blocks.add(block);
+      preBlockHash = block.getBlockHash();
+    }
+    return blocks;
+  }
+
+  /**
+   * Classifies the objects of a chain into the block, transaction, transaction arena and merkle node components.
+   *
+   * @param object object.
+   *
+   * @return component or null to inherit the component of the referrer.
+   */
+  private static String component(final Object object) {
+    if (object instanceof Block) {
+      return "Block";
+    } else if (object instanceof Transaction) {
+      return "Transaction";
+    } else if (object instanceof TransactionArena) {
+      return "TransactionArena";
+    } else if (object instanceof MerkleNode) {
+      return "MerkleNode";
+    }
+    return null;
+  }
+
+  /**
+   * Profiles a chain.
+   *
+   * @param chainName            name of the chain.
+   * @param chain                chain.
+   * @param insert               insert function of the chain.
+   * @param search               search function of the chain.
+   * @param totalBlocks          number of blocks.
+   * @param transactionsPerBlock number of transactions per block.
+   * @param searches             number of searches.
+   * @param estimator            size estimator.
+   * @param out                  output lines.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static void profile(final String chainName,
+                              final Object chain,
+                              final Consumer<Block> insert,
+                              final LongFunction<Block> search,
+                              final int totalBlocks,
+                              final int transactionsPerBlock,
+                              final int searches,
+                              final ObjectSizeEstimator estimator,
+                              final StringBuilder out) throws NoSuchAlgorithmException {
+    final String prefix = String.format(Locale.ROOT,
+        "{\"format\":%d,\"chain\":\"%s\",\"blocks\":%d,\"transactionsPerBlock\":%d,",
+        FORMAT_VERSION, chainName, totalBlocks, transactionsPerBlock);
+
+    AllocationMeter meter = AllocationMeter.start();
+    final List<Block> blocks = blocks(totalBlocks, transactionsPerBlock);
+    operation(out, prefix, "create", totalBlocks, meter);
+
+    meter = AllocationMeter.start();
+    for (final Block block : blocks) {
+      insert.accept(block);
+    }
+    operation(out, prefix, "insert", totalBlocks, meter);
+
+    final Random random = new Random(42);
+    meter = AllocationMeter.start();
+    for (int i = 0; i < searches; ++i) {
+      search.apply(blocks.get(random.nextInt(totalBlocks)).getBlockId());
+    }
+    operation(out, prefix, "search", searches, meter);
+
+    final Map<String, ObjectSizeEstimator.ComponentSize> components =
+        estimator.estimate(chain, MemoryProfileDriver::component, "Chain");
+    long totalBytes = 0;
+    for (final Map.Entry<String, ObjectSizeEstimator.ComponentSize> entry : components.entrySet()) {
+      final ObjectSizeEstimator.ComponentSize size = entry.getValue();
+      totalBytes += size.getBytes();
+      out.append(prefix).append(String.format(Locale.ROOT,
+          "\"metric\":\"retained\",\"component\":\"%s\",\"instances\":%d,\"bytes\":%d,\"bytesPerInstance\":%.1f}",
+          entry.getKey(), size.getInstances(), size.getBytes(),
+          size.getInstances() == 0 ? 0.0 : (double) size.getBytes() / size.getInstances())).append("\n");
+    }
+    out.append(prefix).append(String.format(Locale.ROOT,
+        "\"metric\":\"retained\",\"component\":\"Total\",\"bytes\":%d,\"bytesPerBlock\":%.1f}",
+        totalBytes, (double) totalBytes / totalBlocks)).append("\n");
+  }
+
+  /**
+   * Appends the allocation and garbage collection line of an operation.
+   *
+   * @param out        output lines.
+   * @param prefix     common fields of the line.
+   * @param operation  name of the operation.
+   * @param operations number of operations.
+   * @param meter      meter started before the operations.
+   */
+  private static void operation(final StringBuilder out,
+                                final String prefix,
+                                final String operation,
+                                final int operations,
+                                final AllocationMeter meter) {
+    out.append(prefix).append(String.format(Locale.ROOT,
+        "\"metric\":\"allocation\",\"operation\":\"%s\",\"operations\":%d,\"bytes\":%d,\"bytesPerOperation\":%.1f,"
+            + "\"gcCount\":%d,\"gcTimeMs\":%d}",
+        operation, operations, meter.getAllocatedBytes(), (double) meter.getAllocatedBytes() / operations,
+        meter.getCollectionCount(), meter.getCollectionTime())).append("\n");
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    final int transactionsPerBlock = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    final int searches = args.length > 2 ? Integer.parseInt(args[2]) : 100000;
+    final ObjectSizeEstimator estimator = new ObjectSizeEstimator();
+    final StringBuilder out = new StringBuilder();
+
+    final SplayTreeBlockChain st = new SplayTreeBlockChain();
+    profile("SplayTree", st, st::insert, st::search, totalBlocks, transactionsPerBlock, searches, estimator, out);
+    final LinkedListBlockChain ll = new LinkedListBlockChain();
+    profile("LinkedList", ll, ll::insert, ll::search, totalBlocks, transactionsPerBlock, searches, estimator, out);
+    System.out.print(out);
+  }
+}
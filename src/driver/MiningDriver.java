@@ -0,0 +1,41 @@
+package driver;
+
+import blockchain.block.Block;
+import blockchain.block.BlockHeader;
+import blockchain.mining.MiningJob;
+import blockchain.mining.MiningResult;
+import blockchain.mining.ProofOfWorkMiner;
+
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * {@code MiningDriver} class performs hash rate analysis of the proof of work miner with an increasing number of
+ * worker threads.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class MiningDriver {
+
+  public static void main(String[] args) throws NoSuchAlgorithmException, InterruptedException {
+    final int difficultyBits = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+    final int cores = Runtime.getRuntime().availableProcessors();
+    final Block block = new Block(System.nanoTime(), null, null);
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Proof of work with ").append(difficultyBits).append(" difficulty bits").append("\n");
+    sb.append(String.format("%-12s%-22s%-70s%-25s%-25s", "Workers", "Nonce", "Header Hash", "Total (hashes/s)", "Per Core (hashes/s)")).append("\n");
+    for (int workers = 1; workers <= cores; workers = (workers == cores) ? workers + 1 : Math.min(cores, workers * 2)) {
+      final MiningJob job = new ProofOfWorkMiner(workers).mine(BlockHeader.of(block, BlockHeader.targetOf(difficultyBits)));
+      final MiningResult result = job.await();
+      double total = 0;
+      for (final double rate : job.getHashRates()) {
+        total += rate;
+      }
+      sb.append(String.format("%-12s%-22s%-70s%-25.0f%-25.0f", workers,
+          Long.toUnsignedString(result.getHeader().getNonce()), result.getHeaderHash(), total, total / workers)).append("\n");
+    }
+    sb.append("\n");
+    System.out.println(sb.toString());
+  }
+}
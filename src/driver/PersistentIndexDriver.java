@@ -0,0 +1,185 @@
+package driver;
+
+import blockchain.block.Block;
+import implementation.persistent.BlockIndexSnapshot;
+import implementation.persistent.PersistentBlockIndex;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.LongFunction;
+
+/**
+ * {@code PersistentIndexDriver} class performs throughput analysis of the locked splay tree and the persistent
+ * index under a mixed load of searches, inserts and full scans.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class PersistentIndexDriver {
+
+  // Duration of each measurement in milliseconds.
+  private static final long MEASUREMENT_TIME_MS = 2000;
+
+  /**
+   * Measures a mixed load of one inserting thread, one scanning thread and searching threads.
+   *
+   * @param search       search function.
+   * @param insert       insert function.
+   * @param scan         full scan function returning the number of blocks scanned.
+   * @param blockIds     block ids to be searched.
+   * @param insertBlocks blocks to be inserted.
+   * @param searchers    number of searching threads.
+   *
+   * @return searches per second, inserts per second, scans per second and maximum insert latency in ns.
+   *
+   * @throws InterruptedException if interrupted while waiting for the threads.
+   */
+  private static long[] measure(final LongFunction<Block> search,
+                                final Consumer<Block> insert,
+                                final IntSupplier scan,
+                                final long[] blockIds,
+                                final List<Block> insertBlocks,
+                                final int searchers) throws InterruptedException {
+    final AtomicLong totalSearches = new AtomicLong();
+    final AtomicLong totalInserts = new AtomicLong();
+    final AtomicLong totalScans = new AtomicLong();
+    final AtomicLong maxInsertLatency = new AtomicLong();
+    final CountDownLatch done = new CountDownLatch(searchers + 2);
+    final long endTime = System.nanoTime() + MEASUREMENT_TIME_MS * 1_000_000L;
+    final List<Runnable> workers = new ArrayList<>();
+    workers.add(() -> {
+      int inserts = 0;
+      long maxLatency = 0;
+      while (System.nanoTime() < endTime && inserts < insertBlocks.size()) {
+        final long startTime = System.nanoTime();
+        insert.accept(insertBlocks.get(inserts++));
+        maxLatency = Math.max(maxLatency, System.nanoTime() - startTime);
+      }
+      totalInserts.set(inserts);
+      maxInsertLatency.set(maxLatency);
+    });
+    workers.add(() -> {
+      long scans = 0;
+      while (System.nanoTime() < endTime) {
+        scan.getAsInt();
+        ++scans;
+      }
+      totalScans.set(scans);
+    });
+    for (int t = 0; t < searchers; ++t) {
+      workers.add(() -> {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long searches = 0;
+        while (System.nanoTime() < endTime) {
+          for (int i = 0; i < 256; ++i) {
+            search.apply(blockIds[random.nextInt(blockIds.length)]);
+          }
+          searches += 256;
+        }
+        totalSearches.addAndGet(searches);
+      });
+    }
+    for (final Runnable worker : workers) {
+      new Thread(() -> {
+        try {
+          worker.run();
+        } finally {
+          done.countDown();
+        }
+      }).start();
+    }
+    done.await();
+    return new long[]{
+        totalSearches.get() * 1000 / MEASUREMENT_TIME_MS,
+        totalInserts.get() * 1000 / MEASUREMENT_TIME_MS,
+        totalScans.get() * 1000 / MEASUREMENT_TIME_MS,
+        maxInsertLatency.get()};
+  }
+
+  /**
+   * Creates the blocks.
+   *
+   * @param blockIds block ids of the blocks.
+   *
+   * @return blocks.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static List<Block> blocks(final long[] blockIds) throws NoSuchAlgorithmException {
+    final List<Block> blocks = new ArrayList<>(blockIds.length);
+    for (final long blockId : blockIds) {
+      blocks.add(new Block(blockId, null, null));
+    }
+    return blocks;
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException, InterruptedException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    final int cores = Runtime.getRuntime().availableProcessors();
+    final long[] blockIds = new long[totalBlocks];
+    final long[] insertBlockIds = new long[totalBlocks];
+    for (int i = 0; i < totalBlocks; ++i) {
+      blockIds[i] = System.nanoTime();
+    }
+    for (int i = 0; i < totalBlocks; ++i) {
+      insertBlockIds[i] = System.nanoTime();
+    }
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Mixed load on ").append(totalBlocks).append(" blocks: 1 inserting thread, 1 scanning thread")
+        .append("\n");
+    sb.append(String.format("%-25s%-15s%-20s%-20s%-15s%-25s", "Index", "Searchers", "Searches/s", "Inserts/s",
+        "Scans/s", "Max insert latency")).append("\n");
+    for (int searchers = 1; searchers <= Math.max(2, cores); searchers *= 2) {
+      final SplayTreeBlockChain st = new SplayTreeBlockChain();
+      for (final Block block : blocks(blockIds)) {
+        st.insert(block);
+      }
+      final long[] locked = measure(blockId -> {
+        synchronized (st) {
+          return st.search(blockId);
+        }
+      }, block -> {
+        synchronized (st) {
+          st.insert(block);
+        }
+      }, () -> {
+        synchronized (st) {
+          int count = 0;
+          for (final Block ignored : st) {
+            ++count;
+          }
+          return count;
+        }
+      }, blockIds, blocks(insertBlockIds), searchers);
+
+      final PersistentBlockIndex pi = new PersistentBlockIndex();
+      for (final Block block : blocks(blockIds)) {
+        pi.insert(block);
+      }
+      final long[] persistent = measure(pi::search, pi::insert, () -> {
+        final BlockIndexSnapshot snapshot = pi.snapshot();
+        int count = 0;
+        for (final Block ignored : snapshot) {
+          ++count;
+        }
+        return count;
+      }, blockIds, blocks(insertBlockIds), searchers);
+
+      for (final Object[] row : new Object[][]{{"Locked Splay Tree", locked}, {"Persistent AVL Tree", persistent}}) {
+        final long[] result = (long[]) row[1];
+        sb.append(String.format("%-25s%-15s%-20s%-20s%-15s%-25s", row[0], searchers, result[0], result[1],
+            result[2], result[3] + " ns")).append("\n");
+      }
+    }
+    sb.append("\n");
+    System.out.println(sb.toString());
+  }
+}
@@ -0,0 +1,72 @@
+package driver;
+
+import blockchain.block.Block;
+import blockchain.transaction.Transaction;
+import server.BlockQueryServer;
+import server.LatencyReport;
+import server.LoadGenerator;
+
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code QueryServerDriver} class performs latency analysis of the block query server with closed and open
+ * loop load.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class QueryServerDriver {
+
+  // Duration of each load test in milliseconds.
+  private static final long DURATION_MS = 5000;
+
+  /**
+   * Formats a row of the latency table.
+   *
+   * @param load   description of the load.
+   * @param report latency report.
+   *
+   * @return formatted row.
+   */
+  private static String row(final String load, final LatencyReport report) {
+    return String.format("%-30s%-20.0f%-20s%-20s%-20s%-20s", load, report.getThroughput(),
+        report.getP50() / 1000 + " us", report.getP99() / 1000 + " us",
+        report.getP999() / 1000 + " us", report.getMax() / 1000 + " us");
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException, IOException, InterruptedException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    final List<String> requests = new ArrayList<>();
+    try (BlockQueryServer server = new BlockQueryServer()) {
+      String preBlockHash = null;
+      for (int i = 0; i < totalBlocks; ++i) {
+        final List<Transaction> transactions = new ArrayList<>();
+        transactions.add(new Transaction("Transaction of block " + i));
+        final Block block = new Block(System.nanoTime(), preBlockHash, transactions);
+        server.insert(block);
+        preBlockHash = block.getBlockHash();
+        requests.add("ID " + block.getBlockId());
+        requests.add("HASH " + block.getBlockHash());
+        requests.add("TX " + transactions.get(0).getTransactionID());
+      }
+      final int port = server.start(0);
+      final LoadGenerator generator = new LoadGenerator(port, requests);
+
+      final StringBuilder sb = new StringBuilder();
+      sb.append("Block query server with ").append(totalBlocks).append(" blocks").append("\n");
+      sb.append(String.format("%-30s%-20s%-20s%-20s%-20s%-20s", "Load", "Requests/s", "p50", "p99", "p999", "max")).append("\n");
+      generator.runClosedLoop(4, 1000); // Warm up.
+      for (final int connections : new int[]{1, 4, 16}) {
+        sb.append(row("Closed loop, " + connections + " connections", generator.runClosedLoop(connections, DURATION_MS))).append("\n");
+      }
+      for (final int rate : new int[]{1000, 10000, 50000}) {
+        sb.append(row("Open loop, " + rate + " requests/s", generator.runOpenLoop(4, rate, DURATION_MS))).append("\n");
+      }
+      sb.append("\n");
+      System.out.println(sb.toString());
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package driver;
+
+import blockchain.block.Block;
+import implementation.sealed.SealedBlockIndex;
+import implementation.sealed.TieredBlockChain;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+/**
+ * {@code SealedIndexDriver} class performs search time analysis of the splay tree, the sealed Eytzinger index
+ * and the tiered chain for uniform and cold searches.
+ * <p>
+ * The default of 10M blocks needs a heap of about 4 GB ({@code -Xmx4g}).
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class SealedIndexDriver {
+
+  // Number of searches per uniform measurement.
+  private static final int SEARCHES = 2_000_000;
+
+  // Number of searches per cold measurement.
+  private static final int COLD_SEARCHES = 32_768;
+
+  // Number of searches between two cache flushes of the cold measurement.
+  private static final int COLD_BATCH = 32;
+
+  // Buffer swept to flush the CPU caches (larger than the last level cache).
+  private static final long[] FLUSH_BUFFER = new long[8 << 20];
+
+  // Number of recent blocks at which the tiered chain seals them.
+  private static final int SEAL_THRESHOLD = 1 << 18;
+
+  // Sink for the searched blocks so that the searches are not optimized away.
+  private static long sink;
+
+  /**
+   * Creates strictly ascending block ids.
+   *
+   * @param totalBlocks number of block ids.
+   *
+   * @return block ids.
+   */
+  private static long[] blockIds(final int totalBlocks) {
+    final long[] blockIds = new long[totalBlocks];
+    long previous = Long.MIN_VALUE;
+    for (int i = 0; i < totalBlocks; ++i) {
+      previous = Math.max(System.nanoTime(), previous + 1);
+      blockIds[i] = previous;
+    }
+    return blockIds;
+  }
+
+  /**
+   * Measures the average search time of uniformly random block ids.
+   *
+   * @param search   search function.
+   * @param blockIds block ids to be searched.
+   * @param cold     whether the CPU caches are flushed before every batch of searches.
+   *
+   * @return average search time in ns.
+   */
+  private static long measure(final LongFunction<Block> search, final long[] blockIds, final boolean cold) {
+    final Random random = new Random(42);
+    final int searches = cold ? COLD_SEARCHES : SEARCHES;
+    long time = 0;
+    for (int i = 0; i < searches; i += COLD_BATCH) {
+      if (cold) {
+        for (int j = 0; j < FLUSH_BUFFER.length; j += 8) {
+          ++FLUSH_BUFFER[j];
+        }
+      }
+      final long startTime = System.nanoTime();
+      for (int j = 0; j < COLD_BATCH; ++j) {
+        final Block block = search.apply(blockIds[random.nextInt(blockIds.length)]);
+        sink += block.getBlockId();
+      }
+      time += System.nanoTime() - startTime;
+    }
+    return time / searches;
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException, InterruptedException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+    final long[] blockIds = blockIds(totalBlocks);
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Average search time with ").append(totalBlocks).append(" blocks").append("\n");
+    sb.append(String.format("%-50s%-25s%-25s", "Index", "Uniform (ns)", "Cold (ns)")).append("\n");
+    {
+      final Block[] blocks = new Block[totalBlocks];
+      final SplayTreeBlockChain st = new SplayTreeBlockChain();
+      for (int i = 0; i < totalBlocks; ++i) {
+        blocks[i] = new Block(blockIds[i], null, null);
+        st.insert(blocks[i]);
+      }
+      // Spread the initial path the ascending inserts leave behind.
+      measure(st::search, blockIds, false);
+      sb.append(String.format("%-50s%-25s%-25s", "Splay Tree", measure(st::search, blockIds, false),
+          measure(st::search, blockIds, true))).append("\n");
+
+      // The sealed index does not use the block links, so it can share the blocks with the splay tree.
+      final long startTime = System.nanoTime();
+      final SealedBlockIndex sealed = SealedBlockIndex.of(blocks);
+      final long buildTime = System.nanoTime() - startTime;
+      measure(sealed::search, blockIds, false);
+      sb.append(String.format("%-50s%-25s%-25s", "Sealed Eytzinger Index", measure(sealed::search, blockIds, false),
+          measure(sealed::search, blockIds, true))).append("\n");
+      sb.append(String.format("%-50s%-25s", "Sealed index build time", buildTime + " ns")).append("\n");
+    }
+    {
+      try (TieredBlockChain tiered = new TieredBlockChain(SEAL_THRESHOLD)) {
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < totalBlocks; ++i) {
+          tiered.insert(new Block(blockIds[i], null, null));
+        }
+        final long insertTime = System.nanoTime() - startTime;
+        tiered.awaitSealed();
+        measure(tiered::search, blockIds, false);
+        sb.append(String.format("%-50s%-25s%-25s", "Tiered Chain (" + tiered.getSegmentCount() + " segments, "
+            + (totalBlocks - tiered.sealedSize()) + " recent)", measure(tiered::search, blockIds, false),
+            measure(tiered::search, blockIds, true))).append("\n");
+        sb.append(String.format("%-50s%-25s", "Tiered chain insert time (incl. hashing)", insertTime + " ns")).append("\n");
+      }
+    }
+    sb.append("\n");
+    System.out.println(sb.toString());
+  }
+}
@@ -0,0 +1,97 @@
+package driver;
+
+import blockchain.block.Block;
+import implementation.shardedsplaytree.ShardedSplayTreeBlockChain;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * {@code ShardedSplayTreeDriver} class performs search throughput analysis of a single locked splay tree and
+ * the range sharded splay forest with an increasing number of threads.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class ShardedSplayTreeDriver {
+
+  // Duration of each measurement in milliseconds.
+  private static final long MEASUREMENT_TIME_MS = 1000;
+
+  /**
+   * Measures the search throughput of a search function.
+   *
+   * @param search   search function.
+   * @param blockIds block ids to be searched.
+   * @param threads  number of searching threads.
+   *
+   * @return searches per second.
+   *
+   * @throws InterruptedException if interrupted while waiting for the searching threads.
+   */
+  private static long measure(final LongFunction<Block> search,
+                              final long[] blockIds,
+                              final int threads) throws InterruptedException {
+    final AtomicLong totalSearches = new AtomicLong();
+    final CountDownLatch done = new CountDownLatch(threads);
+    final long endTime = System.nanoTime() + MEASUREMENT_TIME_MS * 1_000_000L;
+    for (int t = 0; t < threads; ++t) {
+      new Thread(() -> {
+        try {
+          final ThreadLocalRandom random = ThreadLocalRandom.current();
+          long searches = 0;
+          while (System.nanoTime() < endTime) {
+            for (int i = 0; i < 256; ++i) {
+              search.apply(blockIds[random.nextInt(blockIds.length)]);
+            }
+            searches += 256;
+          }
+          totalSearches.addAndGet(searches);
+        } finally {
+          done.countDown();
+        }
+      }).start();
+    }
+    done.await();
+    return totalSearches.get() * 1000 / MEASUREMENT_TIME_MS;
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException, InterruptedException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+    final int cores = Runtime.getRuntime().availableProcessors();
+
+    final SplayTreeBlockChain st = new SplayTreeBlockChain();
+    final ShardedSplayTreeBlockChain sst = new ShardedSplayTreeBlockChain(cores);
+    final long[] blockIds = new long[totalBlocks];
+    for (int i = 0; i < totalBlocks; ++i) {
+      blockIds[i] = System.nanoTime();
+      st.insert(new Block(blockIds[i], null, null));
+      sst.insert(new Block(blockIds[i], null, null));
+    }
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Search throughput with ").append(totalBlocks).append(" blocks and ")
+        .append(sst.getShardLowerBounds().length).append(" shards").append("\n");
+    sb.append(String.format("%-20s%-35s%-35s%-20s", "Threads", "Locked Splay Tree (searches/s)", "Sharded Splay Tree (searches/s)", "Speedup")).append("\n");
+    long shardedBaseline = 0;
+    for (int threads = 1; threads <= cores; threads = (threads == cores) ? threads + 1 : Math.min(cores, threads * 2)) {
+      final long locked = measure(blockId -> {
+        synchronized (st) {
+          return st.search(blockId);
+        }
+      }, blockIds, threads);
+      final long sharded = measure(sst::search, blockIds, threads);
+      if (threads == 1) {
+        shardedBaseline = sharded;
+      }
+      sb.append(String.format("%-20s%-35s%-35s%-20s", threads, locked, sharded,
+          String.format("%.2fx", (double) sharded / shardedBaseline))).append("\n");
+    }
+    sb.append("\n");
+    System.out.println(sb.toString());
+  }
+}
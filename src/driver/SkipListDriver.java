@@ -0,0 +1,170 @@
+package driver;
+
+import blockchain.block.Block;
+import implementation.skiplist.SkipListBlockChain;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * {@code SkipListDriver} class performs search and append throughput analysis of a locked splay tree, a
+ * {@link ConcurrentSkipListMap} and the lock-free skip list with an increasing number of threads.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class SkipListDriver {
+
+  // Duration of each search measurement in milliseconds.
+  private static final long MEASUREMENT_TIME_MS = 1000;
+
+  /**
+   * Measures the search throughput of a search function.
+   *
+   * @param search   search function.
+   * @param blockIds block ids to be searched.
+   * @param threads  number of searching threads.
+   *
+   * @return searches per second.
+   *
+   * @throws InterruptedException if interrupted while waiting for the searching threads.
+   */
+  private static long measureSearches(final LongFunction<Block> search,
+                                      final long[] blockIds,
+                                      final int threads) throws InterruptedException {
+    final AtomicLong totalSearches = new AtomicLong();
+    final CountDownLatch done = new CountDownLatch(threads);
+    final long endTime = System.nanoTime() + MEASUREMENT_TIME_MS * 1_000_000L;
+    for (int t = 0; t < threads; ++t) {
+      new Thread(() -> {
+        try {
+          final ThreadLocalRandom random = ThreadLocalRandom.current();
+          long searches = 0;
+          while (System.nanoTime() < endTime) {
+            for (int i = 0; i < 256; ++i) {
+              search.apply(blockIds[random.nextInt(blockIds.length)]);
+            }
+            searches += 256;
+          }
+          totalSearches.addAndGet(searches);
+        } finally {
+          done.countDown();
+        }
+      }).start();
+    }
+    done.await();
+    return totalSearches.get() * 1000 / MEASUREMENT_TIME_MS;
+  }
+
+  /**
+   * Measures the append throughput of an insert function: the threads take the blocks in ascending id order.
+   *
+   * @param insert  insert function.
+   * @param blocks  blocks in ascending id order.
+   * @param threads number of appending threads.
+   *
+   * @return appends per second.
+   *
+   * @throws InterruptedException if interrupted while waiting for the appending threads.
+   */
+  private static long measureAppends(final Consumer<Block> insert,
+                                     final Block[] blocks,
+                                     final int threads) throws InterruptedException {
+    final AtomicInteger nextBlock = new AtomicInteger();
+    final CountDownLatch done = new CountDownLatch(threads);
+    final long startTime = System.nanoTime();
+    for (int t = 0; t < threads; ++t) {
+      new Thread(() -> {
+        try {
+          int i;
+          while ((i = nextBlock.getAndIncrement()) < blocks.length) {
+            insert.accept(blocks[i]);
+          }
+        } finally {
+          done.countDown();
+        }
+      }).start();
+    }
+    done.await();
+    return (long) (blocks.length / ((System.nanoTime() - startTime) / 1e9));
+  }
+
+  /**
+   * Creates blocks in ascending id order.
+   *
+   * @param totalBlocks number of blocks.
+   *
+   * @return blocks.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static Block[] blocks(final int totalBlocks) throws NoSuchAlgorithmException {
+    final Block[] blocks = new Block[totalBlocks];
+    long previous = 0;
+    for (int i = 0; i < totalBlocks; ++i) {
+      previous = Math.max(System.nanoTime(), previous + 1);
+      blocks[i] = new Block(previous, null, null);
+    }
+    return blocks;
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException, InterruptedException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+    final int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    final SplayTreeBlockChain st = new SplayTreeBlockChain();
+    final ConcurrentSkipListMap<Long, Block> csl = new ConcurrentSkipListMap<>();
+    final SkipListBlockChain sl = new SkipListBlockChain();
+    final long[] blockIds = new long[totalBlocks];
+    final Block[] blocks = blocks(totalBlocks);
+    for (int i = 0; i < totalBlocks; ++i) {
+      // The skip lists do not use the block links, so they can share the blocks with the splay tree.
+      blockIds[i] = blocks[i].getBlockId();
+      st.insert(blocks[i]);
+      csl.put(blockIds[i], blocks[i]);
+      sl.insert(blocks[i]);
+    }
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Search throughput with ").append(totalBlocks).append(" blocks (searches/s)").append("\n");
+    sb.append(String.format("%-20s%-30s%-30s%-30s", "Threads", "Locked Splay Tree", "ConcurrentSkipListMap",
+        "Lock-free Skip List")).append("\n");
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      final long locked = measureSearches(blockId -> {
+        synchronized (st) {
+          return st.search(blockId);
+        }
+      }, blockIds, threads);
+      final long map = measureSearches(csl::get, blockIds, threads);
+      final long skipList = measureSearches(sl::search, blockIds, threads);
+      sb.append(String.format("%-20s%-30s%-30s%-30s", threads, locked, map, skipList)).append("\n");
+    }
+    sb.append("\n");
+
+    sb.append("Append throughput of ").append(totalBlocks).append(" blocks (appends/s)").append("\n");
+    sb.append(String.format("%-20s%-30s%-30s%-30s", "Threads", "Locked Splay Tree", "ConcurrentSkipListMap",
+        "Lock-free Skip List")).append("\n");
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      final SplayTreeBlockChain appendSt = new SplayTreeBlockChain();
+      final long locked = measureAppends(block -> {
+        synchronized (appendSt) {
+          appendSt.insert(block);
+        }
+      }, blocks(totalBlocks), threads);
+      final ConcurrentSkipListMap<Long, Block> appendCsl = new ConcurrentSkipListMap<>();
+      final long map = measureAppends(block -> appendCsl.put(block.getBlockId(), block), blocks(totalBlocks), threads);
+      final SkipListBlockChain appendSl = new SkipListBlockChain();
+      final long skipList = measureAppends(appendSl::insert, blocks(totalBlocks), threads);
+      sb.append(String.format("%-20s%-30s%-30s%-30s", threads, locked, map, skipList)).append("\n");
+    }
+    sb.append("\n");
+    System.out.println(sb.toString());
+  }
+}
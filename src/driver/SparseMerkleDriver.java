@@ -0,0 +1,108 @@
+package driver;
+
+import blockchain.merkletree.SparseMerkleProof;
+import blockchain.merkletree.SparseMerkleTree;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * {@code SparseMerkleDriver} class measures the update throughput of a {@link SparseMerkleTree} for different
+ * batch sizes per block and the size and cost of its membership and non-membership proofs.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class SparseMerkleDriver {
+
+  // Number of proofs measured per kind.
+  private static final int PROOFS = 2000;
+
+  /**
+   * Gets the key of an account.
+   *
+   * @param account account number.
+   *
+   * @return key.
+   */
+  private static String key(final int account) {
+    return "account-" + account;
+  }
+
+  /**
+   * Main method.
+   *
+   * @param args optional number of accounts and number of updates per batch size.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  public static void main(String[] args) throws NoSuchAlgorithmException {
+    final int totalAccounts = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    final int totalUpdates = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+    final Random random = new Random(6057);
+
+    final SparseMerkleTree tree = new SparseMerkleTree();
+    final Map<String, String> accounts = new HashMap<>();
+    for (int i = 0; i < totalAccounts; ++i) {
+      accounts.put(key(i), String.valueOf(random.nextInt(1000000)));
+    }
+    long start = System.nanoTime();
+    tree.update(accounts);
+    final long prefillTime = System.nanoTime() - start;
+    long blockId = 0;
+    tree.commit(blockId++);
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Prefilled ").append(totalAccounts).append(" accounts in one batch: ")
+        .append(prefillTime / totalAccounts).append(" ns per account").append("\n");
+    sb.append(String.format("%-20s%-15s%-20s%-25s", "Updates per block", "Blocks", "Updates/s",
+        "Time per block (ns)")).append("\n");
+    for (int batchSize = 1; batchSize <= 1000; batchSize *= 10) {
+      final int blocks = Math.max(1, totalUpdates / batchSize);
+      start = System.nanoTime();
+      for (int b = 0; b < blocks; ++b) {
+        final Map<String, String> updates = new HashMap<>();
+        while (updates.size() < Math.min(batchSize, totalAccounts)) {
+          updates.put(key(random.nextInt(totalAccounts)), String.valueOf(random.nextInt(1000000)));
+        }
+        tree.update(updates);
+        tree.commit(blockId++);
+      }
+      final long time = System.nanoTime() - start;
+      sb.append(String.format("%-20s%-15s%-20s%-25s", batchSize, blocks,
+          (long) blocks * batchSize * 1000000000L / Math.max(1, time), time / blocks)).append("\n");
+    }
+
+    final String rootHash = tree.getRootHash();
+    sb.append("\n");
+    sb.append(String.format("%-20s%-20s%-20s%-20s%-20s", "Proof", "Avg siblings", "Avg size (B)",
+        "Prove (ns)", "Verify (ns)")).append("\n");
+    for (final boolean membership : new boolean[]{true, false}) {
+      long siblings = 0;
+      long bytes = 0;
+      long proveTime = 0;
+      long verifyTime = 0;
+      for (int i = 0; i < PROOFS; ++i) {
+        final String key = membership ? key(random.nextInt(totalAccounts)) : key(totalAccounts + i);
+        final String value = membership ? tree.get(key) : null;
+        start = System.nanoTime();
+        final SparseMerkleProof proof = tree.prove(key);
+        proveTime += System.nanoTime() - start;
+        start = System.nanoTime();
+        if (!proof.verify(rootHash, key, value)) {
+          throw new IllegalStateException("Proof of " + key + " does not verify.");
+        }
+        verifyTime += System.nanoTime() - start;
+        siblings += proof.getSiblingCount();
+        bytes += proof.getSize();
+      }
+      sb.append(String.format("%-20s%-20s%-20s%-20s%-20s", membership ? "Membership" : "Non-membership",
+          String.format("%.1f", siblings / (double) PROOFS), bytes / PROOFS, proveTime / PROOFS,
+          verifyTime / PROOFS)).append("\n");
+    }
+    sb.append("Uncompressed proof of 256 siblings: ").append(256 * 32).append(" B").append("\n");
+    System.out.println(sb.toString());
+  }
+}
@@ -0,0 +1,146 @@
+package driver;
+
+import blockchain.block.Block;
+import blockchain.merkletree.MerkleNode;
+import blockchain.transaction.Transaction;
+import blockchain.transaction.TransactionArena;
+import driver.util.AllocationMeter;
+import driver.util.ObjectSizeEstimator;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code TransactionArenaDriver} class compares the heap footprint and the allocations of large blocks whose
+ * transactions are created one by one with blocks whose transactions share a block level arena.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public class TransactionArenaDriver {
+
+  /**
+   * Creates the transaction contents of a block.
+   *
+   * @param block                index of the block.
+   * @param transactionsPerBlock number of transactions per block.
+   *
+   * @return transaction contents.
+   */
+  private static List<String> contents(final int block, final int transactionsPerBlock) {
+    final List<String> contents = new ArrayList<>(transactionsPerBlock);
+    for (int j = 0; j < transactionsPerBlock; ++j) {
+      contents.add("Transfer " + (j * 31 % 1000) + " coins from account " + j + " to account " + block);
+    }
+    return contents;
+  }
+
+  /**
+   * Classifies the objects of the blocks.
+   *
+   * @param object object.
+   *
+   * @return component or null to inherit the component of the referrer.
+   */
+  private static String component(final Object object) {
+    if (object instanceof Block) {
+      return "Block";
+    } else if (object instanceof Transaction) {
+      return "Transaction";
+    } else if (object instanceof TransactionArena) {
+      return "TransactionArena";
+    } else if (object instanceof MerkleNode) {
+      return "MerkleNode";
+    }
+    return null;
+  }
+
+  /**
+   * Creates the blocks and appends their footprint and allocations.
+   *
+   * @param name                 name of the transaction layout.
+   * @param arena                whether the transactions of a block share an arena.
+   * @param totalBlocks          number of blocks.
+   * @param transactionsPerBlock number of transactions per block.
+   * @param sb                   report.
+   *
+   * @throws NoSuchAlgorithmException when hashing algorithm is not available in environment.
+   */
+  private static void profile(final String name,
+                              final boolean arena,
+                              final int totalBlocks,
+                              final int transactionsPerBlock,
+                              final StringBuilder sb) throws NoSuchAlgorithmException {
+    final List<List<String>> contents = new ArrayList<>(totalBlocks);
+    for (int i = 0; i < totalBlocks; ++i) {
+      contents.add(contents(i, transactionsPerBlock));
+    }
+    System.gc();
+
+    final AllocationMeter meter = AllocationMeter.start();
+    final long startTime = System.nanoTime();
+    final List<Block> blocks = new ArrayList<>(totalBlocks);
+    for (int i = 0; i < totalBlocks; ++i) {
+      final List<Transaction> transactions;
+      if (arena) {
+        transactions = TransactionArena.of(contents.get(i)).getTransactions();
+      } else {
+        transactions = new ArrayList<>(transactionsPerBlock);
+        for (final String content : contents.get(i)) {
+          transactions.add(new Transaction(content));
+        }
+      }
+      blocks.add(new Block(System.nanoTime(), null, transactions));
+    }
+    final long createTime = System.nanoTime() - startTime;
+    final long allocatedBytes = meter.getAllocatedBytes();
+    final long collections = meter.getCollectionCount();
+    final long collectionTime = meter.getCollectionTime();
+
+    final Map<String, ObjectSizeEstimator.ComponentSize> components =
+        new ObjectSizeEstimator().estimate(blocks, TransactionArenaDriver::component, "Chain");
+    final long transactionBytes = bytes(components, "Transaction") + bytes(components, "TransactionArena");
+    long totalBytes = 0;
+    for (final ObjectSizeEstimator.ComponentSize size : components.values()) {
+      totalBytes += size.getBytes();
+    }
+    final long transactions = (long) totalBlocks * transactionsPerBlock;
+    sb.append(String.format("%-25s%-20.1f%-20.1f%-20d%-20.1f%-15d%-15s%-20s", name,
+        (double) transactionBytes / transactions, (double) bytes(components, "MerkleNode") / transactions,
+        totalBytes / totalBlocks, (double) allocatedBytes / transactions, collections, collectionTime + " ms",
+        createTime / transactions + " ns")).append("\n");
+  }
+
+  /**
+   * Gets the retained bytes of a component.
+   *
+   * @param components retained size per component.
+   * @param component  component.
+   *
+   * @return retained bytes (0 if the component was not found).
+   */
+  private static long bytes(final Map<String, ObjectSizeEstimator.ComponentSize> components, final String component) {
+    final ObjectSizeEstimator.ComponentSize size = components.get(component);
+    return size == null ? 0 : size.getBytes();
+  }
+
+  public static void main(String[] args) throws NoSuchAlgorithmException {
+    final int totalBlocks = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+    final int transactionsPerBlock = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("Heap footprint and allocations of ").append(totalBlocks).append(" blocks with ")
+        .append(transactionsPerBlock).append(" transactions each").append("\n");
+    sb.append(String.format("%-25s%-20s%-20s%-20s%-20s%-15s%-15s%-20s", "Transactions", "Retained B/tx",
+        "Merkle B/tx", "Retained B/block", "Allocated B/tx", "GC count", "GC time", "Create time/tx")).append("\n");
+    // Warm up.
+    profile("Warm up", true, 1, transactionsPerBlock, new StringBuilder());
+    profile("Warm up", false, 1, transactionsPerBlock, new StringBuilder());
+    profile("One by one", false, totalBlocks, transactionsPerBlock, sb);
+    profile("Block arena", true, totalBlocks, transactionsPerBlock, sb);
+    sb.append("\n");
+    System.out.println(sb.toString());
+  }
+}
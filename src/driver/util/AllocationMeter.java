@@ -0,0 +1,103 @@
+package driver.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * {@code AllocationMeter} class measures the bytes allocated by the current thread and the garbage collections
+ * since it was started.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class AllocationMeter {
+
+  // Thread bean with per thread allocation counters.
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  // Garbage collectors of the VM.
+  private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+  // Bytes allocated by the current thread at the start.
+  private final long startAllocatedBytes;
+
+  // Number of collections at the start.
+  private final long startCollectionCount;
+
+  // Accumulated collection time at the start in milliseconds.
+  private final long startCollectionTime;
+
+  /**
+   * Constructs this {@code AllocationMeter}.
+   */
+  private AllocationMeter() {
+    this.startAllocatedBytes = THREADS.getCurrentThreadAllocatedBytes();
+    this.startCollectionCount = collectionCount();
+    this.startCollectionTime = collectionTime();
+  }
+
+  /**
+   * Starts measuring.
+   *
+   * @return started meter.
+   */
+  public static AllocationMeter start() {
+    return new AllocationMeter();
+  }
+
+  /**
+   * Gets the bytes allocated by the current thread since the start.
+   *
+   * @return allocated bytes.
+   */
+  public long getAllocatedBytes() {
+    return THREADS.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+  }
+
+  /**
+   * Gets the number of garbage collections since the start.
+   *
+   * @return number of collections.
+   */
+  public long getCollectionCount() {
+    return collectionCount() - startCollectionCount;
+  }
+
+  /**
+   * Gets the time spent in garbage collections since the start, as reported by the collectors (the pause time
+   * for stop-the-world collectors).
+   *
+   * @return collection time in milliseconds.
+   */
+  public long getCollectionTime() {
+    return collectionTime() - startCollectionTime;
+  }
+
+  /**
+   * Gets the number of garbage collections of all the collectors.
+   *
+   * @return number of collections.
+   */
+  private static long collectionCount() {
+    long count = 0;
+    for (final GarbageCollectorMXBean collector : COLLECTORS) {
+      count += Math.max(0, collector.getCollectionCount());
+    }
+    return count;
+  }
+
+  /**
+   * Gets the accumulated collection time of all the collectors.
+   *
+   * @return collection time in milliseconds.
+   */
+  private static long collectionTime() {
+    long time = 0;
+    for (final GarbageCollectorMXBean collector : COLLECTORS) {
+      time += Math.max(0, collector.getCollectionTime());
+    }
+    return time;
+  }
+}
@@ -0,0 +1,308 @@
+package driver.util;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * {@code ObjectSizeEstimator} class estimates the deep retained size of an object graph from the HotSpot object
+ * layout.
+ * <p>
+ * The size of an object is its header plus its fields, aligned to the object alignment, and the size of an
+ * array is its header plus its elements, aligned. Header, reference and alignment sizes are read from the
+ * running VM. Field packing is approximated by the sum of the field sizes. Objects are reached by reflection;
+ * for JDK classes that are not opened to reflection ({@code --add-opens}) strings, collections and maps are
+ * measured from their public API and any other JDK object counts with its shallow size only. Threads,
+ * executors, class loaders and classes are shared infrastructure and are not traversed.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class ObjectSizeEstimator {
+
+  /**
+   * {@code ComponentSize} class is the retained size of the objects of one component.
+   */
+  public static final class ComponentSize {
+
+    // Number of objects whose class starts the component.
+    private long instances;
+
+    // Retained bytes of the component.
+    private long bytes;
+
+    /**
+     * Gets the number of objects whose class starts the component.
+     *
+     * @return number of instances.
+     */
+    public long getInstances() {
+      return instances;
+    }
+
+    /**
+     * Gets the retained bytes of the component.
+     *
+     * @return retained bytes.
+     */
+    public long getBytes() {
+      return bytes;
+    }
+  }
+
+  // Size of an object header in bytes.
+  private final int objectHeaderSize;
+
+  // Size of an array header (including the length) in bytes.
+  private final int arrayHeaderSize;
+
+  // Size of a reference in bytes.
+  private final int referenceSize;
+
+  // Object alignment in bytes.
+  private final int alignment;
+
+  // Shallow size per class.
+  private final Map<Class<?>, Long> shallowSizes;
+
+  // Accessible reference fields per class (null if the class is not opened to reflection).
+  private final Map<Class<?>, Field[]> referenceFields;
+
+  /**
+   * Constructs this {@code ObjectSizeEstimator} for the layout of the running VM.
+   */
+  public ObjectSizeEstimator() {
+    final HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+    final boolean compressedOops = Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue());
+    final boolean compressedClassPointers = Boolean.parseBoolean(
+        hotSpot.getVMOption("UseCompressedClassPointers").getValue());
+    this.objectHeaderSize = compressedClassPointers ? 12 : 16;
+    this.arrayHeaderSize = compressedClassPointers ? 16 : 24;
+    this.referenceSize = compressedOops ? 4 : 8;
+    this.alignment = Integer.parseInt(hotSpot.getVMOption("ObjectAlignmentInBytes").getValue());
+    this.shallowSizes = new HashMap<>();
+    this.referenceFields = new HashMap<>();
+  }
+
+  /**
+   * Estimates the deep retained size of the object graph, attributed to components.
+   * <p>
+   * Every object belongs to the component of the nearest object on its path from the root that the classifier
+   * assigns a component to; objects reachable from several components belong to the first one to reach them.
+   *
+   * @param root       root of the object graph.
+   * @param classifier component of an object or null to inherit the component of the referrer.
+   * @param rootName   component of the root unless the classifier assigns one.
+   *
+   * @return retained size per component in order of discovery.
+   */
+  public Map<String, ComponentSize> estimate(final Object root,
+                                             final Function<Object, String> classifier,
+                                             final String rootName) {
+    final Map<String, ComponentSize> components = new LinkedHashMap<>();
+    final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    final Deque<Object> objects = new ArrayDeque<>();
+    final Deque<String> owners = new ArrayDeque<>();
+    objects.push(root);
+    owners.push(rootName);
+    final List<Object> references = new ArrayList<>();
+    while (!objects.isEmpty()) {
+      final Object object = objects.pop();
+      String component = owners.pop();
+      if (!visited.add(object) || isInfrastructure(object)) {
+        continue;
+      }
+      final String assigned = classifier.apply(object);
+      final ComponentSize size = components.computeIfAbsent(assigned != null ? assigned : component,
+          name -> new ComponentSize());
+      if (assigned != null) {
+        component = assigned;
+        ++size.instances;
+      }
+      references.clear();
+      size.bytes += sizeOf(object, references);
+      for (final Object reference : references) {
+        if (reference != null && !visited.contains(reference)) {
+          objects.push(reference);
+          owners.push(component);
+        }
+      }
+    }
+    return components;
+  }
+
+  /**
+   * Estimates the deep retained size of the object graph.
+   *
+   * @param root root of the object graph.
+   *
+   * @return retained bytes.
+   */
+  public long estimate(final Object root) {
+    long bytes = 0;
+    for (final ComponentSize size : estimate(root, object -> null, "all").values()) {
+      bytes += size.bytes;
+    }
+    return bytes;
+  }
+
+  /**
+   * Gets the size of the object and collects the objects it references.
+   *
+   * @param object     object.
+   * @param references collected references.
+   *
+   * @return size of the object (plus hidden backing storage of closed JDK classes) in bytes.
+   */
+  private long sizeOf(final Object object, final List<Object> references) {
+    final Class<?> type = object.getClass();
+    if (type.isArray()) {
+      final int length = Array.getLength(object);
+      final Class<?> componentType = type.getComponentType();
+      if (!componentType.isPrimitive()) {
+        for (final Object element : (Object[]) object) {
+          references.add(element);
+        }
+      }
+      return align(arrayHeaderSize + (long) length * sizeOfType(componentType));
+    }
+    final long shallowSize = shallowSizes.computeIfAbsent(type, this::shallowSizeOf);
+    final Field[] fields = referenceFields.computeIfAbsent(type, ObjectSizeEstimator::accessibleReferenceFields);
+    if (fields != null) {
+      for (final Field field : fields) {
+        try {
+          references.add(field.get(object));
+        } catch (final IllegalAccessException e) {
+          throw new IllegalStateException("Field made accessible is not accessible: " + field, e);
+        }
+      }
+      return shallowSize;
+    }
+    // Closed JDK class: measure what its public API exposes.
+    if (object instanceof String) {
+      final String string = (String) object;
+      final boolean latin1 = string.chars().allMatch(c -> c <= 0xFF);
+      return shallowSize + align(arrayHeaderSize + (long) string.length() * (latin1 ? 1 : 2));
+    }
+    if (object instanceof Collection) {
+      final Collection<?> collection = (Collection<?>) object;
+      references.addAll(collection);
+      return shallowSize + align(arrayHeaderSize + (long) collection.size() * referenceSize);
+    }
+    if (object instanceof Map) {
+      final Map<?, ?> map = (Map<?, ?>) object;
+      references.addAll(map.keySet());
+      references.addAll(map.values());
+      // A table slot and an entry (header, hash, key, value and next) per mapping.
+      final long entrySize = align(objectHeaderSize + 4 + 3L * referenceSize);
+      return shallowSize + align(arrayHeaderSize + (long) map.size() * referenceSize) + map.size() * entrySize;
+    }
+    return shallowSize;
+  }
+
+  /**
+   * Computes the shallow size of instances of the class.
+   *
+   * @param type class.
+   *
+   * @return shallow size in bytes.
+   */
+  private long shallowSizeOf(final Class<?> type) {
+    long size = objectHeaderSize;
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      for (final Field field : c.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers())) {
+          size += sizeOfType(field.getType());
+        }
+      }
+    }
+    return align(size);
+  }
+
+  /**
+   * Gets the accessible non-static reference fields of the class and its superclasses.
+   *
+   * @param type class.
+   *
+   * @return reference fields or null if the class is not opened to reflection.
+   */
+  private static Field[] accessibleReferenceFields(final Class<?> type) {
+    final List<Field> fields = new ArrayList<>();
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      for (final Field field : c.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+          try {
+            field.setAccessible(true);
+          } catch (final InaccessibleObjectException e) {
+            return null;
+          }
+          fields.add(field);
+        }
+      }
+    }
+    return fields.toArray(new Field[0]);
+  }
+
+  /**
+   * Gets the size of a field or array element of the type.
+   *
+   * @param type type.
+   *
+   * @return size in bytes.
+   */
+  private int sizeOfType(final Class<?> type) {
+    if (type == long.class || type == double.class) {
+      return 8;
+    } else if (type == int.class || type == float.class) {
+      return 4;
+    } else if (type == short.class || type == char.class) {
+      return 2;
+    } else if (type == byte.class || type == boolean.class) {
+      return 1;
+    }
+    return referenceSize;
+  }
+
+  /**
+   * Checks whether the object is shared infrastructure that is not part of any data structure.
+   *
+   * @param object object.
+   *
+   * @return true if the object is not to be traversed otherwise false.
+   */
+  private static boolean isInfrastructure(final Object object) {
+    return object instanceof Thread
+        || object instanceof ThreadGroup
+        || object instanceof Executor
+        || object instanceof ClassLoader
+        || object instanceof Class;
+  }
+
+  /**
+   * Aligns the size to the object alignment.
+   *
+   * @param size size in bytes.
+   *
+   * @return aligned size in bytes.
+   */
+  private long align(final long size) {
+    return (size + alignment - 1) / alignment * alignment;
+  }
+}
@@ -0,0 +1,155 @@
+package implementation.adaptive;
+
+import java.util.Arrays;
+
+/**
+ * {@code AccessSampler} class samples the searched block ids and measures the skew of each window of samples.
+ * <p>
+ * The skew of a window is measured as the share of the samples that hit the {@code topK} most searched block
+ * ids and as the entropy of the sampled ids normalized to {@code [0, 1]}. The entropy is divided by the largest
+ * entropy the window can reach over the searched population, {@code log(min(window size, population))}, so
+ * uniform searches measure close to 1 whatever the number of blocks. It is bias corrected (Miller-Madow) for
+ * populations about the window size, where a uniform window cannot hit every block.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+final class AccessSampler {
+
+  // Number of most searched block ids of the top share.
+  private final int topK;
+
+  // Mask of the search counter selecting the sampled searches (one in a power of two).
+  private final long sampleMask;
+
+  // Sampled block ids of the current window.
+  private final long[] window;
+
+  // Number of samples in the current window.
+  private int sampleCount;
+
+  // Number of searches.
+  private long searchCount;
+
+  // Top share of the last full window.
+  private double topShare;
+
+  // Normalized entropy of the last full window.
+  private double entropy;
+
+  /**
+   * Constructs this {@code AccessSampler}.
+   *
+   * @param topK           number of most searched block ids of the top share.
+   * @param sampleInterval one search in {@code sampleInterval} is sampled (a power of two).
+   * @param windowSize     number of samples per window.
+   *
+   * @throws IllegalArgumentException if the top k is not positive, the sample interval is not a power of two
+   *                                  or the window has fewer than two samples.
+   */
+  AccessSampler(final int topK, final int sampleInterval, final int windowSize) {
+    if (topK < 1) {
+      throw new IllegalArgumentException("Top k must be positive: " + topK);
+    }
+    if (Integer.bitCount(sampleInterval) != 1) {
+      throw new IllegalArgumentException("Sample interval must be a power of two: " + sampleInterval);
+    }
+    if (windowSize < 2) {
+      throw new IllegalArgumentException("Window size must be at least 2: " + windowSize);
+    }
+    this.topK = topK;
+    this.sampleMask = sampleInterval - 1;
+    this.window = new long[windowSize];
+    this.sampleCount = 0;
+    this.searchCount = 0;
+    this.topShare = Double.NaN;
+    this.entropy = Double.NaN;
+  }
+
+  /**
+   * Records a search.
+   *
+   * @param blockId    searched block id.
+   * @param population number of blocks that could have been searched.
+   *
+   * @return true if the search completed a window otherwise false.
+   */
+  boolean record(final long blockId, final int population) {
+    if ((searchCount++ & sampleMask) != 0) {
+      return false;
+    }
+    window[sampleCount++] = blockId;
+    if (sampleCount < window.length) {
+      return false;
+    }
+    measure(population);
+    sampleCount = 0;
+    return true;
+  }
+
+  /**
+   * Measures the top share and the entropy of the full window.
+   *
+   * @param population number of blocks that could have been searched.
+   */
+  private void measure(final int population) {
+    Arrays.sort(window);
+    final int[] counts = new int[window.length];
+    int distinct = 0;
+    for (int i = 0; i < window.length; ++i) {
+      if (i == 0 || window[i] != window[i - 1]) {
+        ++distinct;
+      }
+      ++counts[distinct - 1];
+    }
+    double sum = 0;
+    for (int i = 0; i < distinct; ++i) {
+      final double p = (double) counts[i] / window.length;
+      sum -= p * Math.log(p);
+    }
+    Arrays.sort(counts, 0, distinct);
+    int top = 0;
+    for (int i = distinct - 1; i >= Math.max(0, distinct - topK); --i) {
+      top += counts[i];
+    }
+    topShare = (double) top / window.length;
+    final int reachable = Math.min(window.length, Math.max(population, distinct));
+    entropy = (reachable < 2) ? 1 : Math.min(1, (sum + (distinct - 1) / (2.0 * window.length)) / Math.log(reachable));
+  }
+
+  /**
+   * Gets the number of most searched block ids of the top share.
+   *
+   * @return number of most searched block ids.
+   */
+  int getTopK() {
+    return topK;
+  }
+
+  /**
+   * Gets the number of samples per window.
+   *
+   * @return number of samples per window.
+   */
+  int getWindowSize() {
+    return window.length;
+  }
+
+  /**
+   * Gets the share of the samples of the last window that hit the most searched block ids.
+   *
+   * @return top share (NaN before the first full window).
+   */
+  double getTopShare() {
+    return topShare;
+  }
+
+  /**
+   * Gets the entropy of the samples of the last window normalized to {@code [0, 1]}.
+   *
+   * @return normalized entropy (NaN before the first full window).
+   */
+  double getEntropy() {
+    return entropy;
+  }
+}
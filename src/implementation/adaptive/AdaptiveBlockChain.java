@@ -0,0 +1,220 @@
+package implementation.adaptive;
+
+import blockchain.block.Block;
+import implementation.splaytree.SplayTreeBlockChain;
+
+/**
+ * {@code AdaptiveBlockChain} class is a splay tree of the blocks that stops splaying when searches are not
+ * skewed.
+ * <p>
+ * Searches are sampled, and the normalized entropy of every window of samples decides the mode (low entropy
+ * means a few blocks take most searches, see {@link AccessSampler}): {@link AdaptiveMode#SPLAY}
+ * splays every block found as the plain splay tree does, while {@link AdaptiveMode#STATIC} leaves the tree
+ * unchanged unless the block was found deeper than twice the balanced depth. Deep blocks are still splayed,
+ * which keeps the tree close to balanced without a stop-the-world rebuild, so switching mode is a field
+ * write. Separate thresholds to enter and leave splaying keep the mode from flapping.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class AdaptiveBlockChain {
+
+  // Default number of most searched block ids of the top share.
+  public static final int DEFAULT_TOP_K = 64;
+
+  // Default sampling interval (one search in eight is sampled).
+  public static final int DEFAULT_SAMPLE_INTERVAL = 8;
+
+  // Default number of samples per window.
+  public static final int DEFAULT_WINDOW_SIZE = 4096;
+
+  // Default normalized entropy at or below which splaying is enabled.
+  public static final double DEFAULT_SPLAY_THRESHOLD = 0.90;
+
+  // Default normalized entropy above which splaying is disabled (uniform searches measure about 0.97 or more).
+  public static final double DEFAULT_STATIC_THRESHOLD = 0.95;
+
+  // Extra depth over twice the balanced depth tolerated in static mode.
+  private static final int DEPTH_SLACK = 4;
+
+  // Underlying splay tree.
+  private final SplayTreeBlockChain chain;
+
+  // Sampler of the searched block ids.
+  private final AccessSampler sampler;
+
+  // Normalized entropy at or below which splaying is enabled.
+  private final double splayThreshold;
+
+  // Normalized entropy above which splaying is disabled.
+  private final double staticThreshold;
+
+  // Current mode.
+  private AdaptiveMode mode;
+
+  // Reason for the current mode.
+  private String reason;
+
+  // Number of mode switches.
+  private long switchCount;
+
+  /**
+   * Constructs this {@code AdaptiveBlockChain} with the default sampling and thresholds.
+   */
+  public AdaptiveBlockChain() {
+    this(DEFAULT_TOP_K, DEFAULT_SAMPLE_INTERVAL, DEFAULT_WINDOW_SIZE, DEFAULT_SPLAY_THRESHOLD, DEFAULT_STATIC_THRESHOLD);
+  }
+
+  /**
+   * Constructs this {@code AdaptiveBlockChain}.
+   *
+   * @param topK            number of most searched block ids of the top share.
+   * @param sampleInterval  one search in {@code sampleInterval} is sampled (a power of two).
+   * @param windowSize      number of samples per window.
+   * @param splayThreshold  normalized entropy at or below which splaying is enabled.
+   * @param staticThreshold normalized entropy above which splaying is disabled.
+   *
+   * @throws IllegalArgumentException if the splay threshold is above the static threshold, or if the sampling
+   *                                  parameters are invalid (see {@link AccessSampler}).
+   */
+  public AdaptiveBlockChain(final int topK,
+                            final int sampleInterval,
+                            final int windowSize,
+                            final double splayThreshold,
+                            final double staticThreshold) {
+    if (splayThreshold > staticThreshold) {
+      throw new IllegalArgumentException("Splay threshold " + splayThreshold + " is above static threshold " + staticThreshold);
+    }
+    this.chain = new SplayTreeBlockChain();
+    this.sampler = new AccessSampler(topK, sampleInterval, windowSize);
+    this.splayThreshold = splayThreshold;
+    this.staticThreshold = staticThreshold;
+    this.mode = AdaptiveMode.SPLAY;
+    this.reason = "No full window of samples yet";
+    this.switchCount = 0;
+  }
+
+  /**
+   * Inserts the block.
+   *
+   * @param block block to be inserted.
+   */
+  public void insert(final Block block) {
+    chain.insert(block);
+  }
+
+  /**
+   * Searches the block, splaying it according to the current mode.
+   *
+   * @param blockId block id to be searched.
+   *
+   * @return block found.
+   */
+  public Block search(final long blockId) {
+    if (sampler.record(blockId, chain.size())) {
+      adapt();
+    }
+    if (mode == AdaptiveMode.SPLAY) {
+      return chain.search(blockId);
+    }
+    return chain.search(blockId, staticDepth());
+  }
+
+  /**
+   * Searches the block by block hash using the block hash index.
+   *
+   * @param blockHash block hash to be searched.
+   *
+   * @return block found.
+   */
+  public Block searchByHash(final String blockHash) {
+    return chain.searchByHash(blockHash);
+  }
+
+  /**
+   * Gets the number of blocks.
+   *
+   * @return number of blocks.
+   */
+  public int size() {
+    return chain.size();
+  }
+
+  /**
+   * Gets the current mode.
+   *
+   * @return current mode.
+   */
+  public AdaptiveMode getMode() {
+    return mode;
+  }
+
+  /**
+   * Gets the reason for the current mode.
+   *
+   * @return reason for the current mode.
+   */
+  public String getModeReason() {
+    return reason;
+  }
+
+  /**
+   * Gets the share of the last window of sampled searches that hit the most searched block ids.
+   *
+   * @return top share (NaN before the first full window).
+   */
+  public double getTopShare() {
+    return sampler.getTopShare();
+  }
+
+  /**
+   * Gets the entropy of the last window of sampled searches normalized to {@code [0, 1]}.
+   *
+   * @return normalized entropy (NaN before the first full window).
+   */
+  public double getEntropy() {
+    return sampler.getEntropy();
+  }
+
+  /**
+   * Gets the number of mode switches.
+   *
+   * @return number of mode switches.
+   */
+  public long getSwitchCount() {
+    return switchCount;
+  }
+
+  /**
+   * Gets the depth beyond which blocks are splayed in static mode.
+   *
+   * @return twice the balanced depth plus a slack.
+   */
+  private int staticDepth() {
+    return 2 * (32 - Integer.numberOfLeadingZeros(chain.size())) + DEPTH_SLACK;
+  }
+
+  /**
+   * Chooses the mode from the skew of the last full window of samples.
+   */
+  private void adapt() {
+    final double entropy = sampler.getEntropy();
+    final String measured = String.format("entropy %.3f, top-%d share %.3f over %d sampled searches",
+        entropy, sampler.getTopK(), sampler.getTopShare(), sampler.getWindowSize());
+    final AdaptiveMode next;
+    if (entropy <= splayThreshold) {
+      next = AdaptiveMode.SPLAY;
+      reason = measured + " (<= " + splayThreshold + ": skewed)";
+    } else if (entropy > staticThreshold) {
+      next = AdaptiveMode.STATIC;
+      reason = measured + " (> " + staticThreshold + ": not skewed)";
+    } else {
+      next = mode;
+      reason = measured + " (between thresholds: mode kept)";
+    }
+    if (next != mode) {
+      mode = next;
+      ++switchCount;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package implementation.adaptive;
+
+/**
+ * {@code AdaptiveMode} enum is the search mode of the {@link AdaptiveBlockChain}.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public enum AdaptiveMode {
+
+  // Every block found is splayed to the root, which pays off when searches are skewed.
+  SPLAY,
+
+  // Blocks are splayed only when found deeper than twice the balanced depth, so uniform searches mostly
+  // leave the tree unchanged.
+  STATIC
+}
@@ -0,0 +1,308 @@
+package implementation.blocktree;
+
+import blockchain.block.Block;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code BlockTree} class is the fork aware implementation of the blocks in the blockchain.
+ * <p>
+ * Every block is linked to its parent through its previous block hash, so competing branches form a tree
+ * rooted at the genesis block. Each block keeps its height, the cumulative work of its branch and binary
+ * lifting pointers (its 1st, 2nd, 4th, ... ancestor), so the best tip is available in O(1) and the common
+ * ancestor of two blocks is found in O(log n) without walking the chain.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class BlockTree {
+
+  // Work of a block when none is provided.
+  private static final long DEFAULT_BLOCK_WORK = 1;
+
+  // Tree nodes by block hash.
+  private final Map<String, Node> nodes;
+
+  // Genesis (root) node.
+  private Node genesis;
+
+  // Tip with the most cumulative work (the first one seen wins ties).
+  private Node bestTip;
+
+  /**
+   * Constructs this {@code BlockTree}.
+   */
+  public BlockTree() {
+    this.nodes = new HashMap<>();
+    this.genesis = null;
+    this.bestTip = null;
+  }
+
+  /**
+   * Inserts the block with the default work.
+   *
+   * @param block block to be inserted.
+   *
+   * @return true if the block was inserted, false if it is already in the tree.
+   *
+   * @throws IllegalArgumentException if the previous block is not in the tree.
+   */
+  public boolean insert(final Block block) {
+    return insert(block, DEFAULT_BLOCK_WORK);
+  }
+
+  /**
+   * Inserts the block.
+   * <p>
+   * The first block inserted is the genesis block. Every other block must link to a block already in the tree
+   * through its previous block hash.
+   *
+   * @param block block to be inserted.
+   * @param work  work (i.e., difficulty) of the block.
+   *
+   * @return true if the block was inserted, false if it is already in the tree.
+   *
+   * @throws IllegalArgumentException if the previous block is not in the tree.
+   */
+  public boolean insert(final Block block, final long work) {
+    if (nodes.containsKey(block.getBlockHash())) {
+      return false;
+    }
+    final Node node;
+    if (genesis == null) {
+      node = new Node(block, null, work);
+      genesis = node;
+    } else {
+      final Node parent = nodes.get(block.getPreBlockHash());
+      if (parent == null) {
+        throw new IllegalArgumentException("Previous block is not in the tree: " + block.getPreBlockHash());
+      }
+      node = new Node(block, parent, work);
+    }
+    nodes.put(block.getBlockHash(), node);
+    if (bestTip == null || node.cumulativeWork > bestTip.cumulativeWork) {
+      bestTip = node;
+    }
+    return true;
+  }
+
+  /**
+   * Searches the block.
+   *
+   * @param blockHash block hash to be searched.
+   *
+   * @return block found.
+   */
+  public Block search(final String blockHash) {
+    final Node node = nodes.get(blockHash);
+    return (node == null) ? null : node.block;
+  }
+
+  /**
+   * Gets the tip of the branch with the most cumulative work.
+   *
+   * @return best tip or null if the tree is empty.
+   */
+  public Block getBestTip() {
+    return (bestTip == null) ? null : bestTip.block;
+  }
+
+  /**
+   * Gets the height of the block (the genesis block has height 0).
+   *
+   * @param blockHash block hash.
+   *
+   * @return height of the block.
+   *
+   * @throws IllegalArgumentException if the block is not in the tree.
+   */
+  public int getHeight(final String blockHash) {
+    return getNode(blockHash).height;
+  }
+
+  /**
+   * Gets the cumulative work of the branch ending at the block.
+   *
+   * @param blockHash block hash.
+   *
+   * @return cumulative work of the branch ending at the block.
+   *
+   * @throws IllegalArgumentException if the block is not in the tree.
+   */
+  public long getCumulativeWork(final String blockHash) {
+    return getNode(blockHash).cumulativeWork;
+  }
+
+  /**
+   * Gets the ancestor of the block at the height provided in O(log n).
+   *
+   * @param blockHash block hash.
+   * @param height    height of the ancestor.
+   *
+   * @return ancestor of the block or null if the height is greater than the height of the block.
+   *
+   * @throws IllegalArgumentException if the block is not in the tree.
+   */
+  public Block getAncestor(final String blockHash, final int height) {
+    if (height < 0) {
+      return null;
+    }
+    final Node ancestor = getNode(blockHash).ancestorAt(height);
+    return (ancestor == null) ? null : ancestor.block;
+  }
+
+  /**
+   * Finds the common ancestor of two blocks in O(log n).
+   *
+   * @param blockHashA hash of the first block.
+   * @param blockHashB hash of the second block.
+   *
+   * @return last common ancestor of the two blocks.
+   *
+   * @throws IllegalArgumentException if either block is not in the tree.
+   */
+  public Block findCommonAncestor(final String blockHashA, final String blockHashB) {
+    return commonAncestor(getNode(blockHashA), getNode(blockHashB)).block;
+  }
+
+  /**
+   * Computes the reorganization needed to switch from one tip to another.
+   * <p>
+   * The common ancestor is found in O(log n); only the blocks of the two diverging branches are walked.
+   *
+   * @param fromTipHash hash of the current tip.
+   * @param toTipHash   hash of the new tip.
+   *
+   * @return reorganization between the two tips.
+   *
+   * @throws IllegalArgumentException if either block is not in the tree.
+   */
+  public Reorganization getReorganization(final String fromTipHash, final String toTipHash) {
+    final Node from = getNode(fromTipHash);
+    final Node to = getNode(toTipHash);
+    final Node ancestor = commonAncestor(from, to);
+
+    final List<Block> disconnected = new ArrayList<>(from.height - ancestor.height);
+    for (Node node = from; node != ancestor; node = node.parent) {
+      disconnected.add(node.block);
+    }
+    final List<Block> connected = new ArrayList<>(to.height - ancestor.height);
+    for (Node node = to; node != ancestor; node = node.parent) {
+      connected.add(node.block);
+    }
+    Collections.reverse(connected);
+    return new Reorganization(ancestor.block, disconnected, connected);
+  }
+
+  /**
+   * Gets the number of blocks in the tree.
+   *
+   * @return number of blocks in the tree.
+   */
+  public int size() {
+    return nodes.size();
+  }
+
+  /**
+   * Gets the node of the block.
+   *
+   * @param blockHash block hash.
+   *
+   * @return node of the block.
+   *
+   * @throws IllegalArgumentException if the block is not in the tree.
+   */
+  private Node getNode(final String blockHash) {
+    final Node node = nodes.get(blockHash);
+    if (node == null) {
+      throw new IllegalArgumentException("Block is not in the tree: " + blockHash);
+    }
+    return node;
+  }
+
+  /**
+   * Finds the common ancestor of two nodes using binary lifting.
+   *
+   * @param a first node.
+   * @param b second node.
+   *
+   * @return last common ancestor of the two nodes.
+   */
+  private static Node commonAncestor(Node a, Node b) {
+    if (a.height > b.height) {
+      a = a.ancestorAt(b.height);
+    } else if (b.height > a.height) {
+      b = b.ancestorAt(a.height);
+    }
+    if (a == b) {
+      return a;
+    }
+    for (int k = a.ancestors.length - 1; k >= 0; --k) {
+      // Both nodes are at the same height, so they have the same number of ancestor pointers.
+      if (k < a.ancestors.length && a.ancestors[k] != b.ancestors[k]) {
+        a = a.ancestors[k];
+        b = b.ancestors[k];
+      }
+    }
+    return a.parent;
+  }
+
+  /**
+   * {@code Node} class is a block of the tree with its height, cumulative work and ancestor pointers.
+   */
+  private static final class Node {
+    // Block of this node.
+    private final Block block;
+
+    // Parent node or null for the genesis node.
+    private final Node parent;
+
+    // Height of this node (the genesis node has height 0).
+    private final int height;
+
+    // Cumulative work of the branch ending at this node.
+    private final long cumulativeWork;
+
+    // ancestors[k] is the 2^k-th ancestor of this node.
+    private final Node[] ancestors;
+
+    private Node(final Block block, final Node parent, final long work) {
+      this.block = block;
+      this.parent = parent;
+      this.height = (parent == null) ? 0 : parent.height + 1;
+      this.cumulativeWork = (parent == null) ? work : parent.cumulativeWork + work;
+      this.ancestors = new Node[32 - Integer.numberOfLeadingZeros(height)];
+      if (ancestors.length > 0) {
+        ancestors[0] = parent;
+        for (int k = 1; k < ancestors.length; ++k) {
+          ancestors[k] = ancestors[k - 1].ancestors[k - 1];
+        }
+      }
+    }
+
+    /**
+     * Gets the ancestor of this node at the height provided.
+     *
+     * @param targetHeight height of the ancestor.
+     *
+     * @return ancestor at the height or null if the height is greater than the height of this node.
+     */
+    private Node ancestorAt(final int targetHeight) {
+      if (targetHeight > height) {
+        return null;
+      }
+      Node node = this;
+      int distance = height - targetHeight;
+      while (distance > 0) {
+        final int k = 31 - Integer.numberOfLeadingZeros(distance);
+        node = node.ancestors[k];
+        distance -= 1 << k;
+      }
+      return node;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package implementation.blocktree;
+
+import blockchain.block.Block;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code Reorganization} class holds the blocks to be disconnected and connected to switch between two tips.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class Reorganization {
+
+  // Last common ancestor of the two tips.
+  private final Block commonAncestor;
+
+  // Blocks to be disconnected, from the current tip down to the common ancestor (exclusive).
+  private final List<Block> disconnectedBlocks;
+
+  // Blocks to be connected, from the common ancestor (exclusive) up to the new tip.
+  private final List<Block> connectedBlocks;
+
+  /**
+   * Constructs this {@code Reorganization}.
+   *
+   * @param commonAncestor     last common ancestor of the two tips.
+   * @param disconnectedBlocks blocks to be disconnected in disconnect order.
+   * @param connectedBlocks    blocks to be connected in connect order.
+   */
+  public Reorganization(final Block commonAncestor,
+                        final List<Block> disconnectedBlocks,
+                        final List<Block> connectedBlocks) {
+    this.commonAncestor = commonAncestor;
+    this.disconnectedBlocks = Collections.unmodifiableList(disconnectedBlocks);
+    this.connectedBlocks = Collections.unmodifiableList(connectedBlocks);
+  }
+
+  /**
+   * Gets the last common ancestor of the two tips.
+   *
+   * @return last common ancestor.
+   */
+  public Block getCommonAncestor() {
+    return commonAncestor;
+  }
+
+  /**
+   * Gets the blocks to be disconnected, from the current tip down to the common ancestor (exclusive).
+   *
+   * @return blocks to be disconnected.
+   */
+  public List<Block> getDisconnectedBlocks() {
+    return disconnectedBlocks;
+  }
+
+  /**
+   * Gets the blocks to be connected, from the common ancestor (exclusive) up to the new tip.
+   *
+   * @return blocks to be connected.
+   */
+  public List<Block> getConnectedBlocks() {
+    return connectedBlocks;
+  }
+}
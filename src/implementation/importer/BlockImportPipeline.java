@@ -0,0 +1,313 @@
+package implementation.importer;
+
+import blockchain.block.Block;
+import blockchain.transaction.Transaction;
+import blockchain.transaction.TransactionArena;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * {@code BlockImportPipeline} class imports historical blocks into a chain engine in parallel.
+ * <p>
+ * The pipeline has three stages:
+ * <ol>
+ *   <li>the calling thread reads the records and numbers them in chain order,</li>
+ *   <li>worker threads construct the transactions and blocks (block hash and merkle tree) in parallel,</li>
+ *   <li>a single inserter thread puts the blocks back in chain order through a reorder buffer and inserts
+ *   them into the chain (e.g., {@code LinkedListBlockChain::insert} or {@code SplayTreeBlockChain::insert}).</li>
+ * </ol>
+ * The queue between the reader and the workers is bounded and workers need a reorder buffer slot before they
+ * take a record, so a slow stage blocks the stages before it instead of growing the heap.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class BlockImportPipeline {
+
+  // Wait between two checks for a failure of another stage in milliseconds.
+  private static final long POLL_INTERVAL_MS = 10;
+
+  // Marks the end of the records for a worker.
+  private static final Task END_OF_RECORDS = new Task(-1, null);
+
+  // Number of construction workers.
+  private final int workers;
+
+  // Capacity of the queue between the reader and the workers.
+  private final int queueCapacity;
+
+  // Capacity of the reorder buffer (blocks constructed but not inserted yet).
+  private final int reorderWindow;
+
+  /**
+   * Constructs this {@code BlockImportPipeline} with one worker per available core.
+   */
+  public BlockImportPipeline() {
+    this(Runtime.getRuntime().availableProcessors(), 1024, 4096);
+  }
+
+  /**
+   * Constructs this {@code BlockImportPipeline}.
+   *
+   * @param workers       number of construction workers.
+   * @param queueCapacity capacity of the queue between the reader and the workers.
+   * @param reorderWindow capacity of the reorder buffer.
+   */
+  public BlockImportPipeline(final int workers, final int queueCapacity, final int reorderWindow) {
+    if (workers < 1 || queueCapacity < 1 || reorderWindow < 1) {
+      throw new IllegalArgumentException("Workers, queue capacity and reorder window must be positive");
+    }
+    this.workers = workers;
+    this.queueCapacity = queueCapacity;
+    this.reorderWindow = reorderWindow;
+  }
+
+  /**
+   * Imports the records in chain order into the chain.
+   *
+   * @param records records in chain order.
+   * @param chain   insert function of the chain.
+   *
+   * @return statistics of the import.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm is not available.
+   * @throws InterruptedException     if interrupted while importing.
+   */
+  public ImportStatistics run(final Iterator<BlockImportRecord> records,
+                              final Consumer<Block> chain) throws NoSuchAlgorithmException, InterruptedException {
+    final Run run = new Run();
+    final long startTime = System.nanoTime();
+
+    final List<Thread> threads = new ArrayList<>(workers + 1);
+    for (int w = 0; w < workers; ++w) {
+      threads.add(new Thread(() -> guard(run, () -> construct(run)), "block-import-worker-" + w));
+    }
+    threads.add(new Thread(() -> guard(run, () -> insert(run, chain)), "block-import-inserter"));
+    for (final Thread thread : threads) {
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    // Any failure of the reader (including an interrupt) must stop the other stages before they are joined.
+    guard(run, () -> read(run, records));
+    boolean interrupted = false;
+    for (final Thread thread : threads) {
+      while (thread.isAlive()) {
+        try {
+          thread.join();
+        } catch (final InterruptedException e) {
+          interrupted = true;
+          run.failure.compareAndSet(null, e);
+        }
+      }
+    }
+
+    final Throwable failure = run.failure.get();
+    if (interrupted && !(failure instanceof InterruptedException)) {
+      Thread.currentThread().interrupt();
+    }
+    if (failure instanceof NoSuchAlgorithmException) {
+      throw (NoSuchAlgorithmException) failure;
+    } else if (failure instanceof InterruptedException) {
+      throw (InterruptedException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new IllegalStateException("Block import failed", failure);
+    }
+    return new ImportStatistics(run.inserted, System.nanoTime() - startTime,
+        run.readTime, run.readStallTime, run.constructTime.get(), workers, run.insertTime, run.insertStallTime);
+  }
+
+  /**
+   * Reads and numbers the records, blocking while the queue is full.
+   *
+   * @param run     state of the import.
+   * @param records records in chain order.
+   *
+   * @throws InterruptedException if interrupted while waiting for the queue.
+   */
+  private void read(final Run run, final Iterator<BlockImportRecord> records) throws InterruptedException {
+    long sequence = 0;
+    try {
+      while (run.failure.get() == null) {
+        final long readStart = System.nanoTime();
+        if (!records.hasNext()) {
+          break;
+        }
+        final Task task = new Task(sequence, records.next());
+        final long enqueueStart = System.nanoTime();
+        run.readTime += enqueueStart - readStart;
+        while (!run.queue.offer(task, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+          if (run.failure.get() != null) {
+            return;
+          }
+        }
+        run.readStallTime += System.nanoTime() - enqueueStart;
+        ++sequence;
+      }
+    } finally {
+      run.totalRecords = sequence;
+      for (int w = 0; w < workers; ++w) {
+        while (!run.queue.offer(END_OF_RECORDS, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+          if (run.failure.get() != null) {
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Constructs blocks until the end of the records (worker stage).
+   *
+   * @param run state of the import.
+   *
+   * @throws Exception if a block cannot be constructed.
+   */
+  private void construct(final Run run) throws Exception {
+    while (run.failure.get() == null) {
+      if (!run.window.tryAcquire(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+        continue;
+      }
+      final Task task = run.queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      if (task == null) {
+        run.window.release();
+        continue;
+      }
+      if (task == END_OF_RECORDS) {
+        run.window.release();
+        return;
+      }
+      final long startTime = System.nanoTime();
+      final Block block = toBlock(task.record);
+      run.constructTime.addAndGet(System.nanoTime() - startTime);
+      run.reorderBuffer.set((int) (task.sequence % reorderWindow), block);
+    }
+  }
+
+  /**
+   * Inserts the blocks in chain order until all the records are inserted (inserter stage).
+   *
+   * @param run   state of the import.
+   * @param chain insert function of the chain.
+   *
+   * @throws InterruptedException if interrupted while waiting for the next block.
+   */
+  private void insert(final Run run, final Consumer<Block> chain) throws InterruptedException {
+    long stallStart = System.nanoTime();
+    while (run.failure.get() == null && run.inserted != run.totalRecords) {
+      final int slot = (int) (run.inserted % reorderWindow);
+      final Block block = run.reorderBuffer.getAndSet(slot, null);
+      if (block == null) {
+        // Spin briefly, then back off, while the next block in chain order is being constructed.
+        Thread.onSpinWait();
+        if (System.nanoTime() - stallStart > 1_000_000L) {
+          Thread.sleep(0, 100_000);
+        }
+        continue;
+      }
+      final long insertStart = System.nanoTime();
+      run.insertStallTime += insertStart - stallStart;
+      chain.accept(block);
+      ++run.inserted;
+      run.window.release();
+      stallStart = System.nanoTime();
+      run.insertTime += stallStart - insertStart;
+    }
+  }
+
+  /**
+   * Constructs the block of the record.
+   *
+   * @param record record of the block.
+   *
+   * @return constructed block.
+   *
+   * @throws NoSuchAlgorithmException if hashing algorithm is not available.
+   */
+  private static Block toBlock(final BlockImportRecord record) throws NoSuchAlgorithmException {
+    final List<Transaction> transactions = record.getTransactionContents() == null
+        ? null
+        : TransactionArena.of(record.getTransactionContents()).getTransactions();
+    return new Block(record.getBlockId(), record.getPreBlockHash(), transactions);
+  }
+
+  /**
+   * Runs a stage and records its failure, which stops every other stage.
+   *
+   * @param run   state of the import.
+   * @param stage stage to be run.
+   */
+  private static void guard(final Run run, final Stage stage) {
+    try {
+      stage.run();
+    } catch (final Throwable t) {
+      run.failure.compareAndSet(null, t);
+    }
+  }
+
+  /**
+   * {@code Stage} is a stage of the pipeline.
+   */
+  @FunctionalInterface
+  private interface Stage {
+    void run() throws Exception;
+  }
+
+  /**
+   * {@code Task} class is a record numbered in chain order.
+   */
+  private static final class Task {
+    private final long sequence;
+    private final BlockImportRecord record;
+
+    private Task(final long sequence, final BlockImportRecord record) {
+      this.sequence = sequence;
+      this.record = record;
+    }
+  }
+
+  /**
+   * {@code Run} class holds the state of one import.
+   */
+  private final class Run {
+    // Queue between the reader and the workers.
+    private final BlockingQueue<Task> queue = new ArrayBlockingQueue<>(queueCapacity);
+
+    // Free slots of the reorder buffer.
+    private final Semaphore window = new Semaphore(reorderWindow);
+
+    // Constructed blocks by sequence modulo the reorder window.
+    private final AtomicReferenceArray<Block> reorderBuffer = new AtomicReferenceArray<>(reorderWindow);
+
+    // First failure of any stage.
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // Number of records read (-1 while reading).
+    private volatile long totalRecords = -1;
+
+    // Construct time summed over all the workers.
+    private final AtomicLong constructTime = new AtomicLong();
+
+    // Reader statistics (reader thread only).
+    private long readTime;
+    private long readStallTime;
+
+    // Inserter statistics (inserter thread only, read after join).
+    private long inserted;
+    private long insertTime;
+    private long insertStallTime;
+  }
+}
@@ -0,0 +1,64 @@
+package implementation.importer;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code BlockImportRecord} class holds the raw data of a historical block to be imported.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class BlockImportRecord {
+
+  // Unique block id.
+  private final long blockId;
+
+  // Previous block hash.
+  private final String preBlockHash;
+
+  // Contents of the transactions of the block (null for a block without transactions).
+  private final List<String> transactionContents;
+
+  /**
+   * Constructs this {@code BlockImportRecord}.
+   *
+   * @param blockId             unique block id.
+   * @param preBlockHash        previous block hash.
+   * @param transactionContents contents of the transactions or null for a block without transactions.
+   */
+  public BlockImportRecord(final long blockId,
+                           final String preBlockHash,
+                           final List<String> transactionContents) {
+    this.blockId = blockId;
+    this.preBlockHash = preBlockHash;
+    this.transactionContents = (transactionContents == null) ? null : Collections.unmodifiableList(transactionContents);
+  }
+
+  /**
+   * Gets the unique block id.
+   *
+   * @return unique block id.
+   */
+  public long getBlockId() {
+    return blockId;
+  }
+
+  /**
+   * Gets the previous block hash.
+   *
+   * @return previous block hash.
+   */
+  public String getPreBlockHash() {
+    return preBlockHash;
+  }
+
+  /**
+   * Gets the contents of the transactions of the block.
+   *
+   * @return contents of the transactions or null for a block without transactions.
+   */
+  public List<String> getTransactionContents() {
+    return transactionContents;
+  }
+}
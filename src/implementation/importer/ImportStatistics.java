@@ -0,0 +1,147 @@
+package implementation.importer;
+
+/**
+ * {@code ImportStatistics} class holds the throughput of every stage of a block import.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class ImportStatistics {
+
+  // Number of imported blocks.
+  private final long importedBlocks;
+
+  // Wall clock time of the import in nanoseconds.
+  private final long elapsedTime;
+
+  // Time spent reading records from the source in nanoseconds.
+  private final long readTime;
+
+  // Time the reader was blocked by a full queue (backpressure) in nanoseconds.
+  private final long readStallTime;
+
+  // Time spent constructing blocks, summed over all the workers, in nanoseconds.
+  private final long constructTime;
+
+  // Number of construction workers.
+  private final int workers;
+
+  // Time spent inserting blocks into the chain in nanoseconds.
+  private final long insertTime;
+
+  // Time the inserter waited for the next block in chain order in nanoseconds.
+  private final long insertStallTime;
+
+  /**
+   * Constructs this {@code ImportStatistics}.
+   *
+   * @param importedBlocks  number of imported blocks.
+   * @param elapsedTime     wall clock time of the import.
+   * @param readTime        time spent reading records from the source.
+   * @param readStallTime   time the reader was blocked by a full queue.
+   * @param constructTime   time spent constructing blocks, summed over all the workers.
+   * @param workers         number of construction workers.
+   * @param insertTime      time spent inserting blocks into the chain.
+   * @param insertStallTime time the inserter waited for the next block in chain order.
+   */
+  public ImportStatistics(final long importedBlocks,
+                          final long elapsedTime,
+                          final long readTime,
+                          final long readStallTime,
+                          final long constructTime,
+                          final int workers,
+                          final long insertTime,
+                          final long insertStallTime) {
+    this.importedBlocks = importedBlocks;
+    this.elapsedTime = elapsedTime;
+    this.readTime = readTime;
+    this.readStallTime = readStallTime;
+    this.constructTime = constructTime;
+    this.workers = workers;
+    this.insertTime = insertTime;
+    this.insertStallTime = insertStallTime;
+  }
+
+  /**
+   * Gets the number of imported blocks.
+   *
+   * @return number of imported blocks.
+   */
+  public long getImportedBlocks() {
+    return importedBlocks;
+  }
+
+  /**
+   * Gets the wall clock time of the import.
+   *
+   * @return wall clock time in nanoseconds.
+   */
+  public long getElapsedTime() {
+    return elapsedTime;
+  }
+
+  /**
+   * Gets the time the reader was blocked by a full queue (backpressure).
+   *
+   * @return read stall time in nanoseconds.
+   */
+  public long getReadStallTime() {
+    return readStallTime;
+  }
+
+  /**
+   * Gets the time the inserter waited for the next block in chain order.
+   *
+   * @return insert stall time in nanoseconds.
+   */
+  public long getInsertStallTime() {
+    return insertStallTime;
+  }
+
+  /**
+   * Gets the overall throughput of the import.
+   *
+   * @return imported blocks per second.
+   */
+  public double getThroughput() {
+    return perSecond(elapsedTime);
+  }
+
+  /**
+   * Gets the throughput of the read stage if it was the only stage.
+   *
+   * @return blocks read per second of read time.
+   */
+  public double getReadThroughput() {
+    return perSecond(readTime);
+  }
+
+  /**
+   * Gets the throughput of the construct stage with all its workers.
+   *
+   * @return blocks constructed per second of construct time per worker.
+   */
+  public double getConstructThroughput() {
+    return perSecond(constructTime / Math.max(1, workers));
+  }
+
+  /**
+   * Gets the throughput of the insert stage if it was the only stage.
+   *
+   * @return blocks inserted per second of insert time.
+   */
+  public double getInsertThroughput() {
+    return perSecond(insertTime);
+  }
+
+  /**
+   * Converts the number of imported blocks into a rate.
+   *
+   * @param time time in nanoseconds.
+   *
+   * @return imported blocks per second of the time.
+   */
+  private double perSecond(final long time) {
+    return importedBlocks / (Math.max(1, time) / 1e9);
+  }
+}
@@ -0,0 +1,269 @@
+package implementation.index;
+
+import blockchain.block.Block;
+
+import java.util.function.Predicate;
+
+/**
+ * {@code BlockHashIndex} class is a secondary index of the blocks by block hash.
+ * <p>
+ * The index is an open addressing hash table keyed by the first 64 bits of the block hash (parsed from its
+ * hex form), stored as a primitive long next to the block reference. A lookup compares the 64-bit prefixes
+ * first and only compares the full hash strings on a prefix match, so prefix collisions fall back to the full
+ * hash while an entry costs one long and one reference.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class BlockHashIndex {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  // Number of hex characters in the 64-bit prefix.
+  private static final int PREFIX_LENGTH = 16;
+
+  // 64-bit prefixes of the block hashes.
+  private long[] prefixes;
+
+  // Indexed blocks (null for an empty slot).
+  private Block[] blocks;
+
+  // Number of indexed blocks.
+  private int size;
+
+  /**
+   * Constructs this {@code BlockHashIndex}.
+   */
+  public BlockHashIndex() {
+    this.prefixes = new long[DEFAULT_CAPACITY];
+    this.blocks = new Block[DEFAULT_CAPACITY];
+    this.size = 0;
+  }
+
+  /**
+   * Inserts the block into the index. Blocks without a hash are not indexed.
+   *
+   * @param block block to be inserted.
+   */
+  public void insert(final Block block) {
+    if (block.getBlockHash() == null) {
+      return;
+    }
+    if ((size + 1) << 1 > blocks.length) {
+      resize(blocks.length << 1);
+    }
+    final long prefix = prefix(block.getBlockHash());
+    final int mask = blocks.length - 1;
+    int slot = slot(prefix, mask);
+    while (blocks[slot] != null) {
+      slot = (slot + 1) & mask;
+    }
+    prefixes[slot] = prefix;
+    blocks[slot] = block;
+    ++size;
+  }
+
+  /**
+   * Searches the block.
+   *
+   * @param blockHash block hash to be searched.
+   *
+   * @return block found or null if no block has the hash.
+   */
+  public Block search(final String blockHash) {
+    if (blockHash == null) {
+      return null;
+    }
+    final long prefix = prefix(blockHash);
+    final int mask = blocks.length - 1;
+    for (int slot = slot(prefix, mask); blocks[slot] != null; slot = (slot + 1) & mask) {
+      if (prefixes[slot] == prefix && blocks[slot].getBlockHash().equals(blockHash)) {
+        return blocks[slot];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Removes the block from the index.
+   *
+   * @param block block to be removed.
+   *
+   * @return true if the block was indexed otherwise false.
+   */
+  public boolean remove(final Block block) {
+    if (block.getBlockHash() == null) {
+      return false;
+    }
+    final long prefix = prefix(block.getBlockHash());
+    final int mask = blocks.length - 1;
+    for (int slot = slot(prefix, mask); blocks[slot] != null; slot = (slot + 1) & mask) {
+      if (blocks[slot] == block) {
+        deleteSlot(slot);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Removes all the blocks that satisfy the filter in a single pass over the table.
+   *
+   * @param filter filter that returns true for the blocks to be removed.
+   *
+   * @return number of removed blocks.
+   */
+  public int removeIf(final Predicate<Block> filter) {
+    final long[] oldPrefixes = prefixes;
+    final Block[] oldBlocks = blocks;
+    final int oldSize = size;
+    int capacity = DEFAULT_CAPACITY;
+    while (capacity < oldBlocks.length && capacity < (oldSize << 1)) {
+      capacity <<= 1;
+    }
+    prefixes = new long[capacity];
+    blocks = new Block[capacity];
+    size = 0;
+    for (int i = 0; i < oldBlocks.length; ++i) {
+      if (oldBlocks[i] != null && !filter.test(oldBlocks[i])) {
+        if ((size + 1) << 1 > blocks.length) {
+          resize(blocks.length << 1);
+        }
+        put(oldPrefixes[i], oldBlocks[i]);
+      }
+    }
+    return oldSize - size;
+  }
+
+  /**
+   * Moves all the blocks that satisfy the filter into a new index.
+   *
+   * @param filter filter that returns true for the blocks to be moved.
+   *
+   * @return new index with the moved blocks.
+   */
+  public BlockHashIndex split(final Predicate<Block> filter) {
+    final BlockHashIndex other = new BlockHashIndex();
+    removeIf(block -> {
+      if (filter.test(block)) {
+        other.insert(block);
+        return true;
+      }
+      return false;
+    });
+    return other;
+  }
+
+  /**
+   * Moves all the blocks of the other index into this index, leaving the other index empty.
+   *
+   * @param other index to be merged into this index.
+   */
+  public void merge(final BlockHashIndex other) {
+    for (final Block block : other.blocks) {
+      if (block != null) {
+        insert(block);
+      }
+    }
+    other.prefixes = new long[DEFAULT_CAPACITY];
+    other.blocks = new Block[DEFAULT_CAPACITY];
+    other.size = 0;
+  }
+
+  /**
+   * Gets the number of indexed blocks.
+   *
+   * @return number of indexed blocks.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Deletes the slot by shifting back the following entries of its probe sequence.
+   *
+   * @param slot slot to be deleted.
+   */
+  private void deleteSlot(int slot) {
+    final int mask = blocks.length - 1;
+    int next = (slot + 1) & mask;
+    while (blocks[next] != null) {
+      final int home = slot(prefixes[next], mask);
+      // Move the entry back if its home slot is not in the cyclic range (slot, next].
+      if (((next - home) & mask) >= ((next - slot) & mask)) {
+        prefixes[slot] = prefixes[next];
+        blocks[slot] = blocks[next];
+        slot = next;
+      }
+      next = (next + 1) & mask;
+    }
+    blocks[slot] = null;
+    --size;
+  }
+
+  /**
+   * Resizes the table and reinserts all the blocks.
+   *
+   * @param capacity new capacity (a power of two).
+   */
+  private void resize(final int capacity) {
+    final long[] oldPrefixes = prefixes;
+    final Block[] oldBlocks = blocks;
+    prefixes = new long[capacity];
+    blocks = new Block[capacity];
+    size = 0;
+    for (int i = 0; i < oldBlocks.length; ++i) {
+      if (oldBlocks[i] != null) {
+        put(oldPrefixes[i], oldBlocks[i]);
+      }
+    }
+  }
+
+  /**
+   * Puts the block into the first free slot of its probe sequence.
+   *
+   * @param prefix 64-bit prefix of the block hash.
+   * @param block  block to be put.
+   */
+  private void put(final long prefix, final Block block) {
+    final int mask = blocks.length - 1;
+    int slot = slot(prefix, mask);
+    while (blocks[slot] != null) {
+      slot = (slot + 1) & mask;
+    }
+    prefixes[slot] = prefix;
+    blocks[slot] = block;
+    ++size;
+  }
+
+  /**
+   * Gets the home slot of the prefix.
+   *
+   * @param prefix 64-bit prefix of the block hash.
+   * @param mask   table capacity minus one.
+   *
+   * @return home slot of the prefix.
+   */
+  private static int slot(final long prefix, final int mask) {
+    return (int) ((prefix * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+
+  /**
+   * Parses the first 64 bits of the hex block hash without allocating.
+   * <p>
+   * Non hex characters are folded in as well, so any string maps to a prefix; the full hash comparison on
+   * lookup keeps the index correct for them.
+   *
+   * @param blockHash hex block hash.
+   *
+   * @return 64-bit prefix of the block hash.
+   */
+  private static long prefix(final String blockHash) {
+    long prefix = 0;
+    final int length = Math.min(PREFIX_LENGTH, blockHash.length());
+    for (int i = 0; i < length; ++i) {
+      prefix = (prefix << 4) | (Character.digit(blockHash.charAt(i), 16) & 0xF);
+    }
+    return prefix;
+  }
+}
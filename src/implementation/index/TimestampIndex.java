@@ -0,0 +1,309 @@
+package implementation.index;
+
+import blockchain.block.Block;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * {@code TimestampIndex} class is a secondary index of the blocks ordered by their timestamp of creation.
+ * <p>
+ * The index is stored as two parallel arrays (primitive timestamps and blocks) sorted by timestamp, so an
+ * entry costs one long and one reference instead of a map entry and a boxed key. Blocks are usually created
+ * in timestamp order, so an insert is normally an append; an out of order insert shifts the tail of the arrays.
+ * A removed block only leaves a null slot behind (its timestamp stays, so the arrays remain sorted); the slots
+ * are compacted once they outnumber the indexed blocks, so a removal costs O(log n) amortized.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class TimestampIndex {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  // Timestamps of the indexed blocks in ascending order.
+  private long[] timeStamps;
+
+  // Indexed blocks in the same order as the timestamps.
+  private Block[] blocks;
+
+  // Number of used slots, including the slots of removed blocks.
+  private int used;
+
+  // Number of indexed blocks.
+  private int size;
+
+  // Number of structural modifications, used to detect modifications during iteration.
+  private int modCount;
+
+  /**
+   * Constructs this {@code TimestampIndex}.
+   */
+  public TimestampIndex() {
+    this.timeStamps = new long[DEFAULT_CAPACITY];
+    this.blocks = new Block[DEFAULT_CAPACITY];
+    this.used = 0;
+    this.size = 0;
+    this.modCount = 0;
+  }
+
+  /**
+   * Inserts the block into the index.
+   *
+   * @param block block to be inserted.
+   */
+  public void insert(final Block block) {
+    if (used == timeStamps.length) {
+      if (used - size > size) {
+        compact();
+      } else {
+        timeStamps = Arrays.copyOf(timeStamps, used << 1);
+        blocks = Arrays.copyOf(blocks, used << 1);
+      }
+    }
+    final long timeStamp = block.getTimeStamp();
+    int index = used;
+    if (used > 0 && timeStamp < timeStamps[used - 1]) {
+      index = upperBound(timeStamp);
+      System.arraycopy(timeStamps, index, timeStamps, index + 1, used - index);
+      System.arraycopy(blocks, index, blocks, index + 1, used - index);
+    }
+    timeStamps[index] = timeStamp;
+    blocks[index] = block;
+    ++used;
+    ++size;
+    ++modCount;
+  }
+
+  /**
+   * Removes the block from the index in O(log n) amortized.
+   *
+   * @param block block to be removed.
+   *
+   * @return true if the block was indexed otherwise false.
+   */
+  public boolean remove(final Block block) {
+    for (int index = lowerBound(block.getTimeStamp()); index < used && timeStamps[index] == block.getTimeStamp(); ++index) {
+      if (blocks[index] == block) {
+        blocks[index] = null;
+        --size;
+        ++modCount;
+        if (used - size > Math.max(size, DEFAULT_CAPACITY)) {
+          compact();
+        }
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Drops the slots of the removed blocks.
+   */
+  private void compact() {
+    int kept = 0;
+    for (int index = 0; index < used; ++index) {
+      if (blocks[index] != null) {
+        timeStamps[kept] = timeStamps[index];
+        blocks[kept] = blocks[index];
+        ++kept;
+      }
+    }
+    Arrays.fill(blocks, kept, used, null);
+    used = kept;
+    ++modCount;
+  }
+
+  /**
+   * Removes all the blocks that satisfy the filter in a single pass over the index.
+   *
+   * @param filter filter that returns true for the blocks to be removed.
+   *
+   * @return number of removed blocks.
+   */
+  public int removeIf(final Predicate<Block> filter) {
+    int kept = 0;
+    for (int index = 0; index < used; ++index) {
+      if (blocks[index] != null && !filter.test(blocks[index])) {
+        timeStamps[kept] = timeStamps[index];
+        blocks[kept] = blocks[index];
+        ++kept;
+      }
+    }
+    final int removed = size - kept;
+    Arrays.fill(blocks, kept, used, null);
+    used = kept;
+    size = kept;
+    ++modCount;
+    return removed;
+  }
+
+  /**
+   * Moves all the blocks that satisfy the filter into a new index in a single pass over this index.
+   *
+   * @param filter filter that returns true for the blocks to be moved.
+   *
+   * @return new index with the moved blocks.
+   */
+  public TimestampIndex split(final Predicate<Block> filter) {
+    final TimestampIndex other = new TimestampIndex();
+    removeIf(block -> {
+      if (filter.test(block)) {
+        other.insert(block);
+        return true;
+      }
+      return false;
+    });
+    return other;
+  }
+
+  /**
+   * Moves all the blocks of the other index into this index, leaving the other index empty.
+   *
+   * @param other index to be merged into this index.
+   */
+  public void merge(final TimestampIndex other) {
+    compact();
+    other.compact();
+    final long[] mergedTimeStamps = new long[Math.max(DEFAULT_CAPACITY, size + other.size)];
+    final Block[] mergedBlocks = new Block[mergedTimeStamps.length];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < size || j < other.size) {
+      if (j == other.size || (i < size && timeStamps[i] <= other.timeStamps[j])) {
+        mergedTimeStamps[k] = timeStamps[i];
+        mergedBlocks[k++] = blocks[i++];
+      } else {
+        mergedTimeStamps[k] = other.timeStamps[j];
+        mergedBlocks[k++] = other.blocks[j++];
+      }
+    }
+    timeStamps = mergedTimeStamps;
+    blocks = mergedBlocks;
+    used = k;
+    size = k;
+    ++modCount;
+    other.timeStamps = new long[DEFAULT_CAPACITY];
+    other.blocks = new Block[DEFAULT_CAPACITY];
+    other.used = 0;
+    other.size = 0;
+    ++other.modCount;
+  }
+
+  /**
+   * Gets the number of indexed blocks.
+   *
+   * @return number of indexed blocks.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets an iterator over the blocks created between two timestamps (both inclusive) in timestamp order.
+   * <p>
+   * Blocks are produced lazily while iterating. The index may be modified during iteration: the iterator then
+   * resumes after the last block it returned, so blocks inserted or removed behind it are not revisited, and
+   * blocks inserted ahead of it within the time window are visited.
+   *
+   * @param fromTimeStamp lowest timestamp (inclusive).
+   * @param toTimeStamp   highest timestamp (inclusive).
+   *
+   * @return iterator over the blocks created in the time window.
+   */
+  public Iterator<Block> rangeIterator(final long fromTimeStamp, final long toTimeStamp) {
+    return new Iterator<>() {
+      private int expectedModCount = modCount;
+      private int index = lowerBound(fromTimeStamp);
+      private Block lastBlock = null;
+
+      @Override
+      public boolean hasNext() {
+        if (expectedModCount != modCount) {
+          expectedModCount = modCount;
+          if (lastBlock != null) {
+            index = indexAfter(lastBlock);
+          } else {
+            index = lowerBound(fromTimeStamp);
+          }
+        }
+        while (index < used && blocks[index] == null) {
+          ++index;
+        }
+        return index < used && timeStamps[index] <= toTimeStamp;
+      }
+
+      @Override
+      public Block next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        lastBlock = blocks[index++];
+        return lastBlock;
+      }
+    };
+  }
+
+  /**
+   * Gets the index of the slot following the block, or of the first slot after the blocks created at the same
+   * timestamp if the block has been removed.
+   *
+   * @param block block to be located.
+   *
+   * @return index of the slot following the block.
+   */
+  private int indexAfter(final Block block) {
+    final long timeStamp = block.getTimeStamp();
+    for (int index = lowerBound(timeStamp); index < used && timeStamps[index] == timeStamp; ++index) {
+      if (blocks[index] == block) {
+        return index + 1;
+      }
+    }
+    return upperBound(timeStamp);
+  }
+
+  /**
+   * Gets the index of the first timestamp greater than or equal to the timestamp provided.
+   *
+   * @param timeStamp timestamp to be searched.
+   *
+   * @return index of the first timestamp greater than or equal to {@code timeStamp}.
+   */
+  private int lowerBound(final long timeStamp) {
+    int low = 0;
+    int high = used;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (timeStamps[mid] < timeStamp) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Gets the index of the first timestamp greater than the timestamp provided.
+   *
+   * @param timeStamp timestamp to be searched.
+   *
+   * @return index of the first timestamp greater than {@code timeStamp}.
+   */
+  private int upperBound(final long timeStamp) {
+    int low = 0;
+    int high = used;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (timeStamps[mid] <= timeStamp) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -1,21 +1,50 @@
 package implementation.linkedlist;
 
 import blockchain.block.Block;
+import blockchain.block.BlockArchive;
+import blockchain.stream.BlockHeaderPublisher;
+import implementation.index.BlockHashIndex;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * {@code LinkedListBlockChain} class is the linked list implementation of the the blocks in the blockchain.
+ * <p>
+ * The list is doubly linked (the left block is the previous block) so that blocks are appended at the tail in
+ * O(1) and {@link #fingerSearch(long)} can scan outward from the newest or the last accessed block.
  *
  * @author Dhrumil Amish Shah
  * @version 1.0.0
  */
-public final class LinkedListBlockChain {
+public final class LinkedListBlockChain implements Iterable<Block> {
   private Block rootBlock;
 
+  // Newest (last) block of the chain.
+  private Block tailBlock;
+
+  // Whether the block ids never decrease along the chain (true while blocks are appended in id order).
+  private boolean idOrdered;
+
+  // Block found by the last finger search (null if none or if it may have been unlinked).
+  private Block lastAccessedBlock;
+
+  // Secondary index of the blocks by block hash.
+  private final BlockHashIndex blockHashIndex;
+
+  // Publisher of the headers of inserted blocks (created on first use).
+  private BlockHeaderPublisher publisher;
+
   /**
    * Constructs this {@code LinkedListBlockChain}.
    */
   public LinkedListBlockChain() {
     this.rootBlock = null;
+    this.tailBlock = null;
+    this.idOrdered = true;
+    this.lastAccessedBlock = null;
+    this.blockHashIndex = new BlockHashIndex();
+    this.publisher = null;
   }
 
   /**
@@ -24,15 +53,21 @@ public final class LinkedListBlockChain {
    * @param block block to be inserted.
    */
   public void insert(final Block block) {
+    blockHashIndex.insert(block);
+    block.setLeftBlock(tailBlock);
     if (rootBlock == null) {
       rootBlock = block;
-      return;
+      idOrdered = true;
+    } else {
+      if (block.getBlockId() < tailBlock.getBlockId()) {
+        idOrdered = false;
+      }
+      tailBlock.setRightBlock(block);
     }
-    Block tempBlock = rootBlock;
-    while (tempBlock.getRightBlock() != null) {
-      tempBlock = tempBlock.getRightBlock();
+    tailBlock = block;
+    if (publisher != null) {
+      publisher.publish(block);
     }
-    tempBlock.setRightBlock(block);
   }
 
   /**
@@ -52,4 +87,233 @@ public final class LinkedListBlockChain {
     }
     return null;
   }
-}
\ No newline at end of file
+
+  /**
+   * Searches the block starting from the finger (the newest block or the block found by the last finger search)
+   * whose id is closer to the block id, scanning both ways from it.
+   * <p>
+   * When most searches target recent blocks, or blocks next to the previous one, the cost is O(d) for a block d
+   * positions away from the finger instead of O(n) from the oldest block. While blocks have been appended in id
+   * order, the scan only walks towards the block id and stops as soon as the ids pass it, so a missing block
+   * costs O(d) as well. Once a block has been appended out of id order, both ways are scanned and a missing
+   * block costs a full scan.
+   *
+   * @param blockId block id to be searched.
+   *
+   * @return block found.
+   */
+  public Block fingerSearch(final long blockId) {
+    Block finger = tailBlock;
+    if (lastAccessedBlock != null
+        && distance(lastAccessedBlock.getBlockId(), blockId) < distance(finger.getBlockId(), blockId)) {
+      finger = lastAccessedBlock;
+    }
+    if (finger == null) {
+      return null;
+    }
+    if (idOrdered) {
+      Block block = finger;
+      if (blockId < finger.getBlockId()) {
+        while (block != null && block.getBlockId() > blockId) {
+          block = block.getLeftBlock();
+        }
+      } else {
+        while (block != null && block.getBlockId() < blockId) {
+          block = block.getRightBlock();
+        }
+      }
+      if (block != null && block.getBlockId() == blockId) {
+        lastAccessedBlock = block;
+        return block;
+      }
+      return null;
+    }
+    Block leftBlock = finger;
+    Block rightBlock = finger.getRightBlock();
+    while (leftBlock != null || rightBlock != null) {
+      if (leftBlock != null) {
+        if (leftBlock.getBlockId() == blockId) {
+          lastAccessedBlock = leftBlock;
+          return leftBlock;
+        }
+        leftBlock = leftBlock.getLeftBlock();
+      }
+      if (rightBlock != null) {
+        if (rightBlock.getBlockId() == blockId) {
+          lastAccessedBlock = rightBlock;
+          return rightBlock;
+        }
+        rightBlock = rightBlock.getRightBlock();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the distance between two block ids.
+   *
+   * @param a first block id.
+   * @param b second block id.
+   *
+   * @return distance, saturated at Long.MAX_VALUE.
+   */
+  private static long distance(final long a, final long b) {
+    final long distance = a > b ? a - b : b - a;
+    return distance < 0 ? Long.MAX_VALUE : distance;
+  }
+
+  /**
+   * Searches the block by block hash using the block hash index.
+   *
+   * @param blockHash block hash to be searched.
+   *
+   * @return block found.
+   */
+  public Block searchByHash(final String blockHash) {
+    return blockHashIndex.search(blockHash);
+  }
+
+  /**
+   * Gets the publisher of the headers of inserted blocks. Subscribers never slow down inserts: see
+   * {@link BlockHeaderPublisher}.
+   * <p>
+   * As in {@link implementation.splaytree.SplayTreeBlockChain}, the publisher is created on first use, so a
+   * chain nobody subscribes to does not own one.
+   *
+   * @return publisher of the headers of inserted blocks.
+   */
+  public BlockHeaderPublisher getPublisher() {
+    if (publisher == null) {
+      publisher = new BlockHeaderPublisher();
+    }
+    return publisher;
+  }
+
+  /**
+   * Deletes the block.
+   *
+   * @param blockId block id to be deleted.
+   *
+   * @return deleted block or null if the block is not found.
+   */
+  public Block delete(final long blockId) {
+    Block tempBlock = rootBlock;
+    while (tempBlock != null) {
+      if (tempBlock.getBlockId() == blockId) {
+        unlink(tempBlock);
+        return tempBlock;
+      }
+      tempBlock = tempBlock.getRightBlock();
+    }
+    return null;
+  }
+
+  /**
+   * Prunes all the blocks with id smaller than the cutoff block id.
+   *
+   * @param cutoffBlockId smallest block id to be kept.
+   *
+   * @return number of pruned blocks.
+   */
+  public int pruneBefore(final long cutoffBlockId) {
+    return pruneBefore(cutoffBlockId, null);
+  }
+
+  /**
+   * Prunes all the blocks with id smaller than the cutoff block id.
+   *
+   * @param cutoffBlockId smallest block id to be kept.
+   * @param archive       cold store for the pruned blocks or null to drop them.
+   *
+   * @return number of pruned blocks.
+   */
+  public int pruneBefore(final long cutoffBlockId, final BlockArchive archive) {
+    int pruned = 0;
+    Block tempBlock = rootBlock;
+    while (tempBlock != null) {
+      final Block nextBlock = tempBlock.getRightBlock();
+      if (tempBlock.getBlockId() < cutoffBlockId) {
+        if (archive != null) {
+          archive.archive(tempBlock);
+        }
+        unlink(tempBlock);
+        ++pruned;
+      }
+      tempBlock = nextBlock;
+    }
+    return pruned;
+  }
+
+  /**
+   * Prunes the oldest blocks so that the chain starts at the height provided.
+   *
+   * @param height  height (position in chain order) of the first block to be kept.
+   * @param archive cold store for the pruned blocks or null to drop them.
+   *
+   * @return number of pruned blocks.
+   */
+  public int pruneBeforeHeight(final long height, final BlockArchive archive) {
+    int pruned = 0;
+    while (rootBlock != null && pruned < height) {
+      final Block block = rootBlock;
+      if (archive != null) {
+        archive.archive(block);
+      }
+      unlink(block);
+      ++pruned;
+    }
+    return pruned;
+  }
+
+  /**
+   * Unlinks the block from the chain.
+   *
+   * @param block block to be unlinked.
+   */
+  private void unlink(final Block block) {
+    blockHashIndex.remove(block);
+    final Block previousBlock = block.getLeftBlock();
+    final Block nextBlock = block.getRightBlock();
+    if (previousBlock == null) {
+      rootBlock = nextBlock;
+    } else {
+      previousBlock.setRightBlock(nextBlock);
+    }
+    if (nextBlock == null) {
+      tailBlock = previousBlock;
+    } else {
+      nextBlock.setLeftBlock(previousBlock);
+    }
+    lastAccessedBlock = null;
+    // Unlinked blocks may be kept by an archive, so they must not keep the rest of the chain reachable.
+    block.setLeftBlock(null);
+    block.setRightBlock(null);
+  }
+
+  /**
+   * Gets an iterator over the blocks in chain (insertion) order.
+   *
+   * @return iterator over the blocks in chain order.
+   */
+  @Override
+  public Iterator<Block> iterator() {
+    return new Iterator<>() {
+      private Block nextBlock = rootBlock;
+
+      @Override
+      public boolean hasNext() {
+        return nextBlock != null;
+      }
+
+      @Override
+      public Block next() {
+        if (nextBlock == null) {
+          throw new NoSuchElementException();
+        }
+        final Block block = nextBlock;
+        nextBlock = nextBlock.getRightBlock();
+        return block;
+      }
+    };
+  }
+}
@@ -0,0 +1,160 @@
+package implementation.persistent;
+
+import blockchain.block.Block;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@code BlockIndexSnapshot} class is one immutable version of the {@link PersistentBlockIndex}.
+ * <p>
+ * Every read of a snapshot sees the same blocks no matter how many inserts happen meanwhile, so long scans
+ * and integrity checks need no lock and never block writers.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class BlockIndexSnapshot implements Iterable<Block> {
+
+  // Root of the version.
+  private final PersistentNode root;
+
+  // Version number (the number of inserts before the version).
+  private final long version;
+
+  /**
+   * Constructs this {@code BlockIndexSnapshot}.
+   *
+   * @param root    root of the version.
+   * @param version version number.
+   */
+  BlockIndexSnapshot(final PersistentNode root, final long version) {
+    this.root = root;
+    this.version = version;
+  }
+
+  /**
+   * Searches the block.
+   *
+   * @param blockId block id to be searched.
+   *
+   * @return block found.
+   */
+  public Block search(final long blockId) {
+    PersistentNode node = root;
+    while (node != null) {
+      if (blockId < node.getBlockId()) {
+        node = node.getLeft();
+      } else if (blockId > node.getBlockId()) {
+        node = node.getRight();
+      } else {
+        return node.getBlock();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the number of blocks in the version.
+   *
+   * @return number of blocks.
+   */
+  public int size() {
+    return PersistentNode.size(root);
+  }
+
+  /**
+   * Gets the version number (the number of inserts before the version).
+   *
+   * @return version number.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets the root of the version.
+   *
+   * @return root of the version.
+   */
+  PersistentNode getRoot() {
+    return root;
+  }
+
+  /**
+   * Iterates the blocks with block ids in {@code [fromBlockId, toBlockId]} in ascending block id order.
+   *
+   * @param fromBlockId lowest block id (inclusive).
+   * @param toBlockId   highest block id (inclusive).
+   *
+   * @return iterator of the blocks in the range.
+   */
+  public Iterator<Block> rangeIterator(final long fromBlockId, final long toBlockId) {
+    return new Iterator<>() {
+      // Nodes whose block and right subtree are still to be visited (AVL height is below 1.45 log2 n + 2).
+      private final PersistentNode[] stack = new PersistentNode[PersistentNode.height(root) + 1];
+
+      // Number of nodes on the stack.
+      private int top = 0;
+
+      {
+        // Push the path to the first block in the range.
+        PersistentNode node = root;
+        while (node != null) {
+          if (node.getBlockId() < fromBlockId) {
+            node = node.getRight();
+          } else {
+            stack[top++] = node;
+            node = node.getLeft();
+          }
+        }
+      }
+
+      @Override
+      public boolean hasNext() {
+        return top > 0 && stack[top - 1].getBlockId() <= toBlockId;
+      }
+
+      @Override
+      public Block next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final PersistentNode node = stack[--top];
+        PersistentNode next = node.getRight();
+        while (next != null) {
+          stack[top++] = next;
+          next = next.getLeft();
+        }
+        return node.getBlock();
+      }
+    };
+  }
+
+  /**
+   * Iterates all the blocks in ascending block id order.
+   *
+   * @return iterator of the blocks.
+   */
+  @Override
+  public Iterator<Block> iterator() {
+    return rangeIterator(Long.MIN_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * Streams the blocks with block ids in {@code [fromBlockId, toBlockId]} in ascending block id order.
+   *
+   * @param fromBlockId lowest block id (inclusive).
+   * @param toBlockId   highest block id (inclusive).
+   *
+   * @return stream of the blocks in the range.
+   */
+  public Stream<Block> searchRange(final long fromBlockId, final long toBlockId) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rangeIterator(fromBlockId, toBlockId),
+        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+  }
+}
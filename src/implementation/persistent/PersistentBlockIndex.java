@@ -0,0 +1,128 @@
+package implementation.persistent;
+
+import blockchain.block.Block;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code PersistentBlockIndex} class is an immutable, versioned AVL tree of the blocks by block id.
+ * <p>
+ * An insert copies only the O(log n) nodes on the path from the root to the new block, shares every other
+ * node with the previous version, and publishes the new root with a compare-and-set. Readers take a
+ * {@link BlockIndexSnapshot} of the current root and traverse it without locks while inserts continue; a
+ * version no longer referenced by a snapshot is reclaimed by the garbage collector. Unlike the splay tree,
+ * searches never restructure the tree, so the tree is kept balanced instead.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class PersistentBlockIndex {
+
+  // Current version of the tree.
+  private final AtomicReference<BlockIndexSnapshot> current;
+
+  /**
+   * Constructs this {@code PersistentBlockIndex}.
+   */
+  public PersistentBlockIndex() {
+    this.current = new AtomicReference<>(new BlockIndexSnapshot(null, 0));
+  }
+
+  /**
+   * Inserts the block, replacing any block with the same block id, and publishes the new version.
+   *
+   * @param block block to be inserted.
+   */
+  public void insert(final Block block) {
+    BlockIndexSnapshot snapshot;
+    BlockIndexSnapshot next;
+    do {
+      snapshot = current.get();
+      next = new BlockIndexSnapshot(insert(snapshot.getRoot(), block), snapshot.getVersion() + 1);
+    } while (!current.compareAndSet(snapshot, next));
+  }
+
+  /**
+   * Searches the block in the current version.
+   *
+   * @param blockId block id to be searched.
+   *
+   * @return block found.
+   */
+  public Block search(final long blockId) {
+    return current.get().search(blockId);
+  }
+
+  /**
+   * Gets the number of blocks in the current version.
+   *
+   * @return number of blocks.
+   */
+  public int size() {
+    return current.get().size();
+  }
+
+  /**
+   * Gets a consistent snapshot of the current version. Later inserts are not visible in the snapshot.
+   *
+   * @return snapshot of the current version.
+   */
+  public BlockIndexSnapshot snapshot() {
+    return current.get();
+  }
+
+  /**
+   * Inserts the block into the subtree by copying the path to it.
+   *
+   * @param node  root of the subtree.
+   * @param block block to be inserted.
+   *
+   * @return root of the new subtree.
+   */
+  private static PersistentNode insert(final PersistentNode node, final Block block) {
+    if (node == null) {
+      return new PersistentNode(block, null, null);
+    }
+    final long blockId = block.getBlockId();
+    if (blockId < node.getBlockId()) {
+      return balance(node.getBlock(), insert(node.getLeft(), block), node.getRight());
+    } else if (blockId > node.getBlockId()) {
+      return balance(node.getBlock(), node.getLeft(), insert(node.getRight(), block));
+    } else {
+      return new PersistentNode(block, node.getLeft(), node.getRight());
+    }
+  }
+
+  /**
+   * Creates a node, rotating it if the heights of its subtrees differ by two.
+   *
+   * @param block block of the node.
+   * @param left  left subtree.
+   * @param right right subtree.
+   *
+   * @return root of the balanced subtree.
+   */
+  private static PersistentNode balance(final Block block, final PersistentNode left, final PersistentNode right) {
+    final int leftHeight = PersistentNode.height(left);
+    final int rightHeight = PersistentNode.height(right);
+    if (leftHeight > rightHeight + 1) {
+      if (PersistentNode.height(left.getLeft()) >= PersistentNode.height(left.getRight())) {
+        return new PersistentNode(left.getBlock(), left.getLeft(), new PersistentNode(block, left.getRight(), right));
+      }
+      final PersistentNode pivot = left.getRight();
+      return new PersistentNode(pivot.getBlock(),
+          new PersistentNode(left.getBlock(), left.getLeft(), pivot.getLeft()),
+          new PersistentNode(block, pivot.getRight(), right));
+    }
+    if (rightHeight > leftHeight + 1) {
+      if (PersistentNode.height(right.getRight()) >= PersistentNode.height(right.getLeft())) {
+        return new PersistentNode(right.getBlock(), new PersistentNode(block, left, right.getLeft()), right.getRight());
+      }
+      final PersistentNode pivot = right.getLeft();
+      return new PersistentNode(pivot.getBlock(),
+          new PersistentNode(block, left, pivot.getLeft()),
+          new PersistentNode(right.getBlock(), pivot.getRight(), right.getRight()));
+    }
+    return new PersistentNode(block, left, right);
+  }
+}
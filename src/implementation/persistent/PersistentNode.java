@@ -0,0 +1,105 @@
+package implementation.persistent;
+
+import blockchain.block.Block;
+
+/**
+ * {@code PersistentNode} class is an immutable node of the {@link PersistentBlockIndex}. Nodes are shared
+ * between versions, so they never change after construction.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+final class PersistentNode {
+
+  // Block of the node.
+  private final Block block;
+
+  // Block id of the block (cached to avoid a dereference per comparison).
+  private final long blockId;
+
+  // Left subtree.
+  private final PersistentNode left;
+
+  // Right subtree.
+  private final PersistentNode right;
+
+  // Height of the subtree.
+  private final int height;
+
+  // Number of blocks in the subtree.
+  private final int size;
+
+  /**
+   * Constructs this {@code PersistentNode}.
+   *
+   * @param block block of the node.
+   * @param left  left subtree.
+   * @param right right subtree.
+   */
+  PersistentNode(final Block block, final PersistentNode left, final PersistentNode right) {
+    this.block = block;
+    this.blockId = block.getBlockId();
+    this.left = left;
+    this.right = right;
+    this.height = Math.max(height(left), height(right)) + 1;
+    this.size = size(left) + size(right) + 1;
+  }
+
+  /**
+   * Gets the height of the subtree.
+   *
+   * @param node root of the subtree.
+   *
+   * @return height of the subtree (0 for an empty subtree).
+   */
+  static int height(final PersistentNode node) {
+    return node == null ? 0 : node.height;
+  }
+
+  /**
+   * Gets the number of blocks in the subtree.
+   *
+   * @param node root of the subtree.
+   *
+   * @return number of blocks in the subtree.
+   */
+  static int size(final PersistentNode node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /**
+   * Gets the block of the node.
+   *
+   * @return block.
+   */
+  Block getBlock() {
+    return block;
+  }
+
+  /**
+   * Gets the block id of the block.
+   *
+   * @return block id.
+   */
+  long getBlockId() {
+    return blockId;
+  }
+
+  /**
+   * Gets the left subtree.
+   *
+   * @return left subtree.
+   */
+  PersistentNode getLeft() {
+    return left;
+  }
+
+  /**
+   * Gets the right subtree.
+   *
+   * @return right subtree.
+   */
+  PersistentNode getRight() {
+    return right;
+  }
+}
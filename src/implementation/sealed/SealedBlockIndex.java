@@ -0,0 +1,248 @@
+package implementation.sealed;
+
+import blockchain.block.Block;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@code SealedBlockIndex} class is a read-only index of finalized blocks in an Eytzinger (breadth-first)
+ * array layout.
+ * <p>
+ * The block ids are stored as primitive longs in the order of a breadth-first traversal of a complete binary
+ * search tree: the children of position {@code k} are at {@code 2k} and {@code 2k + 1}. A search touches the
+ * top levels of every search in the same few cache lines, compares primitives instead of chasing block
+ * pointers, and descends without a data dependent branch, so the CPU can overlap the loads of successive
+ * levels. The 16 descendants four levels below a position are contiguous, so the hardware prefetcher also
+ * sees sequential access deeper down. Blocks are only dereferenced once the id has been found.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class SealedBlockIndex implements Iterable<Block> {
+
+  // Block ids in Eytzinger order (position 0 unused).
+  private final long[] blockIds;
+
+  // Blocks in Eytzinger order (position 0 unused).
+  private final Block[] blocks;
+
+  // Number of blocks.
+  private final int size;
+
+  /**
+   * Constructs this {@code SealedBlockIndex}.
+   *
+   * @param sortedBlocks blocks in strictly ascending block id order.
+   */
+  private SealedBlockIndex(final Block[] sortedBlocks) {
+    this.size = sortedBlocks.length;
+    this.blockIds = new long[size + 1];
+    this.blocks = new Block[size + 1];
+    // In-order traversal of the implicit tree assigns the sorted blocks to their positions.
+    int k = leftmost(1);
+    for (final Block block : sortedBlocks) {
+      blockIds[k] = block.getBlockId();
+      blocks[k] = block;
+      k = successor(k);
+    }
+  }
+
+  /**
+   * Creates the index of the blocks.
+   *
+   * @param sortedBlocks blocks in strictly ascending block id order.
+   *
+   * @return index of the blocks.
+   *
+   * @throws IllegalArgumentException if the blocks are not in strictly ascending block id order.
+   */
+  public static SealedBlockIndex of(final Block[] sortedBlocks) {
+    for (int i = 1; i < sortedBlocks.length; ++i) {
+      if (sortedBlocks[i - 1].getBlockId() >= sortedBlocks[i].getBlockId()) {
+        throw new IllegalArgumentException("Blocks are not in ascending block id order at " + i);
+      }
+    }
+    return new SealedBlockIndex(sortedBlocks);
+  }
+
+  /**
+   * Creates the index of two indexes whose block id ranges do not overlap.
+   *
+   * @param lower index with the lower block ids.
+   * @param upper index with the higher block ids.
+   *
+   * @return index of the blocks of both indexes.
+   *
+   * @throws IllegalArgumentException if the indexes overlap.
+   */
+  public static SealedBlockIndex concat(final SealedBlockIndex lower, final SealedBlockIndex upper) {
+    if (lower.size > 0 && upper.size > 0 && lower.getMaxBlockId() >= upper.getMinBlockId()) {
+      throw new IllegalArgumentException("Indexes overlap at block id " + upper.getMinBlockId());
+    }
+    final Block[] sortedBlocks = new Block[lower.size + upper.size];
+    int i = 0;
+    for (final Block block : lower) {
+      sortedBlocks[i++] = block;
+    }
+    for (final Block block : upper) {
+      sortedBlocks[i++] = block;
+    }
+    return new SealedBlockIndex(sortedBlocks);
+  }
+
+  /**
+   * Searches the block.
+   *
+   * @param blockId block id to be searched.
+   *
+   * @return block found.
+   */
+  public Block search(final long blockId) {
+    final int k = ceilingPosition(blockId);
+    return k != 0 && blockIds[k] == blockId ? blocks[k] : null;
+  }
+
+  /**
+   * Searches the block with the smallest id greater than or equal to the block id provided.
+   *
+   * @param blockId block id.
+   *
+   * @return block found or null if every block id is smaller.
+   */
+  public Block ceiling(final long blockId) {
+    return blocks[ceilingPosition(blockId)];
+  }
+
+  /**
+   * Gets the number of blocks.
+   *
+   * @return number of blocks.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the smallest block id.
+   *
+   * @return smallest block id.
+   *
+   * @throws NoSuchElementException if the index is empty.
+   */
+  public long getMinBlockId() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    return blockIds[leftmost(1)];
+  }
+
+  /**
+   * Gets the largest block id.
+   *
+   * @return largest block id.
+   *
+   * @throws NoSuchElementException if the index is empty.
+   */
+  public long getMaxBlockId() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    int k = 1;
+    while (2 * k + 1 <= size) {
+      k = 2 * k + 1;
+    }
+    return blockIds[k];
+  }
+
+  /**
+   * Gets an iterator over the blocks with id between two block ids (both inclusive) in ascending id order.
+   *
+   * @param fromBlockId lowest block id (inclusive).
+   * @param toBlockId   highest block id (inclusive).
+   *
+   * @return iterator over the blocks found.
+   */
+  public Iterator<Block> rangeIterator(final long fromBlockId, final long toBlockId) {
+    return new Iterator<>() {
+      // Position of the next block (0 if there is none).
+      private int position = ceilingPosition(fromBlockId);
+
+      @Override
+      public boolean hasNext() {
+        return position != 0 && blockIds[position] <= toBlockId;
+      }
+
+      @Override
+      public Block next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final Block block = blocks[position];
+        position = successor(position);
+        return block;
+      }
+    };
+  }
+
+  /**
+   * Gets an iterator over all the blocks in ascending id order.
+   *
+   * @return iterator over all the blocks.
+   */
+  @Override
+  public Iterator<Block> iterator() {
+    return rangeIterator(Long.MIN_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * Finds the position of the smallest block id greater than or equal to the block id provided.
+   * <p>
+   * The descent goes right on every block id smaller than the one searched, so its bits record the path; the
+   * ceiling is the last position where it went left, found by dropping the trailing right turns and the left
+   * turn before them.
+   *
+   * @param blockId block id.
+   *
+   * @return position found or 0 if every block id is smaller.
+   */
+  private int ceilingPosition(final long blockId) {
+    int k = 1;
+    while (k <= size) {
+      k = 2 * k + (blockIds[k] < blockId ? 1 : 0);
+    }
+    return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+  }
+
+  /**
+   * Finds the leftmost position of the subtree.
+   *
+   * @param k root position of the subtree.
+   *
+   * @return leftmost position (0 for an empty index).
+   */
+  private int leftmost(int k) {
+    if (k > size) {
+      return 0;
+    }
+    while (2 * k <= size) {
+      k = 2 * k;
+    }
+    return k;
+  }
+
+  /**
+   * Finds the position of the next block id in ascending order.
+   *
+   * @param k position.
+   *
+   * @return next position or 0 if the position holds the largest block id.
+   */
+  private int successor(int k) {
+    if (2 * k + 1 <= size) {
+      return leftmost(2 * k + 1);
+    }
+    // Climb while coming from a right child, then once more to the parent that is next in order.
+    return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+  }
+}
@@ -0,0 +1,275 @@
+package implementation.sealed;
+
+import blockchain.block.Block;
+import blockchain.stream.BlockHeaderPublisher;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TieredBlockChain} class keeps recent blocks in a splay tree and seals older blocks into read-only
+ * {@link SealedBlockIndex} segments in the background.
+ * <p>
+ * When the splay tree of recent blocks reaches the seal threshold it is frozen and replaced by an empty tree,
+ * which is the only work done on the inserting thread. A background thread then builds a sealed segment from
+ * the frozen tree and publishes it; segments of similar size are concatenated so that there are O(log n)
+ * segments. The frozen tree stays searchable (without splaying, so without locks) until its segment is
+ * published. If sealing fails, the frozen tree is kept as a read-only unsealed tier instead, still searched
+ * without splaying, and the failure is reported by {@link #awaitSealed()}. Blocks must be inserted in ascending
+ * block id order, as block ids are creation timestamps.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class TieredBlockChain implements Closeable {
+
+  // Number of recent blocks at which the recent blocks are sealed.
+  private final int sealThreshold;
+
+  // Background thread sealing the frozen blocks.
+  private final ExecutorService sealer;
+
+  // Largest block id inserted (guarded by this).
+  private long lastBlockId;
+
+  // Splay tree of the recent blocks (guarded by this).
+  private SplayTreeBlockChain recent;
+
+  // Frozen recent blocks being sealed (null if none; cleared under this).
+  private volatile SplayTreeBlockChain frozen;
+
+  // Frozen trees whose sealing failed, searched without splaying (replaced, never modified).
+  private volatile SplayTreeBlockChain[] unsealed;
+
+  // First sealing failure not yet reported by awaitSealed (guarded by this).
+  private Throwable sealFailure;
+
+  // Sealed segments in ascending block id order (replaced, never modified).
+  private volatile SealedBlockIndex[] segments;
+
+  // Publisher of the headers of inserted blocks, kept across seals.
+  private final BlockHeaderPublisher publisher;
+
+  /**
+   * Constructs this {@code TieredBlockChain}.
+   *
+   * @param sealThreshold number of recent blocks at which the recent blocks are sealed.
+   *
+   * @throws IllegalArgumentException if the seal threshold is not positive.
+   */
+  public TieredBlockChain(final int sealThreshold) {
+    if (sealThreshold <= 0) {
+      throw new IllegalArgumentException("Seal threshold must be positive: " + sealThreshold);
+    }
+    this.sealThreshold = sealThreshold;
+    this.sealer = Executors.newSingleThreadExecutor(r -> {
+      final Thread thread = new Thread(r, "block-sealer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.lastBlockId = Long.MIN_VALUE;
+    this.recent = new SplayTreeBlockChain();
+    this.frozen = null;
+    this.unsealed = new SplayTreeBlockChain[0];
+    this.sealFailure = null;
+    this.segments = new SealedBlockIndex[0];
+    this.publisher = new BlockHeaderPublisher();
+  }
+
+  /**
+   * Inserts the block.
+   *
+   * @param block block to be inserted.
+   *
+   * @throws IllegalArgumentException if the block id is not greater than every block id inserted before.
+   */
+  public synchronized void insert(final Block block) {
+    if (block.getBlockId() <= lastBlockId) {
+      throw new IllegalArgumentException("Block id " + block.getBlockId() + " is not greater than " + lastBlockId);
+    }
+    lastBlockId = block.getBlockId();
+    recent.insert(block);
+    publisher.publish(block);
+    if (recent.size() >= sealThreshold && frozen == null && !sealer.isShutdown()) {
+      frozen = recent;
+      recent = new SplayTreeBlockChain();
+      sealer.execute(this::seal);
+    }
+  }
+
+  /**
+   * Gets the publisher of the headers of inserted blocks. The publisher belongs to the chain, not to the tree
+   * of recent blocks, so subscribers keep receiving headers across seals. Subscribers never slow down inserts:
+   * see {@link BlockHeaderPublisher}.
+   *
+   * @return publisher of the headers of inserted blocks.
+   */
+  public BlockHeaderPublisher getPublisher() {
+    return publisher;
+  }
+
+  /**
+   * Searches the block: recent blocks are splayed, frozen and sealed blocks are not.
+   *
+   * @param blockId block id to be searched.
+   *
+   * @return block found.
+   */
+  public Block search(final long blockId) {
+    synchronized (this) {
+      final Block block = recent.search(blockId);
+      if (block != null) {
+        return block;
+      }
+    }
+    // The frozen tree is read before the other tiers: it is cleared only after its segment is published or
+    // it is added to the unsealed tier.
+    final SplayTreeBlockChain frozenBlocks = frozen;
+    if (frozenBlocks != null) {
+      final Block block = frozenBlocks.search(blockId, Integer.MAX_VALUE);
+      if (block != null) {
+        return block;
+      }
+    }
+    for (final SplayTreeBlockChain unsealedBlocks : unsealed) {
+      final Block block = unsealedBlocks.search(blockId, Integer.MAX_VALUE);
+      if (block != null) {
+        return block;
+      }
+    }
+    final SealedBlockIndex[] sealed = segments;
+    int low = 0;
+    int high = sealed.length - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      if (sealed[mid].getMaxBlockId() < blockId) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low < sealed.length ? sealed[low].search(blockId) : null;
+  }
+
+  /**
+   * Gets the number of blocks.
+   *
+   * @return number of blocks.
+   */
+  public synchronized int size() {
+    final SplayTreeBlockChain frozenBlocks = frozen;
+    int size = recent.size() + (frozenBlocks == null ? 0 : frozenBlocks.size());
+    for (final SplayTreeBlockChain unsealedBlocks : unsealed) {
+      size += unsealedBlocks.size();
+    }
+    for (final SealedBlockIndex segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * Gets the number of sealed blocks.
+   *
+   * @return number of sealed blocks.
+   */
+  public int sealedSize() {
+    int size = 0;
+    for (final SealedBlockIndex segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * Gets the number of sealed segments.
+   *
+   * @return number of sealed segments.
+   */
+  public int getSegmentCount() {
+    return segments.length;
+  }
+
+  /**
+   * Waits until the frozen blocks are sealed, and reports the first sealing failure not yet reported.
+   *
+   * @throws InterruptedException if interrupted while waiting.
+   * @throws RuntimeException     if sealing failed (the blocks stay searchable in the unsealed tier).
+   * @throws Error                if sealing failed with an error.
+   */
+  public synchronized void awaitSealed() throws InterruptedException {
+    while (frozen != null) {
+      wait();
+    }
+    final Throwable failure = sealFailure;
+    sealFailure = null;
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw (RuntimeException) failure;
+    }
+  }
+
+  /**
+   * Stops the background sealing and completes the subscribers; blocks not yet sealed stay searchable.
+   */
+  @Override
+  public void close() {
+    publisher.close();
+    synchronized (this) {
+      // Under the lock, so that insert never hands a frozen tree to a shut down sealer.
+      sealer.shutdown();
+    }
+    try {
+      sealer.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Seals the frozen blocks into a segment and concatenates the segments of similar size.
+   * <p>
+   * The frozen tree is always cleared and the waiters notified. If sealing fails, the frozen tree is added to
+   * the unsealed tier first, so its blocks stay searchable, and the failure is kept for {@link #awaitSealed()}.
+   */
+  private void seal() {
+    final SplayTreeBlockChain frozenBlocks = frozen;
+    Throwable failure = null;
+    try {
+      // The frozen tree is only searched without splaying from now on, so iterating it needs no lock.
+      final Block[] sortedBlocks = new Block[frozenBlocks.size()];
+      int i = 0;
+      for (final Block block : frozenBlocks) {
+        sortedBlocks[i++] = block;
+      }
+      SealedBlockIndex segment = SealedBlockIndex.of(sortedBlocks);
+      SealedBlockIndex[] sealed = segments;
+      int count = sealed.length;
+      // Like a binary counter: a segment as large as its predecessor is merged into it, so segment sizes halve.
+      while (count > 0 && segment.size() >= sealed[count - 1].size()) {
+        segment = SealedBlockIndex.concat(sealed[--count], segment);
+      }
+      sealed = Arrays.copyOf(sealed, count + 1);
+      sealed[count] = segment;
+      segments = sealed;
+    } catch (final Throwable t) {
+      failure = t;
+      final SplayTreeBlockChain[] stranded = Arrays.copyOf(unsealed, unsealed.length + 1);
+      stranded[stranded.length - 1] = frozenBlocks;
+      unsealed = stranded;
+    } finally {
+      synchronized (this) {
+        if (failure != null && sealFailure == null) {
+          sealFailure = failure;
+        }
+        frozen = null;
+        notifyAll();
+      }
+    }
+  }
+}
@@ -0,0 +1,323 @@
+package implementation.shardedsplaytree;
+
+import blockchain.block.Block;
+import blockchain.stream.BlockHeaderPublisher;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@code ShardedSplayTreeBlockChain} class is the range sharded splay tree implementation of the blocks in the
+ * blockchain.
+ * <p>
+ * A single splay tree can only serve one search at a time because every search rotates the tree. This class
+ * partitions the block id space into contiguous ranges, each served by its own {@link SplayTreeBlockChain}
+ * guarded by its own lock, so searches and inserts on different ranges run in parallel on different cores.
+ * <p>
+ * The shard layout is an immutable array that is replaced as a whole when the shards are rebalanced. A shard
+ * that is replaced is marked as retired under its lock, so an operation that routed to a retired shard waits
+ * for the rebalance to publish the new layout and retries with it. When a shard grows beyond twice the average shard size it is split at its median
+ * block id and the two smallest adjacent shards are joined, both with splay tree split/join.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class ShardedSplayTreeBlockChain {
+
+  // Shards are not split below this size.
+  private static final int MIN_SPLIT_SIZE = 1024;
+
+  // Target number of shards.
+  private final int shardCount;
+
+  // Current shard layout ordered by lower bound.
+  private volatile Shard[] shards;
+
+  // Serializes the rebalancing of the shards; held from retiring a shard until the new layout is published.
+  private final Object rebalanceLock = new Object();
+
+  // Publisher of the headers of inserted blocks, shared by all the shards and layouts.
+  private final BlockHeaderPublisher publisher;
+
+  /**
+   * Constructs this {@code ShardedSplayTreeBlockChain} with shards covering the whole block id space.
+   *
+   * @param shardCount target number of shards.
+   */
+  public ShardedSplayTreeBlockChain(final int shardCount) {
+    this(shardCount, Long.MIN_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * Constructs this {@code ShardedSplayTreeBlockChain} with shards evenly covering the expected block id range.
+   * <p>
+   * Block ids outside of the expected range are still accepted by the first and the last shard, and the
+   * shards are rebalanced as the block id distribution drifts.
+   *
+   * @param shardCount     target number of shards.
+   * @param minimumBlockId smallest expected block id.
+   * @param maximumBlockId largest expected block id.
+   */
+  public ShardedSplayTreeBlockChain(final int shardCount, final long minimumBlockId, final long maximumBlockId) {
+    if (shardCount < 1) {
+      throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+    }
+    this.shardCount = shardCount;
+    final Shard[] initialShards = new Shard[shardCount];
+    final double width = ((double) maximumBlockId - (double) minimumBlockId) / shardCount;
+    initialShards[0] = new Shard(Long.MIN_VALUE, new SplayTreeBlockChain());
+    for (int i = 1; i < shardCount; ++i) {
+      initialShards[i] = new Shard((long) (minimumBlockId + width * i), new SplayTreeBlockChain());
+    }
+    this.shards = initialShards;
+    this.publisher = new BlockHeaderPublisher();
+  }
+
+  /**
+   * Inserts the block.
+   *
+   * @param block block to be inserted.
+   */
+  public void insert(final Block block) {
+    final Shard shard = lockShard(block.getBlockId());
+    final int shardSize;
+    try {
+      shard.tree.insert(block);
+      shardSize = shard.tree.size();
+      shard.size = shardSize;
+    } finally {
+      shard.lock.unlock();
+    }
+    publisher.publish(block);
+    if (shardSize >= MIN_SPLIT_SIZE && shardSize > 2 * averageShardSize()) {
+      rebalance();
+    }
+  }
+
+  /**
+   * Searches the block.
+   *
+   * @param blockId block id to be searched.
+   *
+   * @return block found.
+   */
+  public Block search(final long blockId) {
+    final Shard shard = lockShard(blockId);
+    try {
+      return shard.tree.search(blockId);
+    } finally {
+      shard.lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the publisher of the headers of inserted blocks. The publisher belongs to the chain, not to a shard,
+   * so subscribers are not affected by rebalancing. Subscribers never slow down inserts: see
+   * {@link BlockHeaderPublisher}.
+   *
+   * @return publisher of the headers of inserted blocks.
+   */
+  public BlockHeaderPublisher getPublisher() {
+    return publisher;
+  }
+
+  /**
+   * Gets the number of blocks in all the shards.
+   *
+   * @return number of blocks.
+   */
+  public int size() {
+    int size = 0;
+    for (final Shard shard : shards) {
+      shard.lock.lock();
+      try {
+        size += shard.tree.size();
+      } finally {
+        shard.lock.unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Gets the lower bounds (inclusive block ids) of the current shards.
+   *
+   * @return lower bounds of the current shards in ascending order.
+   */
+  public long[] getShardLowerBounds() {
+    final Shard[] currentShards = shards;
+    final long[] lowerBounds = new long[currentShards.length];
+    for (int i = 0; i < currentShards.length; ++i) {
+      lowerBounds[i] = currentShards[i].lowerBound;
+    }
+    return lowerBounds;
+  }
+
+  /**
+   * Rebalances the shards by splitting the largest shard at its median block id if it holds more than twice the
+   * average number of blocks, and then joining the two smallest adjacent shards if there are too many shards.
+   */
+  public void rebalance() {
+    synchronized (rebalanceLock) {
+      final Shard[] currentShards = shards;
+      int largest = 0;
+      for (int i = 1; i < currentShards.length; ++i) {
+        if (currentShards[i].size > currentShards[largest].size) {
+          largest = i;
+        }
+      }
+      final int largestSize = currentShards[largest].size;
+      if (largestSize < MIN_SPLIT_SIZE || largestSize <= 2 * averageShardSize()) {
+        return;
+      }
+      final List<Shard> newShards = new ArrayList<>(currentShards.length + 1);
+      for (int i = 0; i < currentShards.length; ++i) {
+        if (i == largest) {
+          splitShard(currentShards[i], newShards);
+        } else {
+          newShards.add(currentShards[i]);
+        }
+      }
+      if (newShards.size() > shardCount) {
+        int smallest = 0;
+        for (int i = 1; i + 1 < newShards.size(); ++i) {
+          if (newShards.get(i).size + newShards.get(i + 1).size
+              < newShards.get(smallest).size + newShards.get(smallest + 1).size) {
+            smallest = i;
+          }
+        }
+        final Shard joined = joinShards(newShards.get(smallest), newShards.get(smallest + 1));
+        newShards.set(smallest, joined);
+        newShards.remove(smallest + 1);
+      }
+      shards = newShards.toArray(new Shard[0]);
+    }
+  }
+
+  /**
+   * Splits the shard at its median block id and retires it.
+   * <p>
+   * The median is found by walking the shard in id order and the split passes over its secondary indexes, so
+   * splitting a shard of n blocks costs O(n).
+   *
+   * @param shard     shard to be split.
+   * @param newShards new shard layout to which the two halves are appended.
+   */
+  private void splitShard(final Shard shard, final List<Shard> newShards) {
+    shard.lock.lock();
+    try {
+      final Iterator<Block> iterator = shard.tree.iterator();
+      for (int i = 0; i < shard.tree.size() / 2; ++i) {
+        iterator.next();
+      }
+      final long medianBlockId = iterator.next().getBlockId();
+      final SplayTreeBlockChain upperTree = shard.tree.splitFrom(medianBlockId);
+      newShards.add(new Shard(shard.lowerBound, shard.tree));
+      newShards.add(new Shard(medianBlockId, upperTree));
+      shard.retired = true;
+    } finally {
+      shard.lock.unlock();
+    }
+  }
+
+  /**
+   * Joins two adjacent shards and retires them.
+   *
+   * @param lower lower shard.
+   * @param upper upper shard.
+   *
+   * @return joined shard.
+   */
+  private Shard joinShards(final Shard lower, final Shard upper) {
+    lower.lock.lock();
+    upper.lock.lock();
+    try {
+      lower.tree.join(upper.tree);
+      lower.retired = true;
+      upper.retired = true;
+      return new Shard(lower.lowerBound, lower.tree);
+    } finally {
+      upper.lock.unlock();
+      lower.lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the average number of blocks per shard (from the last published shard sizes, so the result is
+   * approximate).
+   *
+   * @return average number of blocks per shard.
+   */
+  private int averageShardSize() {
+    final Shard[] currentShards = shards;
+    long total = 0;
+    for (final Shard shard : currentShards) {
+      total += shard.size;
+    }
+    return (int) (total / currentShards.length);
+  }
+
+  /**
+   * Routes the block id to its shard and locks the shard. If the shard was retired meanwhile, waits for the
+   * rebalance that retired it to publish the new layout and retries.
+   *
+   * @param blockId block id to be routed.
+   *
+   * @return locked shard that owns the block id.
+   */
+  private Shard lockShard(final long blockId) {
+    while (true) {
+      final Shard[] currentShards = shards;
+      int low = 0;
+      int high = currentShards.length - 1;
+      while (low < high) {
+        final int mid = (low + high + 1) >>> 1;
+        if (currentShards[mid].lowerBound <= blockId) {
+          low = mid;
+        } else {
+          high = mid - 1;
+        }
+      }
+      final Shard shard = currentShards[low];
+      shard.lock.lock();
+      if (!shard.retired) {
+        return shard;
+      }
+      shard.lock.unlock();
+      synchronized (rebalanceLock) {
+        // The rebalance holding the lock publishes the new layout before releasing it.
+      }
+    }
+  }
+
+  /**
+   * {@code Shard} class is a splay tree owning the block ids from its lower bound up to the next shard.
+   */
+  private static final class Shard {
+    // Smallest block id (inclusive) owned by this shard.
+    private final long lowerBound;
+
+    // Splay tree of the blocks owned by this shard.
+    private final SplayTreeBlockChain tree;
+
+    // Lock guarding the splay tree (every search mutates the tree).
+    private final ReentrantLock lock;
+
+    // Whether this shard was replaced by a rebalance (guarded by lock).
+    private boolean retired;
+
+    // Number of blocks in the splay tree (written under lock, read without it by the rebalancing).
+    private volatile int size;
+
+    private Shard(final long lowerBound, final SplayTreeBlockChain tree) {
+      this.lowerBound = lowerBound;
+      this.tree = tree;
+      this.lock = new ReentrantLock();
+      this.retired = false;
+      this.size = tree.size();
+    }
+  }
+}
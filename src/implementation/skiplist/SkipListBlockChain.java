@@ -0,0 +1,301 @@
+package implementation.skiplist;
+
+import blockchain.block.Block;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@code SkipListBlockChain} class is the lock-free skip list implementation of the blocks in the blockchain.
+ * <p>
+ * Nodes are keyed by the primitive block id and linked level by level with compare-and-set, bottom level
+ * first, so a block is visible to searches as soon as it is linked at the bottom level. Blocks are never
+ * removed, so a link once set only ever points to a closer successor and searches need neither locks nor
+ * retries. Since block ids grow monotonically, the last node linked at every level (the level tails) is kept
+ * and an append starts every level from its tail instead of descending from the head, so appending at the
+ * maximum id costs O(1) expected link traversals per level. Iteration is weakly consistent: it sees every block inserted before it
+ * started and may see blocks inserted meanwhile.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class SkipListBlockChain implements Iterable<Block> {
+
+  // Maximum number of levels.
+  private static final int MAX_LEVEL = 32;
+
+  // Access to the links of a node.
+  private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Node[].class);
+
+  // Sentinel node before every block (linked at every level).
+  private final Node head;
+
+  // Node with the largest block id linked at every level (the head if none).
+  private final AtomicReferenceArray<Node> tails;
+
+  // Number of blocks.
+  private final LongAdder size;
+
+  /**
+   * {@code Node} class is a block and its links at every level it spans.
+   */
+  private static final class Node {
+
+    // Block id of the block.
+    private final long blockId;
+
+    // Block of the node (null for the head).
+    private final Block block;
+
+    // Successor at every level the node spans.
+    private final Node[] next;
+
+    /**
+     * Constructs this {@code Node}.
+     *
+     * @param blockId block id of the block.
+     * @param block   block of the node.
+     * @param height  number of levels the node spans.
+     */
+    private Node(final long blockId, final Block block, final int height) {
+      this.blockId = blockId;
+      this.block = block;
+      this.next = new Node[height];
+    }
+
+    /**
+     * Gets the successor at the level.
+     *
+     * @param level level.
+     *
+     * @return successor or null if there is none.
+     */
+    private Node next(final int level) {
+      return (Node) NEXT.getAcquire(next, level);
+    }
+
+    /**
+     * Replaces the successor at the level if it is still the expected one.
+     *
+     * @param level    level.
+     * @param expected expected successor.
+     * @param node     new successor.
+     *
+     * @return true if replaced otherwise false.
+     */
+    private boolean casNext(final int level, final Node expected, final Node node) {
+      return NEXT.compareAndSet(next, level, expected, node);
+    }
+  }
+
+  /**
+   * Constructs this {@code SkipListBlockChain}.
+   */
+  public SkipListBlockChain() {
+    this.head = new Node(Long.MIN_VALUE, null, MAX_LEVEL);
+    this.tails = new AtomicReferenceArray<>(MAX_LEVEL);
+    for (int level = 0; level < MAX_LEVEL; ++level) {
+      tails.set(level, head);
+    }
+    this.size = new LongAdder();
+  }
+
+  /**
+   * Inserts the block unless a block with the same id is already present.
+   *
+   * @param block block to be inserted.
+   *
+   * @return true if inserted otherwise false.
+   *
+   * @throws IllegalArgumentException if the block id is {@code Long.MIN_VALUE}, which is reserved for the head.
+   */
+  public boolean insert(final Block block) {
+    final long blockId = block.getBlockId();
+    if (blockId == Long.MIN_VALUE) {
+      throw new IllegalArgumentException("Block id " + Long.MIN_VALUE + " is reserved");
+    }
+    final int height = randomHeight();
+    final Node[] predecessors = new Node[MAX_LEVEL];
+    final Node[] successors = new Node[MAX_LEVEL];
+    final Node node = new Node(blockId, block, height);
+    while (true) {
+      if (find(blockId, predecessors, successors)) {
+        return false;
+      }
+      for (int level = 0; level < height; ++level) {
+        node.next[level] = successors[level];
+      }
+      // Linking the bottom level publishes the node (the plain link writes above happen before the CAS).
+      if (predecessors[0].casNext(0, successors[0], node)) {
+        break;
+      }
+    }
+    advanceTail(0, node);
+    for (int level = 1; level < height; ++level) {
+      while (!predecessors[level].casNext(level, successors[level], node)) {
+        find(blockId, predecessors, successors);
+        NEXT.setRelease(node.next, level, successors[level]);
+      }
+      advanceTail(level, node);
+    }
+    size.increment();
+    return true;
+  }
+
+  /**
+   * Makes the node the tail of the level if it has the largest block id linked at the level.
+   *
+   * @param level level the node was just linked at.
+   * @param node  node.
+   */
+  private void advanceTail(final int level, final Node node) {
+    Node tail = tails.get(level);
+    while (tail.blockId < node.blockId && !tails.compareAndSet(level, tail, node)) {
+      tail = tails.get(level);
+    }
+  }
+
+  /**
+   * Searches the block.
+   *
+   * @param blockId block id to be searched.
+   *
+   * @return block found.
+   */
+  public Block search(final long blockId) {
+    final Node node = ceilingNode(blockId);
+    return node != null && node.blockId == blockId ? node.block : null;
+  }
+
+  /**
+   * Gets the number of blocks.
+   *
+   * @return number of blocks.
+   */
+  public int size() {
+    return size.intValue();
+  }
+
+  /**
+   * Gets an iterator over the blocks with id between two block ids (both inclusive) in ascending id order.
+   *
+   * @param fromBlockId lowest block id (inclusive).
+   * @param toBlockId   highest block id (inclusive).
+   *
+   * @return weakly consistent iterator over the blocks found.
+   */
+  public Iterator<Block> rangeIterator(final long fromBlockId, final long toBlockId) {
+    return new Iterator<>() {
+      // Node of the next block (null if there is none).
+      private Node nextNode = ceilingNode(fromBlockId);
+
+      @Override
+      public boolean hasNext() {
+        return nextNode != null && nextNode.blockId <= toBlockId;
+      }
+
+      @Override
+      public Block next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final Block block = nextNode.block;
+        nextNode = nextNode.next(0);
+        return block;
+      }
+    };
+  }
+
+  /**
+   * Gets an iterator over all the blocks in ascending id order.
+   *
+   * @return weakly consistent iterator over all the blocks.
+   */
+  @Override
+  public Iterator<Block> iterator() {
+    return rangeIterator(Long.MIN_VALUE + 1, Long.MAX_VALUE);
+  }
+
+  /**
+   * Searches the blocks with id between two block ids (both inclusive).
+   *
+   * @param fromBlockId lowest block id (inclusive).
+   * @param toBlockId   highest block id (inclusive).
+   *
+   * @return lazy stream of the blocks found in ascending id order.
+   */
+  public Stream<Block> searchRange(final long fromBlockId, final long toBlockId) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rangeIterator(fromBlockId, toBlockId),
+        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Finds the node with the smallest block id greater than or equal to the block id provided.
+   *
+   * @param blockId block id.
+   *
+   * @return node found or null if every block id is smaller.
+   */
+  private Node ceilingNode(final long blockId) {
+    Node predecessor = head;
+    for (int level = MAX_LEVEL - 1; level >= 0; --level) {
+      Node node = predecessor.next(level);
+      while (node != null && node.blockId < blockId) {
+        predecessor = node;
+        node = node.next(level);
+      }
+      if (level == 0) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds the predecessor and the successor of the block id at every level.
+   * <p>
+   * At every level the search starts from the tail of the level if it is further than the predecessor found
+   * so far and still precedes the block id, which skips the whole list when appending.
+   *
+   * @param blockId      block id.
+   * @param predecessors last node with a smaller block id at every level.
+   * @param successors   first node with a greater or equal block id at every level.
+   *
+   * @return true if a node with the block id is present otherwise false.
+   */
+  private boolean find(final long blockId, final Node[] predecessors, final Node[] successors) {
+    Node predecessor = head;
+    for (int level = MAX_LEVEL - 1; level >= 0; --level) {
+      final Node tail = tails.get(level);
+      if (tail.blockId < blockId && predecessor.blockId < tail.blockId) {
+        predecessor = tail;
+      }
+      Node node = predecessor.next(level);
+      while (node != null && node.blockId < blockId) {
+        predecessor = node;
+        node = node.next(level);
+      }
+      predecessors[level] = predecessor;
+      successors[level] = node;
+    }
+    return successors[0] != null && successors[0].blockId == blockId;
+  }
+
+  /**
+   * Draws the number of levels of a new node: level {@code i} is spanned with probability {@code 2^-i}.
+   *
+   * @return number of levels.
+   */
+  private static int randomHeight() {
+    return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1))) + 1;
+  }
+}
@@ -1,6 +1,17 @@
 package implementation.splaytree;
 
 import blockchain.block.Block;
+import blockchain.block.BlockArchive;
+import blockchain.stream.BlockHeaderPublisher;
+import implementation.index.BlockHashIndex;
+import implementation.index.TimestampIndex;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * {@code SplayTreeBlockChain} class is the splay tree implementation of the the blocks in the blockchain.
@@ -8,14 +19,38 @@ import blockchain.block.Block;
  * @author Dhrumil Amish Shah
  * @version 1.0.0
  */
-public final class SplayTreeBlockChain {
+public final class SplayTreeBlockChain implements Iterable<Block> {
   private Block rootBlock;
 
+  // Number of blocks in the tree.
+  private int size;
+
+  // Secondary index of the blocks by timestamp of creation.
+  private TimestampIndex timestampIndex;
+
+  // Secondary index of the blocks by block hash.
+  private BlockHashIndex blockHashIndex;
+
+  // Publisher of the headers of inserted blocks (created on first use, shared with the trees split from it).
+  private BlockHeaderPublisher publisher;
+
+  // Block with the largest id, used as a finger (null if unknown).
+  private Block newestBlock;
+
+  // Block found by the last finger search, used as a finger (null if none).
+  private Block lastAccessedBlock;
+
   /**
    * Constructs this {@code SplayTreeBlockChain}.
    */
   public SplayTreeBlockChain() {
     this.rootBlock = null;
+    this.size = 0;
+    this.timestampIndex = new TimestampIndex();
+    this.blockHashIndex = new BlockHashIndex();
+    this.publisher = null;
+    this.newestBlock = null;
+    this.lastAccessedBlock = null;
   }
 
   /**
@@ -128,6 +163,15 @@ public final class SplayTreeBlockChain {
 
     // splay node
     splay(block);
+    if (newestBlock != null && block.getBlockId() >= newestBlock.getBlockId()) {
+      newestBlock = block;
+    }
+    timestampIndex.insert(block);
+    blockHashIndex.insert(block);
+    ++size;
+    if (publisher != null) {
+      publisher.publish(block);
+    }
   }
 
   /**
@@ -138,17 +182,20 @@ public final class SplayTreeBlockChain {
    *
    * @return block found.
    */
-  private Block search(final Block block, final long blockId) {
-    if (block == null) {
-      return null;
-    } else if (blockId < block.getBlockId())
-      return this.search(block.getLeftBlock(), blockId);
-    else if (blockId > block.getBlockId())
-      return this.search(block.getRightBlock(), blockId);
-    else {
-      this.splay(block);
-      return block;
+  private Block search(Block block, final long blockId) {
+    // Iterative descent: blocks are usually inserted in ascending id order, so the tree can be a long path
+    // before the first searches splay it and a recursive descent would overflow the stack.
+    while (block != null) {
+      if (blockId < block.getBlockId()) {
+        block = block.getLeftBlock();
+      } else if (blockId > block.getBlockId()) {
+        block = block.getRightBlock();
+      } else {
+        this.splay(block);
+        return block;
+      }
     }
+    return null;
   }
 
   /**
@@ -161,4 +208,479 @@ public final class SplayTreeBlockChain {
   public Block search(final long blockId) {
     return search(this.rootBlock, blockId);
   }
-}
\ No newline at end of file
+
+  /**
+   * Searches the block, splaying it only when it is deeper than the depth limit.
+   * <p>
+   * Splaying every search pays off when searches are skewed towards few blocks. Under uniform searches it
+   * only costs rotations, so a caller can limit splaying to blocks found unusually deep, which still keeps
+   * the tree from degenerating.
+   *
+   * @param blockId    block id to be searched.
+   * @param splayDepth depth (the root being 0) beyond which the block found is splayed.
+   *
+   * @return block found.
+   */
+  public Block search(final long blockId, final int splayDepth) {
+    Block block = rootBlock;
+    int depth = 0;
+    while (block != null) {
+      if (blockId < block.getBlockId()) {
+        block = block.getLeftBlock();
+      } else if (blockId > block.getBlockId()) {
+        block = block.getRightBlock();
+      } else {
+        if (depth > splayDepth) {
+          splay(block);
+        }
+        return block;
+      }
+      ++depth;
+    }
+    return null;
+  }
+
+  /**
+   * Searches the block starting from the finger (the newest block or the block found by the last finger search)
+   * whose id is closer to the block id.
+   * <p>
+   * The search climbs the parent pointers from the finger until it reaches an ancestor whose subtree must
+   * contain the block id, then descends from it. Subtrees hold contiguous ranges of ids, so the walk only
+   * covers the blocks between the finger and the block searched, i.e., O(log d) in a balanced tree for a block
+   * d positions away from the finger instead of O(log n) from the root. The block found is splayed only when
+   * the walk was longer than a balanced tree is deep, which keeps the tree from degenerating without moving
+   * the recent blocks away from the newest block on every search.
+   *
+   * @param blockId block id to be searched.
+   *
+   * @return block found.
+   */
+  public Block fingerSearch(final long blockId) {
+    if (rootBlock == null) {
+      return null;
+    }
+    if (newestBlock == null) {
+      newestBlock = rootBlock;
+      while (newestBlock.getRightBlock() != null) {
+        newestBlock = newestBlock.getRightBlock();
+      }
+    }
+    Block block = newestBlock;
+    if (lastAccessedBlock != null
+        && distance(lastAccessedBlock.getBlockId(), blockId) < distance(block.getBlockId(), blockId)) {
+      block = lastAccessedBlock;
+    }
+    int steps = 0;
+    // Climb until the block id lies between the finger and an ancestor reached from the finger's side.
+    if (blockId > block.getBlockId()) {
+      while (block.getParentBlock() != null) {
+        final Block parentBlock = block.getParentBlock();
+        ++steps;
+        if (block == parentBlock.getLeftBlock() && blockId <= parentBlock.getBlockId()) {
+          block = parentBlock;
+          break;
+        }
+        block = parentBlock;
+      }
+    } else if (blockId < block.getBlockId()) {
+      while (block.getParentBlock() != null) {
+        final Block parentBlock = block.getParentBlock();
+        ++steps;
+        if (block == parentBlock.getRightBlock() && blockId >= parentBlock.getBlockId()) {
+          block = parentBlock;
+          break;
+        }
+        block = parentBlock;
+      }
+    }
+    while (block != null) {
+      if (blockId < block.getBlockId()) {
+        block = block.getLeftBlock();
+      } else if (blockId > block.getBlockId()) {
+        block = block.getRightBlock();
+      } else {
+        if (steps > 2 * (32 - Integer.numberOfLeadingZeros(size))) {
+          splay(block);
+        }
+        lastAccessedBlock = block;
+        return block;
+      }
+      ++steps;
+    }
+    return null;
+  }
+
+  /**
+   * Gets the distance between two block ids.
+   *
+   * @param a first block id.
+   * @param b second block id.
+   *
+   * @return distance, saturated at Long.MAX_VALUE.
+   */
+  private static long distance(final long a, final long b) {
+    final long distance = a > b ? a - b : b - a;
+    return distance < 0 ? Long.MAX_VALUE : distance;
+  }
+
+  /**
+   * Clears the fingers after blocks were removed from this tree.
+   */
+  private void clearFingers() {
+    newestBlock = null;
+    lastAccessedBlock = null;
+  }
+
+  /**
+   * Searches the block by block hash using the block hash index. The block found is splayed.
+   *
+   * @param blockHash block hash to be searched.
+   *
+   * @return block found.
+   */
+  public Block searchByHash(final String blockHash) {
+    final Block block = blockHashIndex.search(blockHash);
+    if (block != null) {
+      splay(block);
+    }
+    return block;
+  }
+
+  /**
+   * Gets the publisher of the headers of inserted blocks. Subscribers never slow down inserts: see
+   * {@link BlockHeaderPublisher}.
+   * <p>
+   * The publisher is created on first use, so trees used internally by other chains (e.g., shards) do not
+   * own one. Trees split from this tree share its publisher.
+   *
+   * @return publisher of the headers of inserted blocks.
+   */
+  public BlockHeaderPublisher getPublisher() {
+    if (publisher == null) {
+      publisher = new BlockHeaderPublisher();
+    }
+    return publisher;
+  }
+
+  /**
+   * Gets the number of blocks in the tree.
+   *
+   * @return number of blocks in the tree.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Deletes the block.
+   * <p>
+   * The block is splayed to the root and its two subtrees are joined by splaying the largest block of the
+   * left subtree, so the delete costs O(log n) amortized.
+   *
+   * @param blockId block id to be deleted.
+   *
+   * @return deleted block or null if the block is not found.
+   */
+  public Block delete(final long blockId) {
+    final Block block = ceiling(blockId);
+    if (block == null || block.getBlockId() != blockId) {
+      return null;
+    }
+    splay(block);
+    final Block left = block.getLeftBlock();
+    final Block right = block.getRightBlock();
+    block.setLeftBlock(null);
+    block.setRightBlock(null);
+    if (right != null) {
+      right.setParentBlock(null);
+    }
+    if (left == null) {
+      rootBlock = right;
+    } else {
+      left.setParentBlock(null);
+      rootBlock = left;
+      Block max = left;
+      while (max.getRightBlock() != null) {
+        max = max.getRightBlock();
+      }
+      splay(max);
+      max.setRightBlock(right);
+      if (right != null) {
+        right.setParentBlock(max);
+      }
+    }
+    timestampIndex.remove(block);
+    blockHashIndex.remove(block);
+    --size;
+    clearFingers();
+    return block;
+  }
+
+  /**
+   * Prunes all the blocks with id smaller than the cutoff block id.
+   *
+   * @param cutoffBlockId smallest block id to be kept.
+   *
+   * @return number of pruned blocks.
+   */
+  public int pruneBefore(final long cutoffBlockId) {
+    return pruneBefore(cutoffBlockId, null);
+  }
+
+  /**
+   * Prunes all the blocks with id smaller than the cutoff block id.
+   * <p>
+   * The tree is split once by splaying the first block to be kept to the root and dropping its left subtree,
+   * so the split costs O(log n) amortized. The k pruned blocks are then walked in ascending id order, handed to
+   * the archive (if provided) and removed one by one from the secondary indexes, so the whole prune costs
+   * O(log n + k log n) amortized instead of a pass over all the blocks.
+   *
+   * @param cutoffBlockId smallest block id to be kept.
+   * @param archive       cold store for the pruned blocks or null to drop them.
+   *
+   * @return number of pruned blocks.
+   */
+  public int pruneBefore(final long cutoffBlockId, final BlockArchive archive) {
+    final Block cutoffBlock = ceiling(cutoffBlockId);
+    final Block prunedRoot;
+    if (cutoffBlock == null) {
+      prunedRoot = rootBlock;
+    } else {
+      splay(cutoffBlock);
+      prunedRoot = cutoffBlock.getLeftBlock();
+    }
+    if (prunedRoot == null) {
+      return 0;
+    }
+    int pruned = 0;
+    Block block = prunedRoot;
+    while (block.getLeftBlock() != null) {
+      block = block.getLeftBlock();
+    }
+    for (; block != null && block.getBlockId() < cutoffBlockId; block = successor(block)) {
+      if (archive != null) {
+        archive.archive(block);
+      }
+      timestampIndex.remove(block);
+      blockHashIndex.remove(block);
+      ++pruned;
+    }
+    if (cutoffBlock == null) {
+      rootBlock = null;
+    } else {
+      cutoffBlock.setLeftBlock(null);
+    }
+    prunedRoot.setParentBlock(null);
+    clearFingers();
+    size -= pruned;
+    return pruned;
+  }
+
+  /**
+   * Splits this tree so that all the blocks with id greater than or equal to the block id provided are moved
+   * into a new tree.
+   * <p>
+   * The first block to be moved is splayed to the root and its left subtree is kept by this tree, which costs
+   * O(log n) amortized. The timestamp and block hash indexes are then split by a pass over all their blocks, so
+   * the whole split costs O(n). The new tree shares the publisher of this tree, so subscribers keep receiving
+   * the blocks inserted into either tree.
+   *
+   * @param blockId smallest block id to be moved.
+   *
+   * @return new tree with the moved blocks.
+   */
+  public SplayTreeBlockChain splitFrom(final long blockId) {
+    final SplayTreeBlockChain other = new SplayTreeBlockChain();
+    other.publisher = publisher;
+    final Block splitBlock = ceiling(blockId);
+    if (splitBlock == null) {
+      return other;
+    }
+    splay(splitBlock);
+    rootBlock = splitBlock.getLeftBlock();
+    if (rootBlock != null) {
+      rootBlock.setParentBlock(null);
+    }
+    splitBlock.setLeftBlock(null);
+    other.rootBlock = splitBlock;
+    other.timestampIndex = timestampIndex.split(block -> block.getBlockId() >= blockId);
+    other.blockHashIndex = blockHashIndex.split(block -> block.getBlockId() >= blockId);
+    other.size = other.timestampIndex.size();
+    size -= other.size;
+    clearFingers();
+    return other;
+  }
+
+  /**
+   * Joins the other tree into this tree, leaving the other tree empty.
+   * <p>
+   * All the blocks of the other tree must have an id greater than every block id of this tree. The largest
+   * block of this tree is splayed to the root and the other tree becomes its right subtree, which costs
+   * O(log n) amortized. The secondary indexes are merged in a single pass, so the whole join costs O(n). A tree
+   * without a publisher takes over the publisher of the other tree.
+   *
+   * @param other tree to be joined into this tree.
+   *
+   * @throws IllegalArgumentException if the trees overlap.
+   */
+  public void join(final SplayTreeBlockChain other) {
+    if (other.rootBlock == null) {
+      return;
+    }
+    if (rootBlock != null) {
+      Block max = rootBlock;
+      while (max.getRightBlock() != null) {
+        max = max.getRightBlock();
+      }
+      Block min = other.rootBlock;
+      while (min.getLeftBlock() != null) {
+        min = min.getLeftBlock();
+      }
+      if (min.getBlockId() <= max.getBlockId()) {
+        throw new IllegalArgumentException("Trees overlap: " + min.getBlockId() + " <= " + max.getBlockId());
+      }
+      splay(max);
+      max.setRightBlock(other.rootBlock);
+      other.rootBlock.setParentBlock(max);
+    } else {
+      rootBlock = other.rootBlock;
+    }
+    if (publisher == null) {
+      publisher = other.publisher;
+    }
+    timestampIndex.merge(other.timestampIndex);
+    blockHashIndex.merge(other.blockHashIndex);
+    size += other.size;
+    other.rootBlock = null;
+    other.size = 0;
+    clearFingers();
+    other.clearFingers();
+  }
+
+  /**
+   * Gets the block with the smallest id greater than or equal to the block id provided, without splaying.
+   *
+   * @param blockId block id to be searched.
+   *
+   * @return block found or null if all the blocks have a smaller id.
+   */
+  private Block ceiling(final long blockId) {
+    Block ceiling = null;
+    Block temp = rootBlock;
+    while (temp != null) {
+      if (blockId < temp.getBlockId()) {
+        ceiling = temp;
+        temp = temp.getLeftBlock();
+      } else if (blockId > temp.getBlockId()) {
+        temp = temp.getRightBlock();
+      } else {
+        return temp;
+      }
+    }
+    return ceiling;
+  }
+
+  /**
+   * Gets the in-order successor of the block.
+   *
+   * @param block current block.
+   *
+   * @return block with the next larger id or null if this is the last block.
+   */
+  private static Block successor(Block block) {
+    if (block.getRightBlock() != null) {
+      block = block.getRightBlock();
+      while (block.getLeftBlock() != null) {
+        block = block.getLeftBlock();
+      }
+      return block;
+    }
+    Block parent = block.getParentBlock();
+    while (parent != null && block == parent.getRightBlock()) {
+      block = parent;
+      parent = parent.getParentBlock();
+    }
+    return parent;
+  }
+
+  /**
+   * Gets an iterator over the blocks with id between two block ids (both inclusive) in ascending id order.
+   * <p>
+   * Visited blocks are not splayed. Each step follows the parent links of the current shape of the tree, so
+   * searches (and the splaying they do) are allowed while iterating.
+   *
+   * @param fromBlockId lowest block id (inclusive).
+   * @param toBlockId   highest block id (inclusive).
+   *
+   * @return iterator over the blocks in the id range.
+   */
+  public Iterator<Block> rangeIterator(final long fromBlockId, final long toBlockId) {
+    return new Iterator<>() {
+      private Block nextBlock = ceiling(fromBlockId);
+
+      @Override
+      public boolean hasNext() {
+        return nextBlock != null && nextBlock.getBlockId() <= toBlockId;
+      }
+
+      @Override
+      public Block next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final Block block = nextBlock;
+        nextBlock = successor(nextBlock);
+        return block;
+      }
+    };
+  }
+
+  /**
+   * Gets an iterator over all the blocks in ascending id order without splaying.
+   *
+   * @return iterator over all the blocks.
+   */
+  @Override
+  public Iterator<Block> iterator() {
+    return rangeIterator(Long.MIN_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * Searches the blocks with id between two block ids (both inclusive).
+   *
+   * @param fromBlockId lowest block id (inclusive).
+   * @param toBlockId   highest block id (inclusive).
+   *
+   * @return lazy stream of the blocks found in ascending id order.
+   */
+  public Stream<Block> searchRange(final long fromBlockId, final long toBlockId) {
+    return toStream(rangeIterator(fromBlockId, toBlockId));
+  }
+
+  /**
+   * Searches the blocks created between two timestamps (both inclusive).
+   * <p>
+   * Like {@link #searchRange(long, long)}, the stream tolerates searches and inserts while it is consumed: it
+   * resumes after the last block it produced.
+   *
+   * @param fromTimeStamp lowest timestamp (inclusive).
+   * @param toTimeStamp   highest timestamp (inclusive).
+   *
+   * @return lazy stream of the blocks found in ascending timestamp order.
+   */
+  public Stream<Block> searchTimeWindow(final long fromTimeStamp, final long toTimeStamp) {
+    return toStream(timestampIndex.rangeIterator(fromTimeStamp, toTimeStamp));
+  }
+
+  /**
+   * Wraps the iterator into a lazy sequential stream.
+   *
+   * @param iterator iterator over the blocks.
+   *
+   * @return lazy stream of the blocks.
+   */
+  private static Stream<Block> toStream(final Iterator<Block> iterator) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+  }
+}
@@ -0,0 +1,236 @@
+package server;
+
+import blockchain.block.Block;
+import blockchain.transaction.Transaction;
+import implementation.splaytree.SplayTreeBlockChain;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@code BlockQueryServer} class serves block searches over a local TCP endpoint.
+ * <p>
+ * The protocol is line based. Every request line is answered by exactly one response line, in order:
+ * <pre>
+ *   ID &lt;block id&gt;          FOUND &lt;block id&gt; &lt;block hash&gt;
+ *   HASH &lt;block hash&gt;      NOT_FOUND
+ *   TX &lt;transaction id&gt;    ERROR &lt;message&gt;
+ * </pre>
+ * Clients may pipeline requests: the server keeps reading while requests are buffered and only flushes its
+ * responses when the input runs dry, so a batch of pipelined requests costs one write.
+ * <p>
+ * Every connection is served by its own thread (thread per connection). The splay tree mutates on every
+ * search, so searches by block id and block hash are serialized on the chain; searches by transaction id use
+ * a concurrent index and do not take the lock.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class BlockQueryServer implements Closeable {
+
+  private static final String FOUND = "FOUND ";
+  private static final String NOT_FOUND = "NOT_FOUND";
+  private static final String ERROR = "ERROR ";
+
+  // Chain engine serving the searches by block id and block hash (guarded by itself).
+  private final SplayTreeBlockChain chain;
+
+  // Blocks by transaction id.
+  private final Map<String, Block> transactionIndex;
+
+  // Threads serving the connections.
+  private final ExecutorService connectionExecutor;
+
+  // Accepted connections that are still being served.
+  private final Set<Socket> connections;
+
+  // Listening socket (null until started).
+  private volatile ServerSocket serverSocket;
+
+  /**
+   * Constructs this {@code BlockQueryServer} serving an empty chain.
+   */
+  public BlockQueryServer() {
+    this.chain = new SplayTreeBlockChain();
+    this.transactionIndex = new ConcurrentHashMap<>();
+    this.connectionExecutor = Executors.newCachedThreadPool(runnable -> {
+      final Thread thread = new Thread(runnable, "block-query-connection");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.connections = ConcurrentHashMap.newKeySet();
+  }
+
+  /**
+   * Inserts the block into the served chain and indexes its transactions.
+   *
+   * @param block block to be inserted.
+   */
+  public void insert(final Block block) {
+    synchronized (chain) {
+      chain.insert(block);
+    }
+    if (block.getTransactions() != null) {
+      for (final Transaction t : block.getTransactions()) {
+        transactionIndex.put(t.getTransactionID(), block);
+      }
+    }
+  }
+
+  /**
+   * Starts listening on the loopback address and accepting connections in the background.
+   *
+   * @param port port to listen on or 0 for any free port.
+   *
+   * @return port the server listens on.
+   *
+   * @throws IOException if the port cannot be bound.
+   */
+  public int start(final int port) throws IOException {
+    final ServerSocket socket = new ServerSocket();
+    socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    serverSocket = socket;
+    final Thread acceptor = new Thread(() -> accept(socket), "block-query-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+    return socket.getLocalPort();
+  }
+
+  /**
+   * Stops accepting connections and closes the served connections.
+   * <p>
+   * Connection threads blocked on a read are not woken by interruption, so every accepted socket is closed,
+   * which makes the blocked read fail and the thread exit.
+   *
+   * @throws IOException if the listening socket cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    final ServerSocket socket = serverSocket;
+    if (socket != null) {
+      socket.close();
+    }
+    connectionExecutor.shutdownNow();
+    for (final Socket connection : connections) {
+      closeQuietly(connection);
+    }
+  }
+
+  /**
+   * Accepts connections until the listening socket is closed.
+   *
+   * @param socket listening socket.
+   */
+  private void accept(final ServerSocket socket) {
+    while (!socket.isClosed()) {
+      try {
+        final Socket connection = socket.accept();
+        connection.setTcpNoDelay(true);
+        connections.add(connection);
+        try {
+          connectionExecutor.execute(() -> serve(connection));
+        } catch (final RejectedExecutionException e) {
+          // The server was closed after the connection was accepted.
+          connections.remove(connection);
+          closeQuietly(connection);
+          return;
+        }
+      } catch (final IOException e) {
+        // The listening socket was closed.
+        return;
+      }
+    }
+  }
+
+  /**
+   * Closes the connection, ignoring a failure to close it.
+   *
+   * @param connection connection to be closed.
+   */
+  private static void closeQuietly(final Socket connection) {
+    try {
+      connection.close();
+    } catch (final IOException e) {
+      // The connection is discarded either way.
+    }
+  }
+
+  /**
+   * Serves the requests of a connection until the client closes it.
+   *
+   * @param connection client connection.
+   */
+  private void serve(final Socket connection) {
+    try (connection;
+         final BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.US_ASCII));
+         final Writer out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.US_ASCII))) {
+      String request;
+      while ((request = in.readLine()) != null) {
+        out.write(respond(request));
+        out.write('\n');
+        if (!in.ready()) {
+          out.flush();
+        }
+      }
+    } catch (final IOException e) {
+      // The client went away or the server was closed; nothing left to answer.
+    } finally {
+      connections.remove(connection);
+    }
+  }
+
+  /**
+   * Answers a request line.
+   *
+   * @param request request line.
+   *
+   * @return response line (without the line terminator).
+   */
+  private String respond(final String request) {
+    final int space = request.indexOf(' ');
+    if (space < 0) {
+      return ERROR + "malformed request";
+    }
+    final String argument = request.substring(space + 1).trim();
+    final Block block;
+    switch (request.substring(0, space)) {
+      case "ID" -> {
+        final long blockId;
+        try {
+          blockId = Long.parseLong(argument);
+        } catch (final NumberFormatException e) {
+          return ERROR + "invalid block id";
+        }
+        synchronized (chain) {
+          block = chain.search(blockId);
+        }
+      }
+      case "HASH" -> {
+        synchronized (chain) {
+          block = chain.searchByHash(argument);
+        }
+      }
+      case "TX" -> block = transactionIndex.get(argument);
+      default -> {
+        return ERROR + "unknown request";
+      }
+    }
+    return (block == null) ? NOT_FOUND : FOUND + block.getBlockId() + ' ' + block.getBlockHash();
+  }
+}
@@ -0,0 +1,103 @@
+package server;
+
+import java.util.Arrays;
+
+/**
+ * {@code LatencyReport} class holds the throughput and latency percentiles of a load test.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class LatencyReport {
+
+  // Number of answered requests.
+  private final int requests;
+
+  // Achieved throughput in requests per second.
+  private final double throughput;
+
+  // Sorted latencies in nanoseconds.
+  private final long[] latencies;
+
+  /**
+   * Constructs this {@code LatencyReport}.
+   *
+   * @param latencies   latencies of the answered requests in nanoseconds.
+   * @param elapsedTime duration of the load test in nanoseconds.
+   */
+  public LatencyReport(final long[] latencies, final long elapsedTime) {
+    this.latencies = latencies.clone();
+    Arrays.sort(this.latencies);
+    this.requests = latencies.length;
+    this.throughput = requests / (Math.max(1, elapsedTime) / 1e9);
+  }
+
+  /**
+   * Gets the number of answered requests.
+   *
+   * @return number of answered requests.
+   */
+  public int getRequests() {
+    return requests;
+  }
+
+  /**
+   * Gets the achieved throughput.
+   *
+   * @return requests per second.
+   */
+  public double getThroughput() {
+    return throughput;
+  }
+
+  /**
+   * Gets a latency percentile.
+   *
+   * @param percentile percentile between 0 and 100 (e.g., 99.9).
+   *
+   * @return latency at the percentile in nanoseconds or 0 if no request was answered.
+   */
+  public long getPercentile(final double percentile) {
+    if (latencies.length == 0) {
+      return 0;
+    }
+    final int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+    return latencies[Math.max(0, Math.min(latencies.length - 1, index))];
+  }
+
+  /**
+   * Gets the median latency.
+   *
+   * @return p50 latency in nanoseconds.
+   */
+  public long getP50() {
+    return getPercentile(50);
+  }
+
+  /**
+   * Gets the 99th percentile latency.
+   *
+   * @return p99 latency in nanoseconds.
+   */
+  public long getP99() {
+    return getPercentile(99);
+  }
+
+  /**
+   * Gets the 99.9th percentile latency.
+   *
+   * @return p999 latency in nanoseconds.
+   */
+  public long getP999() {
+    return getPercentile(99.9);
+  }
+
+  /**
+   * Gets the maximum latency.
+   *
+   * @return maximum latency in nanoseconds.
+   */
+  public long getMax() {
+    return (latencies.length == 0) ? 0 : latencies[latencies.length - 1];
+  }
+}
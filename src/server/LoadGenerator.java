@@ -0,0 +1,313 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@code LoadGenerator} class generates load against a local {@link BlockQueryServer}.
+ * <p>
+ * In closed loop mode every connection sends a request and waits for its response before sending the next
+ * one, which measures the service time at the highest rate the server sustains. In open loop mode requests are
+ * sent on a fixed schedule at the target rate without waiting for responses (pipelined), and latency is
+ * measured from the scheduled send time, so queueing delay is not hidden when the server falls behind.
+ *
+ * @author Dhrumil Amish Shah
+ * @version 1.0.0
+ */
+public final class LoadGenerator {
+
+  // Receive timeout of a connection in milliseconds.
+  private static final int SOCKET_TIMEOUT_MS = 30000;
+
+  // Port of the server on the loopback address.
+  private final int port;
+
+  // Request lines picked at random for every request.
+  private final List<String> requests;
+
+  /**
+   * Constructs this {@code LoadGenerator}.
+   *
+   * @param port     port of the server on the loopback address.
+   * @param requests request lines picked at random for every request.
+   */
+  public LoadGenerator(final int port, final List<String> requests) {
+    if (requests.isEmpty()) {
+      throw new IllegalArgumentException("At least one request is needed");
+    }
+    this.port = port;
+    this.requests = new ArrayList<>(requests);
+  }
+
+  /**
+   * Runs a closed loop load test.
+   *
+   * @param connections number of connections (each with one outstanding request).
+   * @param durationMs  duration of the load test in milliseconds.
+   *
+   * @return latency report.
+   *
+   * @throws IOException          if a connection fails.
+   * @throws InterruptedException if interrupted while waiting for the connections.
+   */
+  public LatencyReport runClosedLoop(final int connections, final long durationMs) throws IOException, InterruptedException {
+    final long startTime = System.nanoTime();
+    final long endTime = startTime + durationMs * 1_000_000L;
+    final long[][] latencies = new long[connections][];
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final List<Thread> threads = new ArrayList<>(connections);
+    for (int c = 0; c < connections; ++c) {
+      final int connection = c;
+      threads.add(start("closed-loop-" + c, failure, () -> {
+        try (Socket socket = connect();
+             BufferedReader in = reader(socket);
+             Writer out = writer(socket)) {
+          final LongArray connectionLatencies = new LongArray();
+          final ThreadLocalRandom random = ThreadLocalRandom.current();
+          while (System.nanoTime() < endTime) {
+            final String request = requests.get(random.nextInt(requests.size()));
+            final long sendTime = System.nanoTime();
+            out.write(request);
+            out.write('\n');
+            out.flush();
+            if (in.readLine() == null) {
+              throw new IOException("Connection closed by the server");
+            }
+            connectionLatencies.add(System.nanoTime() - sendTime);
+          }
+          latencies[connection] = connectionLatencies.toArray();
+        }
+      }));
+    }
+    return await(threads, failure, latencies, startTime);
+  }
+
+  /**
+   * Runs an open loop load test.
+   *
+   * @param connections number of connections sharing the target rate.
+   * @param targetRate  target rate in requests per second.
+   * @param durationMs  duration of the load test in milliseconds.
+   *
+   * @return latency report.
+   *
+   * @throws IOException          if a connection fails.
+   * @throws InterruptedException if interrupted while waiting for the connections.
+   */
+  public LatencyReport runOpenLoop(final int connections,
+                                   final double targetRate,
+                                   final long durationMs) throws IOException, InterruptedException {
+    final double interval = 1e9 * connections / targetRate;
+    final int requestsPerConnection = (int) Math.max(1, targetRate * durationMs / 1000 / connections);
+    final long startTime = System.nanoTime();
+    final long[][] latencies = new long[connections][];
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final List<Thread> threads = new ArrayList<>(2 * connections);
+    // All the connections are opened before any load thread starts, so a failed connect leaks nothing.
+    final Socket[] sockets = new Socket[connections];
+    try {
+      for (int c = 0; c < connections; ++c) {
+        sockets[c] = connect();
+      }
+    } catch (final IOException | RuntimeException e) {
+      for (final Socket socket : sockets) {
+        if (socket != null) {
+          try {
+            socket.close();
+          } catch (final IOException closeFailure) {
+            e.addSuppressed(closeFailure);
+          }
+        }
+      }
+      throw e;
+    }
+    for (int c = 0; c < connections; ++c) {
+      final Socket socket = sockets[c];
+      // Stagger the connections so that the schedules do not send in bursts.
+      final long firstSendTime = startTime + (long) (interval * c / connections);
+      final long[] connectionLatencies = new long[requestsPerConnection];
+      latencies[c] = connectionLatencies;
+
+      threads.add(start("open-loop-sender-" + c, failure, () -> {
+        final Writer out = writer(socket);
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < requestsPerConnection; ++i) {
+          final long scheduledTime = firstSendTime + (long) (interval * i);
+          long delay;
+          while ((delay = scheduledTime - System.nanoTime()) > 0) {
+            if (delay > 50_000) {
+              LockSupport.parkNanos(delay - 50_000);
+            } else {
+              Thread.onSpinWait();
+            }
+          }
+          out.write(requests.get(random.nextInt(requests.size())));
+          out.write('\n');
+          // Requests that are already late are pipelined into the same write.
+          if (i + 1 == requestsPerConnection || firstSendTime + (long) (interval * (i + 1)) > System.nanoTime()) {
+            out.flush();
+          }
+        }
+      }));
+      threads.add(start("open-loop-receiver-" + c, failure, () -> {
+        try (socket; BufferedReader in = reader(socket)) {
+          for (int i = 0; i < requestsPerConnection; ++i) {
+            if (in.readLine() == null) {
+              throw new IOException("Connection closed by the server");
+            }
+            connectionLatencies[i] = System.nanoTime() - (firstSendTime + (long) (interval * i));
+          }
+        }
+      }));
+    }
+    return await(threads, failure, latencies, startTime);
+  }
+
+  /**
+   * Opens a connection to the server.
+   *
+   * @return connection.
+   *
+   * @throws IOException if the connection fails.
+   */
+  private Socket connect() throws IOException {
+    final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    socket.setTcpNoDelay(true);
+    socket.setSoTimeout(SOCKET_TIMEOUT_MS);
+    return socket;
+  }
+
+  /**
+   * Creates a reader of the responses of a connection.
+   *
+   * @param socket connection.
+   *
+   * @return reader.
+   *
+   * @throws IOException if the connection is closed.
+   */
+  private static BufferedReader reader(final Socket socket) throws IOException {
+    return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Creates a writer of the requests of a connection.
+   *
+   * @param socket connection.
+   *
+   * @return writer.
+   *
+   * @throws IOException if the connection is closed.
+   */
+  private static Writer writer(final Socket socket) throws IOException {
+    return new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Starts a load thread that records its first failure (of any kind, so that no connection is left without
+   * latencies unnoticed).
+   *
+   * @param name    thread name.
+   * @param failure first failure of any load thread.
+   * @param load    load to be generated.
+   *
+   * @return started thread.
+   */
+  private static Thread start(final String name, final AtomicReference<Throwable> failure, final Load load) {
+    final Thread thread = new Thread(() -> {
+      try {
+        load.run();
+      } catch (final Throwable t) {
+        failure.compareAndSet(null, t);
+      }
+    }, name);
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  /**
+   * Waits for the load threads and merges the latencies of all the connections.
+   *
+   * @param threads   load threads.
+   * @param failure   first failure of any load thread.
+   * @param latencies latencies per connection.
+   * @param startTime start time of the load test.
+   *
+   * @return latency report.
+   *
+   * @throws IOException          if a connection failed.
+   * @throws RuntimeException     if a load thread failed otherwise.
+   * @throws Error                if a load thread died with an error.
+   * @throws InterruptedException if interrupted while waiting for the threads.
+   */
+  private static LatencyReport await(final List<Thread> threads,
+                                     final AtomicReference<Throwable> failure,
+                                     final long[][] latencies,
+                                     final long startTime) throws IOException, InterruptedException {
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+    final long elapsedTime = System.nanoTime() - startTime;
+    final Throwable firstFailure = failure.get();
+    if (firstFailure instanceof IOException) {
+      throw (IOException) firstFailure;
+    } else if (firstFailure instanceof RuntimeException) {
+      throw (RuntimeException) firstFailure;
+    } else if (firstFailure instanceof Error) {
+      throw (Error) firstFailure;
+    } else if (firstFailure != null) {
+      throw new IllegalStateException("Load thread failed", firstFailure);
+    }
+    final LongArray merged = new LongArray();
+    for (final long[] connectionLatencies : latencies) {
+      for (final long latency : connectionLatencies) {
+        merged.add(latency);
+      }
+    }
+    return new LatencyReport(merged.toArray(), elapsedTime);
+  }
+
+  /**
+   * {@code Load} generates the load of one thread.
+   */
+  @FunctionalInterface
+  private interface Load {
+    void run() throws IOException;
+  }
+
+  /**
+   * {@code LongArray} class is a growable array of primitive longs.
+   */
+  private static final class LongArray {
+    // Values, valid up to size.
+    private long[] values = new long[1024];
+
+    // Number of values.
+    private int size = 0;
+
+    private void add(final long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size << 1);
+      }
+      values[size++] = value;
+    }
+
+    private long[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}